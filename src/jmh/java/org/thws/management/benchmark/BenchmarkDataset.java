@@ -0,0 +1,99 @@
+package org.thws.management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniModule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the data sets the benchmarks run on, sized by number of universities and modules per university
+ */
+final class BenchmarkDataset {
+    static final String[] COUNTRIES = {"Germany", "Italy", "France", "Spain", "Sweden", "Poland", "Austria", "Norway"};
+    static final int DEPARTMENTS = 7;
+
+    private BenchmarkDataset() {
+    }
+
+    /**
+     * Creates PartnerUniversities with their UniModules attached
+     *
+     * @param universities         Number of PartnerUniversities to create
+     * @param modulesPerUniversity Number of UniModules to attach to each PartnerUniversity
+     * @param assignIds            Whether to assign IDs, as entities loaded from the database would have
+     * @return The created PartnerUniversities
+     */
+    static List<PartnerUniversity> partnerUniversities(int universities, int modulesPerUniversity, boolean assignIds) {
+        List<PartnerUniversity> partnerUniversities = new ArrayList<>(universities);
+        long moduleId = 1;
+
+        for (int i = 0; i < universities; i++) {
+            PartnerUniversity partnerUniversity = new PartnerUniversity(
+                    "University " + i,
+                    COUNTRIES[i % COUNTRIES.length],
+                    "Department " + (i % DEPARTMENTS),
+                    "https://department" + i + ".example.org",
+                    "Contact Person " + i,
+                    30,
+                    30,
+                    LocalDate.of(2025, 3, 1),
+                    LocalDate.of(2025, 10, 1)
+            );
+
+            List<UniModule> modules = new ArrayList<>(modulesPerUniversity);
+            for (int j = 0; j < modulesPerUniversity; j++) {
+                UniModule uniModule = new UniModule("Module " + i + "-" + j, j % 6 + 1, 5, partnerUniversity);
+                if (assignIds) {
+                    uniModule.setId(moduleId++);
+                }
+                modules.add(uniModule);
+            }
+
+            if (assignIds) {
+                partnerUniversity.setId((long) i + 1);
+            }
+            partnerUniversity.setModules(modules);
+            partnerUniversities.add(partnerUniversity);
+        }
+
+        return partnerUniversities;
+    }
+
+    /**
+     * Creates an ObjectMapper that renders HAL the same way the application does
+     *
+     * @return HAL configured ObjectMapper
+     */
+    static ObjectMapper halObjectMapper() {
+        return halObjectMapper(new ObjectMapper());
+    }
+
+    /**
+     * Creates an ObjectMapper that renders HAL as CBOR, the same way the application does for Accept: application/cbor
+     *
+     * @return HAL configured ObjectMapper writing and reading CBOR
+     */
+    static ObjectMapper halCborMapper() {
+        return halObjectMapper(new ObjectMapper(new CBORFactory()));
+    }
+
+    private static ObjectMapper halObjectMapper(ObjectMapper objectMapper) {
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        return objectMapper;
+    }
+}
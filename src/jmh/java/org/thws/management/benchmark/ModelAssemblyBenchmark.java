@@ -0,0 +1,77 @@
+package org.thws.management.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thws.management.server.assembler.LinkTemplates;
+import org.thws.management.server.assembler.PartnerUniversityModelAssembler;
+import org.thws.management.server.assembler.UniModuleModelAssembler;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.PartnerUniversityModel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting a page of PartnerUniversities into its HAL representation, and serializing it to JSON
+ * Runs on in-memory entities only, so the numbers contain no database time
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelAssemblyBenchmark {
+    @Param({"20", "200"})
+    private int universities;
+
+    @Param({"5", "50"})
+    private int modulesPerUniversity;
+
+    private PartnerUniversityModelAssembler partnerUniversityModelAssembler;
+    private List<PartnerUniversity> partnerUniversities;
+    private PagedModel<PartnerUniversityModel> pagedModel;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        LinkTemplates linkTemplates = new LinkTemplates();
+        partnerUniversityModelAssembler = new PartnerUniversityModelAssembler(new UniModuleModelAssembler(linkTemplates), linkTemplates);
+        partnerUniversities = BenchmarkDataset.partnerUniversities(universities, modulesPerUniversity, true);
+        objectMapper = BenchmarkDataset.halObjectMapper();
+        pagedModel = assemblePage();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public PagedModel<PartnerUniversityModel> assemblePage() {
+        //every page is assembled within a fresh request, as it would be when served by the controller
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        List<PartnerUniversityModel> partnerUniversityModels = partnerUniversities.stream()
+                .map(partnerUniversityModelAssembler::toModel)
+                .toList();
+
+        return PagedModel.of(partnerUniversityModels,
+                new PagedModel.PageMetadata(universities, 0, universities, 1));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagedModel);
+    }
+
+    @Benchmark
+    public byte[] assembleAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(assemblePage());
+    }
+}
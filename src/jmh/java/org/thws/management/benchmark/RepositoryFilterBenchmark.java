@@ -0,0 +1,91 @@
+package org.thws.management.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.thws.management.ManagementApplication;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.repository.PartnerUniversityFilter;
+import org.thws.management.server.repository.PartnerUniversityRepository;
+import org.thws.management.server.service.PartnerUniversityService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the PartnerUniversity listing and filter queries against an in-memory H2 database
+ * Starts the application without web server once per parameter combination, and seeds it with the data set
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryFilterBenchmark {
+    @Param({"1000", "5000"})
+    private int universities;
+
+    @Param({"5", "20"})
+    private int modulesPerUniversity;
+
+    private ConfigurableApplicationContext context;
+    private PartnerUniversityService partnerUniversityService;
+    private Pageable firstPage;
+    private Pageable deepPage;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmarkdb",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        context.getBean(PartnerUniversityRepository.class)
+                .saveAll(BenchmarkDataset.partnerUniversities(universities, modulesPerUniversity, false));
+
+        partnerUniversityService = context.getBean(PartnerUniversityService.class);
+        firstPage = PageRequest.of(0, 20, Sort.by("name"));
+        deepPage = PageRequest.of(universities / 20 - 1, 20, Sort.by("name"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<PartnerUniversity> listFirstPage() {
+        return partnerUniversityService.getAllPartnerUniversities(firstPage);
+    }
+
+    @Benchmark
+    public Page<PartnerUniversity> listDeepPage() {
+        return partnerUniversityService.getAllPartnerUniversities(deepPage);
+    }
+
+    @Benchmark
+    public Page<PartnerUniversity> filterByCountry() {
+        return partnerUniversityService.getAllPartnerUniversitiesWithFilters(
+                new PartnerUniversityFilter(null, BenchmarkDataset.COUNTRIES[1], null), firstPage);
+    }
+
+    @Benchmark
+    public Page<PartnerUniversity> filterByCountryAndDepartment() {
+        return partnerUniversityService.getAllPartnerUniversitiesWithFilters(
+                new PartnerUniversityFilter(null, BenchmarkDataset.COUNTRIES[1], "Department 3"), firstPage);
+    }
+
+    @Benchmark
+    public Page<PartnerUniversity> filterByName() {
+        return partnerUniversityService.getAllPartnerUniversitiesWithFilters(
+                new PartnerUniversityFilter("University " + universities / 2, null, null), firstPage);
+    }
+}
@@ -0,0 +1,103 @@
+package org.thws.management.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thws.management.server.assembler.LinkTemplates;
+import org.thws.management.server.assembler.PartnerUniversityModelAssembler;
+import org.thws.management.server.assembler.UniModuleModelAssembler;
+import org.thws.management.server.model.PartnerUniversityModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the formats a client can fetch a page of PartnerUniversities with their UniModules in,
+ * JSON and CBOR, each uncompressed and gzip compressed, by the bytes on the wire and the time to decode them
+ * The bytes are printed once per trial, the measured time contains decompressing and reading the page into its models
+ * mvn -P benchmark verify -DskipTests -Djmh.args="ResponseEncodingBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseEncodingBenchmark {
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    @Param({"20", "200"})
+    private int universities;
+
+    @Param({"5"})
+    private int modulesPerUniversity;
+
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = format.equals("cbor") ? BenchmarkDataset.halCborMapper() : BenchmarkDataset.halObjectMapper();
+        reader = objectMapper
+                .readerFor(objectMapper.getTypeFactory().constructParametricType(PagedModel.class, PartnerUniversityModel.class))
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        byte[] encoded = objectMapper.writeValueAsBytes(assemblePage());
+        body = encoding.equals("gzip") ? gzip(encoded) : encoded;
+
+        System.out.printf("%n%s %s, %d universities: %d bytes on the wire%n", format, encoding, universities, body.length);
+    }
+
+    @Benchmark
+    public PagedModel<PartnerUniversityModel> decodePage() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(body);
+        if (encoding.equals("gzip")) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+
+        return reader.readValue(inputStream);
+    }
+
+    //the page as the controller renders it with embed=modules, with all of its links
+    private PagedModel<PartnerUniversityModel> assemblePage() {
+        LinkTemplates linkTemplates = new LinkTemplates();
+        PartnerUniversityModelAssembler partnerUniversityModelAssembler =
+                new PartnerUniversityModelAssembler(new UniModuleModelAssembler(linkTemplates), linkTemplates);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            List<PartnerUniversityModel> partnerUniversityModels = BenchmarkDataset
+                    .partnerUniversities(universities, modulesPerUniversity, true).stream()
+                    .map(partnerUniversityModelAssembler::toModel)
+                    .toList();
+
+            return PagedModel.of(partnerUniversityModels,
+                    new PagedModel.PageMetadata(universities, 0, universities, 1));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static byte[] gzip(byte[] encoded) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(encoded);
+        }
+        return compressed.toByteArray();
+    }
+}
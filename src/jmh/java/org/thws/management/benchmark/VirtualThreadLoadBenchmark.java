@@ -0,0 +1,141 @@
+package org.thws.management.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.thws.management.ManagementApplication;
+import org.thws.management.client.PartnerUniversityClient;
+import org.thws.management.client.UniModuleClient;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing platform threads with virtual threads, on the server and on the client side
+ * Every invocation sends one wave of concurrent requests through the clients, one request per connection,
+ * so requests per second are connections divided by the measured time
+ * Starts the application on port 8080, as the clients expect it there. The virtual mode needs a Java 21 build:
+ * mvn -P java21,benchmark verify -DskipTests -Djmh.args="VirtualThreadLoadBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class VirtualThreadLoadBenchmark {
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    @Param({"1000", "2000"})
+    private int connections;
+
+    private ConfigurableApplicationContext context;
+    private Executor executor;
+    private PartnerUniversityClient partnerUniversityClient;
+    private UniModuleClient uniModuleClient;
+    private long peakHeapUsed;
+
+    @Setup
+    public void setUp() {
+        boolean virtual = threading.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, build and run with the java21 profile");
+        }
+
+        context = new SpringApplicationBuilder(ManagementApplication.class)
+                .properties(
+                        "server.port=8080",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        //one thread per connection, as a blocking client needs it to keep that many requests in flight
+        executor = virtual ? new VirtualThreadTaskExecutor("load-") : Executors.newFixedThreadPool(connections);
+
+        //keeps its connections alive in both modes, so every wave reuses them instead of opening new ones
+        //the fixed pool is never handed to the HttpClient, as its blocked callers would wait for its own tasks
+        HttpClient.Builder httpClientBuilder = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1);
+        if (virtual) {
+            httpClientBuilder.executor(executor);
+        }
+        HttpClient httpClient = httpClientBuilder.build();
+        RestTemplate restTemplate = context.getBean(RestTemplateBuilder.class)
+                .requestFactory(() -> new JdkClientHttpRequestFactory(httpClient))
+                .build();
+
+        partnerUniversityClient = new PartnerUniversityClient(restTemplate);
+        uniModuleClient = new UniModuleClient(restTemplate);
+    }
+
+    @TearDown(Level.Iteration)
+    public void recordHeap() {
+        peakHeapUsed = Math.max(peakHeapUsed, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        //virtual threads are not counted as live threads, and their stacks are kept on the heap
+        System.out.printf("%n%s threads, %d connections: peak platform threads %d, peak heap used %d MB, peak resident set %s%n",
+                threading, connections, ManagementFactory.getThreadMXBean().getPeakThreadCount(),
+                peakHeapUsed / (1024 * 1024), peakResidentSet());
+
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        context.close();
+    }
+
+    /**
+     * Reads a single PartnerUniversity, which is served from the cache without touching the database
+     */
+    @Benchmark
+    public void getPartnerUniversity() {
+        sendWave(() -> partnerUniversityClient.getSinglePartnerUniversity(1L));
+    }
+
+    /**
+     * Lists the UniModules of a PartnerUniversity, which blocks on the connection pool and the database
+     */
+    @Benchmark
+    public void getUniModules() {
+        sendWave(() -> uniModuleClient.getAllUniModulesFromPartnerUniversity(1L));
+    }
+
+    //sends one request per connection at once and waits until all of them have been answered
+    private void sendWave(Runnable request) {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            requests[i] = CompletableFuture.runAsync(request, executor);
+        }
+
+        CompletableFuture.allOf(requests).join();
+    }
+
+    //peak resident set size of the whole process, including the native stacks of platform threads
+    private static String peakResidentSet() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return "unknown";
+        }
+
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmHWM:"))
+                .map(line -> line.substring("VmHWM:".length()).trim())
+                .findFirst()
+                .orElse("unknown");
+    }
+}
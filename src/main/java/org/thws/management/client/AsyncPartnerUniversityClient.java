@@ -0,0 +1,89 @@
+package org.thws.management.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.PartnerUniversityCriteria;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Class that utilizes a pooled HttpClient to access the implemented backend API without blocking the calling thread
+ */
+@Component
+public class AsyncPartnerUniversityClient {
+    private final String BASE_URL = "http://localhost:8080/api/v1/partner-universities";
+    private final HttpClient httpClient;
+    private final String sessionId;
+
+    @Autowired
+    public AsyncPartnerUniversityClient(HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * Constructs a AsyncPartnerUniversityClient sending every request in an isolated session
+     *
+     * @param httpClient HttpClient to send the requests with
+     * @param sessionId  ID of the session to work in, null for the shared data
+     */
+    public AsyncPartnerUniversityClient(HttpClient httpClient, String sessionId) {
+        this.httpClient = httpClient;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Method for fetching a single PartnerUniversity
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to be fetched
+     * @return Future of ResponseEntity containing information of fetched PartnerUniversity
+     */
+    public CompletableFuture<ResponseEntity<PartnerUniversity>> getSinglePartnerUniversity(Long partnerUniversityId) {
+        URI uri = URI.create(BASE_URL + "/" + partnerUniversityId);
+
+        return AsyncResponses.get(httpClient, sessionId, uri,
+                AsyncResponses.OBJECT_MAPPER.constructType(PartnerUniversity.class));
+    }
+
+    /**
+     * Method for fetching all PartnerUniversities
+     *
+     * @return Future of ResponseEntity containing information of all fetched PartnerUniversities
+     */
+    public CompletableFuture<ResponseEntity<PagedModel<PartnerUniversity>>> getAllPartnerUniversities() {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL)
+                .queryParam("page", 0)
+                .queryParam("size", Integer.MAX_VALUE)
+                .build().toUri();
+
+        return AsyncResponses.get(httpClient, sessionId, uri, AsyncResponses.OBJECT_MAPPER.getTypeFactory()
+                .constructParametricType(PagedModel.class, PartnerUniversity.class));
+    }
+
+    /**
+     * Method for streaming all PartnerUniversities matching the filter, page by page
+     * Follows the keyset next links of the backend and prefetches the next page while the current one is consumed,
+     * so neither the client nor the backend ever holds the whole listing
+     *
+     * @param filter   Criteria for PartnerUniversities to be filtered by
+     * @param pageSize Number of PartnerUniversities to fetch per request
+     * @return Lazy stream of the PartnerUniversities sorted by name, which should be closed if it is not consumed entirely
+     */
+    public Stream<PartnerUniversity> streamPartnerUniversities(PartnerUniversityCriteria filter, int pageSize) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL)
+                .queryParam("after", "")
+                .queryParam("size", pageSize)
+                .queryParams(filter.toQueryParams())
+                .build().toUri();
+
+        return PageIterator.stream(uri, pageUri -> AsyncResponses.get(httpClient, sessionId, pageUri, AsyncResponses.OBJECT_MAPPER
+                .getTypeFactory().constructParametricType(CollectionModel.class, PartnerUniversity.class)));
+    }
+}
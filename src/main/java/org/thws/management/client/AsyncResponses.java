@@ -0,0 +1,74 @@
+package org.thws.management.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends requests of the asynchronous clients and converts their responses, in the same HAL format the backend renders
+ */
+final class AsyncResponses {
+    static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .addModule(new Jackson2HalModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private AsyncResponses() {
+    }
+
+    /**
+     * Sends a GET request without blocking the calling thread
+     * Error responses complete the future normally with their status code and without body, as the other clients do
+     *
+     * @param httpClient Client to send the request with
+     * @param sessionId  ID of the session to send the request in, null for the shared data
+     * @param uri        URI to fetch
+     * @param type       Type to read a successful response body as
+     * @param <T>        Type of the response body
+     * @return Future completed with the response, or exceptionally if the request could not be sent or read
+     */
+    static <T> CompletableFuture<ResponseEntity<T>> get(HttpClient httpClient, String sessionId, URI uri, JavaType type) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET();
+        if (sessionId != null) {
+            builder.header(ClientSessions.HEADER, sessionId);
+        }
+        HttpRequest request = builder.build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> toResponseEntity(response, type));
+    }
+
+    private static <T> ResponseEntity<T> toResponseEntity(HttpResponse<byte[]> response, JavaType type) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (!status.is2xxSuccessful() || response.body().length == 0) {
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+
+        try {
+            T body = OBJECT_MAPPER.readValue(response.body(), type);
+            return ResponseEntity.status(status).headers(headers).body(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.thws.management.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.thws.management.server.model.UniModule;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Class that utilizes a pooled HttpClient to access the implemented backend API without blocking the calling thread
+ */
+@Component
+public class AsyncUniModuleClient {
+    private final String BASE_URL = "http://localhost:8080/api/v1/partner-universities/";
+    private final HttpClient httpClient;
+    private final String sessionId;
+
+    @Autowired
+    public AsyncUniModuleClient(HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * Constructs a AsyncUniModuleClient sending every request in an isolated session
+     *
+     * @param httpClient HttpClient to send the requests with
+     * @param sessionId  ID of the session to work in, null for the shared data
+     */
+    public AsyncUniModuleClient(HttpClient httpClient, String sessionId) {
+        this.httpClient = httpClient;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Method for fetching a single UniModule
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to fetch from
+     * @param uniModuleId         ID of UniModule to be fetched
+     * @return Future of ResponseEntity containing information of fetched UniModule
+     */
+    public CompletableFuture<ResponseEntity<UniModule>> getSingleUniModule(Long partnerUniversityId, Long uniModuleId) {
+        URI uri = URI.create(BASE_URL + partnerUniversityId + "/modules/" + uniModuleId);
+
+        return AsyncResponses.get(httpClient, sessionId, uri, AsyncResponses.OBJECT_MAPPER.constructType(UniModule.class));
+    }
+
+    /**
+     * Method for fetching all UniModules of PartnerUniversity
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to fetch from
+     * @return Future of ResponseEntity containing information of all fetched UniModules
+     */
+    public CompletableFuture<ResponseEntity<PagedModel<UniModule>>> getAllUniModulesFromPartnerUniversity(Long partnerUniversityId) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL + partnerUniversityId + "/modules")
+                .queryParam("page", 0)
+                .queryParam("size", Integer.MAX_VALUE)
+                .build().toUri();
+
+        return AsyncResponses.get(httpClient, sessionId, uri, AsyncResponses.OBJECT_MAPPER.getTypeFactory()
+                .constructParametricType(PagedModel.class, UniModule.class));
+    }
+
+    /**
+     * Method for streaming all UniModules of PartnerUniversity, page by page
+     * Follows the keyset next links of the backend and prefetches the next page while the current one is consumed
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to fetch from
+     * @param pageSize            Number of UniModules to fetch per request
+     * @return Lazy stream of the UniModules sorted by name, which should be closed if it is not consumed entirely
+     */
+    public Stream<UniModule> streamUniModulesFromPartnerUniversity(Long partnerUniversityId, int pageSize) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL + partnerUniversityId + "/modules")
+                .queryParam("after", "")
+                .queryParam("size", pageSize)
+                .build().toUri();
+
+        return PageIterator.stream(uri, pageUri -> AsyncResponses.get(httpClient, sessionId, pageUri, AsyncResponses.OBJECT_MAPPER
+                .getTypeFactory().constructParametricType(CollectionModel.class, UniModule.class)));
+    }
+
+    /**
+     * Method for fetching the UniModules of many PartnerUniversities concurrently
+     * At most maxConcurrency requests are in flight at once, each request is sent as soon as a previous one has been answered
+     *
+     * @param partnerUniversityIds IDs of PartnerUniversities to fetch from
+     * @param maxConcurrency       Maximum number of requests in flight at once
+     * @return Future of the UniModules of every PartnerUniversity in the order of the given IDs,
+     * an empty list for PartnerUniversities that do not exist, completed exceptionally on the first other failed request
+     */
+    public CompletableFuture<Map<Long, List<UniModule>>> getUniModulesOfPartnerUniversities(Collection<Long> partnerUniversityIds,
+                                                                                           int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+
+        List<Long> ids = List.copyOf(partnerUniversityIds);
+        Map<Long, List<UniModule>> fetched = new ConcurrentHashMap<>();
+        CompletableFuture<Map<Long, List<UniModule>>> result = new CompletableFuture<>();
+
+        //every lane sends the next pending request once its previous one has been answered
+        Iterator<Long> pending = ids.iterator();
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxConcurrency, ids.size()); i++) {
+            lanes.add(fetchNext(pending, fetched, result));
+        }
+
+        CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+
+            Map<Long, List<UniModule>> ordered = new LinkedHashMap<>();
+            for (Long id : ids) {
+                ordered.put(id, fetched.get(id));
+            }
+            result.complete(ordered);
+        });
+
+        return result;
+    }
+
+    private CompletableFuture<Void> fetchNext(Iterator<Long> pending, Map<Long, List<UniModule>> fetched,
+                                              CompletableFuture<?> result) {
+        Long partnerUniversityId;
+        synchronized (pending) {
+            //stops the lane once everything has been sent, or another request has failed already
+            if (result.isDone() || !pending.hasNext()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            partnerUniversityId = pending.next();
+        }
+
+        return getAllUniModulesFromPartnerUniversity(partnerUniversityId)
+                .thenCompose(response -> {
+                    fetched.put(partnerUniversityId, toUniModules(response));
+                    return fetchNext(pending, fetched, result);
+                })
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        result.completeExceptionally(failure);
+                    }
+                });
+    }
+
+    private static List<UniModule> toUniModules(ResponseEntity<PagedModel<UniModule>> response) {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            return Collections.emptyList();
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RestClientResponseException("Fetching UniModules failed", response.getStatusCode(),
+                    response.getStatusCode().toString(), response.getHeaders(), null, null);
+        }
+
+        PagedModel<UniModule> body = response.getBody();
+        return body == null ? Collections.emptyList() : List.copyOf(body.getContent());
+    }
+}
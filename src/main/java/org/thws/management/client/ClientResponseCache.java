@@ -0,0 +1,260 @@
+package org.thws.management.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache for the responses fetched by the clients
+ * Responses are stored with their ETag and Last-Modified headers. Entries younger than maxAge are served without a request,
+ * older ones are revalidated with a conditional request, so an unchanged resource is answered with 304 and no body.
+ * Within the staleWhileRevalidate window after maxAge, the stale entry is served at once and revalidated in the background
+ * One instance may be shared by several clients, as entries are keyed by their absolute URI
+ */
+public class ClientResponseCache {
+    private final Cache<URI, Entry> entries;
+    private final long maxAgeNanos;
+    private final long staleWhileRevalidateNanos;
+    private final Executor refreshExecutor;
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a cache that revalidates every entry before it is served
+     *
+     * @param maximumSize Maximum number of responses to keep, the least recently used ones are evicted first
+     */
+    public ClientResponseCache(long maximumSize) {
+        this(maximumSize, Duration.ZERO, Duration.ZERO, Runnable::run);
+    }
+
+    /**
+     * Constructs a new ClientResponseCache
+     *
+     * @param maximumSize          Maximum number of responses to keep, the least recently used ones are evicted first
+     * @param maxAge               Time an entry is served without asking the backend
+     * @param staleWhileRevalidate Time after maxAge during which an entry is still served while it is revalidated in the background
+     * @param refreshExecutor      Executor running the background revalidations
+     */
+    public ClientResponseCache(long maximumSize, Duration maxAge, Duration staleWhileRevalidate, Executor refreshExecutor) {
+        this.entries = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.maxAgeNanos = maxAge.toNanos();
+        this.staleWhileRevalidateNanos = staleWhileRevalidate.toNanos();
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Serves a GET request from the cache, revalidating or fetching it as needed
+     *
+     * @param uri      Absolute URI of the requested resource
+     * @param exchange Sends the request with the given conditional headers and returns the response
+     * @param <T>      Type of the response body, always the same for one URI
+     * @return Cached or fetched response, error responses are returned as received and remove the cached entry
+     */
+    @SuppressWarnings("unchecked")
+    <T> ResponseEntity<T> get(URI uri, Function<HttpHeaders, ResponseEntity<T>> exchange) {
+        Entry entry = entries.getIfPresent(uri);
+        if (entry == null) {
+            misses.increment();
+            return (ResponseEntity<T>) store(uri, exchange.apply(new HttpHeaders()));
+        }
+
+        long age = System.nanoTime() - entry.validatedAt;
+        if (age < maxAgeNanos) {
+            freshHits.increment();
+            return (ResponseEntity<T>) entry.response;
+        }
+
+        if (age < maxAgeNanos + staleWhileRevalidateNanos) {
+            staleHits.increment();
+            //only one background revalidation per entry at a time
+            if (entry.refreshing.compareAndSet(false, true)) {
+                refreshExecutor.execute(() -> {
+                    try {
+                        revalidate(uri, entry, exchange);
+                    } catch (RuntimeException e) {
+                        //the entry is revalidated again by the next request once it is no longer fresh
+                        entry.refreshing.set(false);
+                    }
+                });
+            }
+            return (ResponseEntity<T>) entry.response;
+        }
+
+        return (ResponseEntity<T>) revalidate(uri, entry, exchange);
+    }
+
+    private <T> ResponseEntity<?> revalidate(URI uri, Entry entry, Function<HttpHeaders, ResponseEntity<T>> exchange) {
+        HttpHeaders conditions = new HttpHeaders();
+        String eTag = entry.response.getHeaders().getETag();
+        if (eTag != null) {
+            conditions.setIfNoneMatch(eTag);
+        }
+        long lastModified = entry.response.getHeaders().getLastModified();
+        if (lastModified != -1) {
+            conditions.setIfModifiedSince(lastModified);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = exchange.apply(conditions);
+        } catch (RestClientResponseException e) {
+            //a rest template throwing on error responses has to remove the outdated entry as well
+            entries.invalidate(uri);
+            throw e;
+        }
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            notModified.increment();
+            entries.asMap().replace(uri, entry, new Entry(entry.response));
+            return entry.response;
+        }
+
+        misses.increment();
+        return store(uri, response);
+    }
+
+    //keeps successful responses that can be revalidated, anything else removes the outdated entry
+    private ResponseEntity<?> store(URI uri, ResponseEntity<?> response) {
+        HttpHeaders headers = response.getHeaders();
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.OK)
+                && (headers.getETag() != null || headers.getLastModified() != -1)) {
+            entries.put(uri, new Entry(response));
+        } else {
+            entries.invalidate(uri);
+        }
+
+        return response;
+    }
+
+    /**
+     * Removes the entries of a resource and of everything below it, so they are fetched again after it has been modified
+     *
+     * @param resourceUri Absolute URI of the modified resource or collection
+     */
+    public void invalidate(String resourceUri) {
+        entries.asMap().keySet().removeIf(uri -> {
+            String cached = uri.toString();
+            return cached.equals(resourceUri)
+                    || cached.startsWith(resourceUri + "/")
+                    || cached.startsWith(resourceUri + "?");
+        });
+    }
+
+    /**
+     * Removes the entries of a collection itself, with any query, but not those of the resources below it
+     *
+     * @param collectionUri Absolute URI of the collection, without a trailing slash
+     */
+    public void invalidateListings(String collectionUri) {
+        entries.asMap().keySet().removeIf(uri -> {
+            String cached = uri.toString();
+            return cached.equals(collectionUri) || cached.startsWith(collectionUri + "?");
+        });
+    }
+
+    /**
+     * Removes every entry
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Retrieves the statistics collected since this cache has been created
+     *
+     * @return Snapshot of the current statistics
+     */
+    public Stats stats() {
+        return new Stats(freshHits.sum(), staleHits.sum(), notModified.sum(), misses.sum(), entries.estimatedSize());
+    }
+
+    /**
+     * Cached response together with the time it has last been confirmed by the backend
+     */
+    private static class Entry {
+        private final ResponseEntity<?> response;
+        private final long validatedAt = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(ResponseEntity<?> response) {
+            this.response = response;
+        }
+    }
+
+    /**
+     * Statistics of a ClientResponseCache
+     */
+    public static class Stats {
+        private final long freshHits;
+        private final long staleHits;
+        private final long notModified;
+        private final long misses;
+        private final long size;
+
+        Stats(long freshHits, long staleHits, long notModified, long misses, long size) {
+            this.freshHits = freshHits;
+            this.staleHits = staleHits;
+            this.notModified = notModified;
+            this.misses = misses;
+            this.size = size;
+        }
+
+        /**
+         * @return Requests served from a fresh entry without asking the backend
+         */
+        public long getFreshHits() {
+            return freshHits;
+        }
+
+        /**
+         * @return Requests served from a stale entry while it has been revalidated in the background
+         */
+        public long getStaleHits() {
+            return staleHits;
+        }
+
+        /**
+         * @return Requests the backend confirmed with status code 304, so their body has been taken from the cache
+         */
+        public long getNotModified() {
+            return notModified;
+        }
+
+        /**
+         * @return Requests whose body had to be transferred by the backend
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return Approximate number of cached responses
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return Share of requests whose body has been taken from the cache, 0 if there has been no request yet
+         */
+        public double getHitRate() {
+            long hits = freshHits + staleHits + notModified;
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+}
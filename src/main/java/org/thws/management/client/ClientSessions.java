@@ -0,0 +1,60 @@
+package org.thws.management.client;
+
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.UUID;
+
+/**
+ * Scopes the clients to an isolated session of the backend, which has data of its own, created from the seed data
+ * Clients working in different sessions can run concurrently against one backend without seeing each other's changes
+ * The backend has to be started with management.sessions.enabled=true
+ */
+public final class ClientSessions {
+    public static final String HEADER = "X-Session-Id";
+    private static final String SESSIONS_URL = "http://localhost:8080/api/v1/sessions/";
+
+    private ClientSessions() {
+    }
+
+    /**
+     * Generates the ID of a new session, which is created by the backend as soon as it is used
+     *
+     * @return Random session ID
+     */
+    public static String newSessionId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * Creates a RestTemplate sending every request in a session, otherwise configured like the given one
+     *
+     * @param restTemplate RestTemplate to take the configuration from, which is left unchanged
+     * @param sessionId    ID of the session to work in
+     * @return RestTemplate to construct the clients with
+     */
+    public static RestTemplate withSession(RestTemplate restTemplate, String sessionId) {
+        RestTemplate sessionRestTemplate = new RestTemplate(restTemplate.getMessageConverters());
+        sessionRestTemplate.setRequestFactory(restTemplate.getRequestFactory());
+        sessionRestTemplate.setErrorHandler(restTemplate.getErrorHandler());
+        sessionRestTemplate.setUriTemplateHandler(restTemplate.getUriTemplateHandler());
+
+        ClientHttpRequestInterceptor sessionHeader = (request, body, execution) -> {
+            request.getHeaders().set(HEADER, sessionId);
+            return execution.execute(request, body);
+        };
+        sessionRestTemplate.getInterceptors().add(sessionHeader);
+
+        return sessionRestTemplate;
+    }
+
+    /**
+     * Closes a session, which drops all of its data
+     *
+     * @param restTemplate RestTemplate to send the request with
+     * @param sessionId    ID of the session to close
+     */
+    public static void closeSession(RestTemplate restTemplate, String sessionId) {
+        restTemplate.delete(SESSIONS_URL + sessionId);
+    }
+}
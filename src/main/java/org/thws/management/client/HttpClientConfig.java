@@ -0,0 +1,32 @@
+package org.thws.management.client;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Configuration class for creating the HttpClient bean used by the asynchronous clients
+ * The HttpClient keeps its connections alive and reuses them, and multiplexes all requests over one connection
+ * where the server supports HTTP/2 (enabled by server.http2.enabled)
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClient httpClient(Environment environment) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(5));
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            builder.executor(new VirtualThreadTaskExecutor("http-client-"));
+        }
+
+        return builder.build();
+    }
+}
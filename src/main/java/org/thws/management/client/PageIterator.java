@@ -0,0 +1,147 @@
+package org.thws.management.client;
+
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the elements of a paginated listing, one page at a time, by following the next links of the backend
+ * The asynchronous clients request the next page as soon as the current one has arrived, so it is usually ready by the time
+ * the caller has consumed the current one, and never more than two pages are held in memory
+ * The blocking clients request every page on the calling thread once the previous one has been consumed
+ *
+ * @param <T> Type of the listed elements
+ */
+final class PageIterator<T> implements Iterator<T> {
+    private final Function<URI, CompletableFuture<ResponseEntity<CollectionModel<T>>>> fetch;
+    private final boolean prefetch;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private CompletableFuture<ResponseEntity<CollectionModel<T>>> nextPage;
+    private URI nextPageUri;
+
+    private PageIterator(URI firstPage, Function<URI, CompletableFuture<ResponseEntity<CollectionModel<T>>>> fetch,
+                         boolean prefetch) {
+        this.fetch = fetch;
+        this.prefetch = prefetch;
+        if (prefetch) {
+            this.nextPage = fetch.apply(firstPage);
+        } else {
+            this.nextPageUri = firstPage;
+        }
+    }
+
+    /**
+     * Creates a lazy stream over all elements of a paginated listing
+     * Closing the stream cancels the page that is being prefetched
+     *
+     * @param firstPage URI of the first page
+     * @param fetch     Function sending the request for one page
+     * @param <T>       Type of the listed elements
+     * @return Sequential stream of the elements of all pages, in the order of the backend
+     */
+    static <T> Stream<T> stream(URI firstPage, Function<URI, CompletableFuture<ResponseEntity<CollectionModel<T>>>> fetch) {
+        return stream(new PageIterator<>(firstPage, fetch, true));
+    }
+
+    /**
+     * Creates a lazy stream over all elements of a paginated listing, whose pages are fetched by blocking calls
+     * A page is only requested once the elements of the previous one have been consumed
+     *
+     * @param firstPage URI of the first page
+     * @param fetch     Function sending the request for one page and waiting for its response
+     * @param <T>       Type of the listed elements
+     * @return Sequential stream of the elements of all pages, in the order of the backend
+     */
+    static <T> Stream<T> streamBlocking(URI firstPage, Function<URI, ResponseEntity<CollectionModel<T>>> fetch) {
+        return stream(new PageIterator<T>(firstPage, pageUri -> CompletableFuture.completedFuture(fetch.apply(pageUri)), false));
+    }
+
+    private static <T> Stream<T> stream(PageIterator<T> iterator) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::cancel);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (nextPage == null && nextPageUri != null) {
+                URI pageUri = nextPageUri;
+                nextPageUri = null;
+                nextPage = fetch.apply(pageUri);
+            }
+            if (nextPage == null) {
+                return false;
+            }
+            current = takeNextPage();
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    /**
+     * Waits for the requested page and, when prefetching, starts fetching the one after it before handing out its elements
+     * The backend answers an empty listing with status code 404, which ends the iteration
+     */
+    private Iterator<T> takeNextPage() {
+        ResponseEntity<CollectionModel<T>> response;
+        try {
+            response = nextPage.join();
+        } catch (CompletionException e) {
+            nextPage = null;
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        nextPage = null;
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            return Collections.emptyIterator();
+        }
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new RestClientResponseException("Fetching page failed", response.getStatusCode(),
+                    response.getStatusCode().toString(), response.getHeaders(), null, null);
+        }
+
+        CollectionModel<T> page = response.getBody();
+        URI next = page.getLink(IanaLinkRelations.NEXT).map(Link::toUri).orElse(null);
+        if (prefetch) {
+            nextPage = next == null ? null : fetch.apply(next);
+        } else {
+            nextPageUri = next;
+        }
+
+        return page.getContent().iterator();
+    }
+
+    private void cancel() {
+        nextPageUri = null;
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+    }
+}
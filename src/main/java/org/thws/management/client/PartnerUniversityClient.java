@@ -1,15 +1,40 @@
 package org.thws.management.client;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.thws.management.server.model.ExchangeDirection;
+import org.thws.management.server.model.ExchangeSlots;
+import org.thws.management.server.model.ImportSummary;
 import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.PartnerUniversityCriteria;
+import org.thws.management.server.model.PartnerUniversityModel;
+import org.thws.management.server.model.SearchHit;
+import org.thws.management.server.model.Suggestion;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Class that utilizes RestTemplate to access the implemented backend API, methods used for tests
@@ -17,11 +42,42 @@ import java.net.URI;
 @Component
 public class PartnerUniversityClient {
     private final String BASE_URL = "http://localhost:8080/api/v1/partner-universities";
+    private static final ObjectReader EXPORT_READER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(PartnerUniversity.class);
     private final RestTemplate restTemplate;
+    private final ClientResponseCache responseCache;
+    private final MediaType format;
 
     @Autowired
     public PartnerUniversityClient(RestTemplate restTemplate) {
+        this(restTemplate, null);
+    }
+
+    /**
+     * Constructs a PartnerUniversityClient which serves its GET requests through a response cache
+     *
+     * @param restTemplate  RestTemplate to send the requests with
+     * @param responseCache Cache for the fetched responses, null to send every request
+     */
+    public PartnerUniversityClient(RestTemplate restTemplate, ClientResponseCache responseCache) {
+        this(restTemplate, responseCache, null);
+    }
+
+    /**
+     * Constructs a PartnerUniversityClient which fetches the PartnerUniversities and UniModules in the given format
+     * The RestTemplate has to be built by the RestTemplateBuilder of the application to decode application/cbor
+     *
+     * @param restTemplate  RestTemplate to send the requests with
+     * @param responseCache Cache for the fetched responses, null to send every request
+     * @param format        Media type to accept, as application/cbor, null for JSON
+     */
+    public PartnerUniversityClient(RestTemplate restTemplate, ClientResponseCache responseCache, MediaType format) {
         this.restTemplate = restTemplate;
+        this.responseCache = responseCache;
+        this.format = format;
     }
 
     /**
@@ -33,6 +89,7 @@ public class PartnerUniversityClient {
     public ResponseEntity<PartnerUniversity> addNewPartnerUniversity(PartnerUniversity partnerUniversity) {
         URI uri = URI.create(BASE_URL);
         ResponseEntity<PartnerUniversity> response = restTemplate.postForEntity(uri, partnerUniversity, PartnerUniversity.class);
+        invalidateCache();
 
         return response;
     }
@@ -44,11 +101,33 @@ public class PartnerUniversityClient {
      * @return ResponseEntity containing information about fetched PartnerUniversity
      */
     public ResponseEntity<PartnerUniversity> getSinglePartnerUniversity(Long partnerUniversityId) {
+        return getSinglePartnerUniversity(partnerUniversityId, null);
+    }
+
+    /**
+     * Method for fetching a single PartnerUniversity only if it has been modified
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to be fetched
+     * @param eTag                ETag of the previously fetched PartnerUniversity,
+     *                            null to fetch it unconditionally or through the response cache
+     * @return ResponseEntity containing information about fetched PartnerUniversity,
+     * or status code 304 without body if it has not been modified
+     */
+    public ResponseEntity<PartnerUniversity> getSinglePartnerUniversity(Long partnerUniversityId, String eTag) {
         URI uri = URI.create(BASE_URL + "/" + partnerUniversityId);
+
+        if (eTag == null) {
+            return get(uri, ParameterizedTypeReference.forType(PartnerUniversity.class));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        accept(headers);
+
         ResponseEntity<PartnerUniversity> response = restTemplate.exchange(
                 uri,
                 HttpMethod.GET,
-                null,
+                new HttpEntity<>(headers),
                 PartnerUniversity.class);
 
         return response;
@@ -65,15 +144,8 @@ public class PartnerUniversityClient {
                 .queryParam("size", Integer.MAX_VALUE)
                 .build().toUri();
 
-        ResponseEntity<PagedModel<PartnerUniversity>> response = restTemplate.exchange(
-                uri,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<PagedModel<PartnerUniversity>>() {
-                }
-        );
-
-        return response;
+        return get(uri, new ParameterizedTypeReference<PagedModel<PartnerUniversity>>() {
+        });
     }
 
     /**
@@ -85,31 +157,98 @@ public class PartnerUniversityClient {
      * @return ResponseEntity containing information about fetched PartnerUniversities
      */
     public ResponseEntity<PagedModel<PartnerUniversity>> getAllPartnerUniversitiesByFilters(String name, String country, String departmentName) {
-        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(BASE_URL)
+        return getAllPartnerUniversitiesByFilter(new PartnerUniversityCriteria(name, country, departmentName));
+    }
+
+    /**
+     * Method used for fetching PartnerUniversities by any combination of filter criteria
+     *
+     * @param filter Criteria for PartnerUniversities to be filtered by
+     * @return ResponseEntity containing information about fetched PartnerUniversities
+     */
+    public ResponseEntity<PagedModel<PartnerUniversity>> getAllPartnerUniversitiesByFilter(PartnerUniversityCriteria filter) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL)
                 .queryParam("page", 0)
-                .queryParam("size", Integer.MAX_VALUE);
+                .queryParam("size", Integer.MAX_VALUE)
+                .queryParams(filter.toQueryParams())
+                .build().toUri();
 
-        if (name != null) {
-            builder.queryParam("name", name);
-        }
-        if (country != null) {
-            builder.queryParam("country", country);
-        }
-        if (departmentName != null) {
-            builder.queryParam("departmentName", departmentName);
-        }
+        return get(uri, new ParameterizedTypeReference<PagedModel<PartnerUniversity>>() {
+        });
+    }
 
-        URI uri = builder.build().toUri();
+    /**
+     * Method for fetching the representations of all PartnerUniversities, optionally with their UniModules embedded
+     *
+     * @param embed       "modules" to embed the UniModules, null to fetch only links to them
+     * @param moduleLimit Maximum number of UniModules to embed per PartnerUniversity, null for all of them
+     * @return ResponseEntity containing the representations of the fetched PartnerUniversities
+     */
+    public ResponseEntity<PagedModel<PartnerUniversityModel>> getAllPartnerUniversityModels(String embed, Integer moduleLimit) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL)
+                .queryParam("page", 0)
+                .queryParam("size", Integer.MAX_VALUE)
+                .queryParamIfPresent("embed", Optional.ofNullable(embed))
+                .queryParamIfPresent("moduleLimit", Optional.ofNullable(moduleLimit))
+                .build().toUri();
 
-        ResponseEntity<PagedModel<PartnerUniversity>> response = restTemplate.exchange(
-                uri,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<PagedModel<PartnerUniversity>>() {
-                }
-        );
+        return get(uri, new ParameterizedTypeReference<PagedModel<PartnerUniversityModel>>() {
+        });
+    }
 
-        return response;
+    /**
+     * Method for fetching a single PartnerUniversity with only some of its fields, the others are null
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to be fetched
+     * @param fields              Comma separated fields to be fetched, as "id,name,country"
+     * @return ResponseEntity containing the requested fields of the fetched PartnerUniversity
+     */
+    public ResponseEntity<PartnerUniversity> getSparsePartnerUniversity(Long partnerUniversityId, String fields) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL + "/" + partnerUniversityId)
+                .queryParam("fields", fields)
+                .build().toUri();
+
+        return get(uri, ParameterizedTypeReference.forType(PartnerUniversity.class));
+    }
+
+    /**
+     * Method used for fetching PartnerUniversities by filter criteria, with only some of their fields, the others are null
+     *
+     * @param filter Criteria for PartnerUniversities to be filtered by
+     * @param fields Comma separated fields to be fetched, as "id,name,country"
+     * @return ResponseEntity containing the requested fields of the fetched PartnerUniversities
+     */
+    public ResponseEntity<PagedModel<PartnerUniversity>> getSparsePartnerUniversities(PartnerUniversityCriteria filter, String fields) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL)
+                .queryParam("page", 0)
+                .queryParam("size", Integer.MAX_VALUE)
+                .queryParams(filter.toQueryParams())
+                .queryParam("fields", fields)
+                .build().toUri();
+
+        return get(uri, new ParameterizedTypeReference<PagedModel<PartnerUniversity>>() {
+        });
+    }
+
+    /**
+     * Method for streaming all PartnerUniversities matching the filter, page by page
+     * Follows the keyset next links of the backend and only requests a page once the previous one has been consumed,
+     * so neither the client nor the backend ever holds the whole listing
+     *
+     * @param filter   Criteria for PartnerUniversities to be filtered by
+     * @param pageSize Number of PartnerUniversities to fetch per request
+     * @return Lazy stream of the PartnerUniversities sorted by name
+     */
+    public Stream<PartnerUniversity> streamPartnerUniversities(PartnerUniversityCriteria filter, int pageSize) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL)
+                .queryParam("after", "")
+                .queryParam("size", pageSize)
+                .queryParams(filter.toQueryParams())
+                .build().toUri();
+
+        return PageIterator.streamBlocking(uri, pageUri -> getPage(pageUri,
+                new ParameterizedTypeReference<CollectionModel<PartnerUniversity>>() {
+                }));
     }
 
     /**
@@ -119,10 +258,25 @@ public class PartnerUniversityClient {
      * @return ResponseEntity containing information about updated PartnerUniversity
      */
     public ResponseEntity<PartnerUniversity> updatePartnerUniversity(PartnerUniversity partnerUniversity) {
+        return updatePartnerUniversity(partnerUniversity, null);
+    }
+
+    /**
+     * Method for updating a PartnerUniversity only if it has not been modified since it was fetched
+     *
+     * @param partnerUniversity Data to be used for updating PartnerUniversity
+     * @param eTag              ETag of the fetched PartnerUniversity, null to update it unconditionally
+     * @return ResponseEntity containing information about updated PartnerUniversity,
+     * or status code 412 if it has been modified in the meantime
+     */
+    public ResponseEntity<PartnerUniversity> updatePartnerUniversity(PartnerUniversity partnerUniversity, String eTag) {
         URI uri = URI.create(BASE_URL + "/" + partnerUniversity.getId());
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
+        if (eTag != null) {
+            headers.setIfMatch(eTag);
+        }
 
         HttpEntity<PartnerUniversity> request = new HttpEntity<>(partnerUniversity, headers);
 
@@ -132,6 +286,7 @@ public class PartnerUniversityClient {
                 request,
                 PartnerUniversity.class
         );
+        invalidateCache();
 
         return response;
     }
@@ -143,8 +298,223 @@ public class PartnerUniversityClient {
      * @return ResponseEntity containing information about deleted PartnerUniversity
      */
     public ResponseEntity<Void> deletePartnerUniversity(Long partnerUniversityId) {
+        return deletePartnerUniversity(partnerUniversityId, null);
+    }
+
+    /**
+     * Method for deleting PartnerUniversity only if it has not been modified since it was fetched
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to be deleted
+     * @param eTag                ETag of the fetched PartnerUniversity, null to delete it unconditionally
+     * @return ResponseEntity containing information about deleted PartnerUniversity,
+     * or status code 412 if it has been modified in the meantime
+     */
+    public ResponseEntity<Void> deletePartnerUniversity(Long partnerUniversityId, String eTag) {
         URI uri = URI.create(BASE_URL + "/" + partnerUniversityId);
-        return restTemplate.exchange(uri, HttpMethod.DELETE, null, Void.class);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) {
+            headers.setIfMatch(eTag);
+        }
+
+        ResponseEntity<Void> response = restTemplate.exchange(uri, HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
+        invalidateCache();
+
+        return response;
+    }
+
+    /**
+     * Method for exporting every PartnerUniversity with its UniModules
+     * Reads the export line by line while it is received, so only one PartnerUniversity is held in memory at a time
+     *
+     * @param consumer Receives every exported PartnerUniversity, with its UniModules set
+     * @return Number of exported PartnerUniversities
+     */
+    public long exportPartnerUniversities(Consumer<PartnerUniversity> consumer) {
+        URI uri = URI.create(BASE_URL + "/export");
+
+        return restTemplate.execute(
+                uri,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                response -> {
+                    checkExportResponse(response);
+
+                    long count = 0;
+                    try (MappingIterator<PartnerUniversity> partnerUniversities = EXPORT_READER.readValues(response.getBody())) {
+                        while (partnerUniversities.hasNext()) {
+                            consumer.accept(partnerUniversities.next());
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+    }
+
+    /**
+     * Method for exporting every PartnerUniversity with its UniModules as CSV, one row per UniModule
+     * Copies the export to the target while it is received
+     *
+     * @param target Stream the CSV is written to, left open afterwards
+     * @return Number of bytes written to the target
+     */
+    public long exportPartnerUniversitiesAsCsv(OutputStream target) {
+        URI uri = URI.create(BASE_URL + "/export");
+
+        return restTemplate.execute(
+                uri,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.parseMediaType("text/csv"))),
+                response -> {
+                    checkExportResponse(response);
+
+                    return response.getBody().transferTo(target);
+                });
+    }
+
+    /**
+     * Method for importing many PartnerUniversities with their UniModules at once
+     *
+     * @param partnerUniversities PartnerUniversities to import, with their UniModules set
+     * @return ResponseEntity containing the outcome of every imported PartnerUniversity, in the same order
+     */
+    public ResponseEntity<ImportSummary> importPartnerUniversities(Collection<PartnerUniversity> partnerUniversities) {
+        URI uri = URI.create(BASE_URL + "/import");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<ImportSummary> response = restTemplate.exchange(
+                uri, HttpMethod.POST, new HttpEntity<>(partnerUniversities, headers), ImportSummary.class);
+        invalidateCache();
+
+        return response;
+    }
+
+    //sends GET requests through the response cache, if there is one
+    private <T> ResponseEntity<T> get(URI uri, ParameterizedTypeReference<T> type) {
+        Function<HttpHeaders, ResponseEntity<T>> exchange = headers -> {
+            accept(headers);
+            return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), type);
+        };
+
+        return responseCache == null ? exchange.apply(new HttpHeaders()) : responseCache.get(uri, exchange);
+    }
+
+    //the backend answers an empty listing with 404, which ends a stream also when the RestTemplate throws on error responses
+    private <T> ResponseEntity<CollectionModel<T>> getPage(URI uri, ParameterizedTypeReference<CollectionModel<T>> type) {
+        try {
+            return get(uri, type);
+        } catch (HttpClientErrorException.NotFound e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    //asks for the format of the client, otherwise the backend answers with JSON
+    private void accept(HttpHeaders headers) {
+        if (format != null) {
+            headers.setAccept(List.of(format));
+        }
+    }
+
+    //every write may change any cached PartnerUniversity or listing, so all of them are revalidated afterwards
+    private void invalidateCache() {
+        if (responseCache != null) {
+            responseCache.invalidate(BASE_URL);
+        }
+    }
+
+    //the rest template of the tests does not throw on error responses, so the export checks the status itself
+    private static void checkExportResponse(ClientHttpResponse response) throws IOException {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RestClientResponseException("Export failed", response.getStatusCode(), response.getStatusText(),
+                    response.getHeaders(), StreamUtils.copyToByteArray(response.getBody()), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Method used for searching PartnerUniversities and UniModules by words, which may contain typos
+     * Not served through the response cache, as any write may change the results
+     *
+     * @param text Words to search for
+     * @param page Page number to fetch
+     * @param size Number of results per page
+     * @return ResponseEntity containing the results ordered by relevance
+     */
+    public ResponseEntity<PagedModel<SearchHit>> search(String text, int page, int size) {
+        URI uri = UriComponentsBuilder.fromUriString("http://localhost:8080/api/v1/search")
+                .queryParam("q", text)
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .encode()
+                .build().toUri();
+
+        return restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<PagedModel<SearchHit>>() {
+        });
+    }
+
+    /**
+     * Method used for completing a typed prefix to the names of PartnerUniversities and UniModules
+     *
+     * @param prefix Typed beginning of a word of the names
+     * @param limit  Maximum number of names to fetch
+     * @return ResponseEntity containing the completed names
+     */
+    public ResponseEntity<CollectionModel<Suggestion>> autocomplete(String prefix, int limit) {
+        URI uri = UriComponentsBuilder.fromUriString("http://localhost:8080/api/v1/autocomplete")
+                .queryParam("prefix", prefix)
+                .queryParam("limit", limit)
+                .encode()
+                .build().toUri();
+
+        return restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<CollectionModel<Suggestion>>() {
+        });
+    }
+
+    /**
+     * Method used for fetching how many exchange slots a PartnerUniversity has and how many of them are reserved
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @return ResponseEntity containing the exchange slots
+     */
+    public ResponseEntity<ExchangeSlots> getExchangeSlots(Long partnerUniversityId) {
+        URI uri = URI.create(BASE_URL + "/" + partnerUniversityId + "/slots");
+
+        return restTemplate.exchange(uri, HttpMethod.GET, null, ExchangeSlots.class);
+    }
+
+    /**
+     * Method used for reserving one exchange slot of a PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param direction           Direction of the exchange
+     * @return ResponseEntity containing the exchange slots after the reservation,
+     * or status code 409 if all slots of the direction are reserved
+     */
+    public ResponseEntity<ExchangeSlots> reserveSlot(Long partnerUniversityId, ExchangeDirection direction) {
+        return changeSlot(partnerUniversityId, direction, HttpMethod.POST);
+    }
+
+    /**
+     * Method used for releasing one reserved exchange slot of a PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param direction           Direction of the exchange
+     * @return ResponseEntity containing the exchange slots after the release,
+     * or status code 409 if no slot of the direction is reserved
+     */
+    public ResponseEntity<ExchangeSlots> releaseSlot(Long partnerUniversityId, ExchangeDirection direction) {
+        return changeSlot(partnerUniversityId, direction, HttpMethod.DELETE);
+    }
+
+    //a reservation changes the version of the PartnerUniversity, so its cached ETag is outdated afterwards
+    private ResponseEntity<ExchangeSlots> changeSlot(Long partnerUniversityId, ExchangeDirection direction, HttpMethod method) {
+        URI uri = URI.create(BASE_URL + "/" + partnerUniversityId + "/slots/" + direction.toPathSegment());
+
+        ResponseEntity<ExchangeSlots> response = restTemplate.exchange(uri, method, null, ExchangeSlots.class);
+        invalidateCache();
+
+        return response;
     }
 
     /**
@@ -153,5 +523,8 @@ public class PartnerUniversityClient {
     public void resetDatabase() {
         String resetUrl = "http://localhost:8080/api/v1/reset-database";
         restTemplate.postForEntity(resetUrl, null, Void.class);
+        if (responseCache != null) {
+            responseCache.invalidateAll();
+        }
     }
 }
@@ -0,0 +1,40 @@
+package org.thws.management.client;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+
+/**
+ * Configuration class for creating the RestTemplate bean used by the clients
+ * It asks the backend for gzip compressed responses and decompresses them, and decodes CBOR with the converter
+ * the RestTemplateBuilder takes from the application, next to JSON
+ * With spring.threads.virtual.enabled=true on Java 21, Spring Boot serves requests and runs the task executor behind
+ * {@code @Async} on virtual threads, and the RestTemplate is built on a JDK HttpClient whose internal asynchronous work
+ * runs on virtual threads. A call through the RestTemplate is synchronous and still blocks the thread calling it,
+ * so callers have to run on virtual threads themselves to benefit, as in VirtualThreadLoadBenchmark
+ */
+@Configuration
+public class RestTemplateConfig {
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            builder = builder.requestFactory(() -> new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                    .executor(new VirtualThreadTaskExecutor("rest-client-"))
+                    .build()));
+        }
+
+        return builder
+                .additionalMessageConverters(new MappingJackson2HttpMessageConverter())
+                .additionalInterceptors(new GzipResponseInterceptor())
+                .build();
+    }
+}
@@ -2,14 +2,22 @@ package org.thws.management.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.thws.management.server.model.CountryStatistics;
+import org.thws.management.server.model.SemesterStatistics;
 import org.thws.management.server.model.UniModule;
+import org.thws.management.server.model.UniversityStatistics;
 
 import java.net.URI;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Class that utilizes RestTemplate to access the implemented backend API, methods used for tests
@@ -17,11 +25,38 @@ import java.net.URI;
 @Component
 public class UniModuleClient {
     private final String BASE_URL = "http://localhost:8080/api/v1/partner-universities/";
+    private final String STATISTICS_URL = "http://localhost:8080/api/v1/statistics/";
     private final RestTemplate restTemplate;
+    private final ClientResponseCache responseCache;
+    private final MediaType format;
 
     @Autowired
     public UniModuleClient(RestTemplate restTemplate) {
+        this(restTemplate, null);
+    }
+
+    /**
+     * Constructs an UniModuleClient which serves its GET requests through a response cache
+     *
+     * @param restTemplate  RestTemplate to send the requests with
+     * @param responseCache Cache for the fetched responses, null to send every request
+     */
+    public UniModuleClient(RestTemplate restTemplate, ClientResponseCache responseCache) {
+        this(restTemplate, responseCache, null);
+    }
+
+    /**
+     * Constructs an UniModuleClient which fetches the PartnerUniversities and UniModules in the given format
+     * The RestTemplate has to be built by the RestTemplateBuilder of the application to decode application/cbor
+     *
+     * @param restTemplate  RestTemplate to send the requests with
+     * @param responseCache Cache for the fetched responses, null to send every request
+     * @param format        Media type to accept, as application/cbor, null for JSON
+     */
+    public UniModuleClient(RestTemplate restTemplate, ClientResponseCache responseCache, MediaType format) {
         this.restTemplate = restTemplate;
+        this.responseCache = responseCache;
+        this.format = format;
     }
 
     /**
@@ -34,6 +69,7 @@ public class UniModuleClient {
     public ResponseEntity<UniModule> addNewUniModuleToPartnerUniversity(Long partnerUniversityId, UniModule uniModule) {
         URI uri = URI.create(BASE_URL + partnerUniversityId + "/modules");
         ResponseEntity<UniModule> response = restTemplate.postForEntity(uri, uniModule, UniModule.class);
+        invalidateCache(partnerUniversityId);
 
         return response;
     }
@@ -47,13 +83,7 @@ public class UniModuleClient {
      */
     public ResponseEntity<UniModule> getSingleUniModule(Long partnerUniversityId, Long uniModuleId) {
         URI uri = URI.create(BASE_URL + partnerUniversityId + "/modules/" + uniModuleId);
-        ResponseEntity<UniModule> response = restTemplate.exchange(
-                uri,
-                HttpMethod.GET,
-                null,
-                UniModule.class);
-
-        return response;
+        return get(uri, ParameterizedTypeReference.forType(UniModule.class));
     }
 
     /**
@@ -68,15 +98,45 @@ public class UniModuleClient {
                 .queryParam("size", Integer.MAX_VALUE)
                 .build().toUri();
 
-        ResponseEntity<PagedModel<UniModule>> response = restTemplate.exchange(
-                uri,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<PagedModel<UniModule>>() {
-                }
-        );
+        return get(uri, new ParameterizedTypeReference<PagedModel<UniModule>>() {
+        });
+    }
 
-        return response;
+    /**
+     * Method for fetching all UniModules of PartnerUniversity with only some of their fields, the others are null
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to fetch from
+     * @param fields              Comma separated fields to be fetched, as "id,name"
+     * @return ResponseEntity containing the requested fields of all fetched UniModules
+     */
+    public ResponseEntity<PagedModel<UniModule>> getSparseUniModules(Long partnerUniversityId, String fields) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL + partnerUniversityId + "/modules")
+                .queryParam("page", 0)
+                .queryParam("size", Integer.MAX_VALUE)
+                .queryParam("fields", fields)
+                .build().toUri();
+
+        return get(uri, new ParameterizedTypeReference<PagedModel<UniModule>>() {
+        });
+    }
+
+    /**
+     * Method for streaming all UniModules of PartnerUniversity, page by page
+     * Follows the keyset next links of the backend and only requests a page once the previous one has been consumed
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to fetch from
+     * @param pageSize            Number of UniModules to fetch per request
+     * @return Lazy stream of the UniModules sorted by name
+     */
+    public Stream<UniModule> streamUniModulesFromPartnerUniversity(Long partnerUniversityId, int pageSize) {
+        URI uri = UriComponentsBuilder.fromUriString(BASE_URL + partnerUniversityId + "/modules")
+                .queryParam("after", "")
+                .queryParam("size", pageSize)
+                .build().toUri();
+
+        return PageIterator.streamBlocking(uri, pageUri -> getPage(pageUri,
+                new ParameterizedTypeReference<CollectionModel<UniModule>>() {
+                }));
     }
 
     /**
@@ -87,10 +147,26 @@ public class UniModuleClient {
      * @return ResponseEntity containing information of updated UniModule
      */
     public ResponseEntity<UniModule> updateUniModule(Long partnerUniversityId, UniModule uniModule) {
+        return updateUniModule(partnerUniversityId, uniModule, null);
+    }
+
+    /**
+     * Method for updating an UniModule only if it has not been modified since it was fetched
+     *
+     * @param partnerUniversityId ID of PartnerUniversity containing module to be updated
+     * @param uniModule           Data to update UniModule with
+     * @param eTag                ETag of the fetched UniModule, null to update it unconditionally
+     * @return ResponseEntity containing information of updated UniModule,
+     * or status code 412 if it has been modified in the meantime
+     */
+    public ResponseEntity<UniModule> updateUniModule(Long partnerUniversityId, UniModule uniModule, String eTag) {
         URI uri = URI.create(BASE_URL + partnerUniversityId + "/modules/" + uniModule.getId());
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
+        if (eTag != null) {
+            headers.setIfMatch(eTag);
+        }
 
         HttpEntity<UniModule> request = new HttpEntity<>(uniModule, headers);
 
@@ -100,6 +176,7 @@ public class UniModuleClient {
                 request,
                 UniModule.class
         );
+        invalidateCache(partnerUniversityId);
 
         return response;
     }
@@ -113,7 +190,50 @@ public class UniModuleClient {
      */
     public ResponseEntity<Void> deleteUniModule(Long partnerUniversityId, Long uniModuleId) {
         URI uri = URI.create(BASE_URL + partnerUniversityId + "/modules/" + uniModuleId);
-        return restTemplate.exchange(uri, HttpMethod.DELETE, null, Void.class);
+        ResponseEntity<Void> response = restTemplate.exchange(uri, HttpMethod.DELETE, null, Void.class);
+        invalidateCache(partnerUniversityId);
+
+        return response;
+    }
+
+    /**
+     * Method for fetching the number of UniModules and their total ECTS per PartnerUniversity
+     * Statistics are not served through the response cache, as any write may change them
+     *
+     * @param page Page number to fetch
+     * @param size Number of PartnerUniversities per page
+     * @return ResponseEntity containing the statistics, ordered by the names of the PartnerUniversities
+     */
+    public ResponseEntity<PagedModel<UniversityStatistics>> getUniversityStatistics(int page, int size) {
+        URI uri = UriComponentsBuilder.fromUriString(STATISTICS_URL + "partner-universities")
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .build().toUri();
+
+        return restTemplate.exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<PagedModel<UniversityStatistics>>() {
+        });
+    }
+
+    /**
+     * Method for fetching the number of UniModules, their total and their average ECTS per semester
+     *
+     * @return ResponseEntity containing the statistics, ordered by semester
+     */
+    public ResponseEntity<CollectionModel<SemesterStatistics>> getSemesterStatistics() {
+        return restTemplate.exchange(URI.create(STATISTICS_URL + "semesters"), HttpMethod.GET, null,
+                new ParameterizedTypeReference<CollectionModel<SemesterStatistics>>() {
+                });
+    }
+
+    /**
+     * Method for fetching the number of PartnerUniversities and UniModules and the average ECTS per country
+     *
+     * @return ResponseEntity containing the statistics, ordered by country
+     */
+    public ResponseEntity<CollectionModel<CountryStatistics>> getCountryStatistics() {
+        return restTemplate.exchange(URI.create(STATISTICS_URL + "countries"), HttpMethod.GET, null,
+                new ParameterizedTypeReference<CollectionModel<CountryStatistics>>() {
+                });
     }
 
     /**
@@ -122,5 +242,43 @@ public class UniModuleClient {
     public void resetDatabase() {
         String resetUrl = "http://localhost:8080/api/v1/reset-database";
         restTemplate.postForEntity(resetUrl, null, Void.class);
+        if (responseCache != null) {
+            responseCache.invalidateAll();
+        }
+    }
+
+    //sends GET requests through the response cache, if there is one
+    private <T> ResponseEntity<T> get(URI uri, ParameterizedTypeReference<T> type) {
+        Function<HttpHeaders, ResponseEntity<T>> exchange = headers -> {
+            accept(headers);
+            return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), type);
+        };
+
+        return responseCache == null ? exchange.apply(new HttpHeaders()) : responseCache.get(uri, exchange);
+    }
+
+    //the backend answers an empty listing with 404, which ends a stream also when the RestTemplate throws on error responses
+    private <T> ResponseEntity<CollectionModel<T>> getPage(URI uri, ParameterizedTypeReference<CollectionModel<T>> type) {
+        try {
+            return get(uri, type);
+        } catch (HttpClientErrorException.NotFound e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    //asks for the format of the client, otherwise the backend answers with JSON
+    private void accept(HttpHeaders headers) {
+        if (format != null) {
+            headers.setAccept(List.of(format));
+        }
+    }
+
+    //a write changes the UniModules and the version of their PartnerUniversity, and with them every listing of
+    //PartnerUniversities embedding its UniModules, so the PartnerUniversity and all listings are revalidated afterwards
+    private void invalidateCache(Long partnerUniversityId) {
+        if (responseCache != null) {
+            responseCache.invalidate(BASE_URL + partnerUniversityId);
+            responseCache.invalidateListings(BASE_URL.substring(0, BASE_URL.length() - 1));
+        }
     }
 }
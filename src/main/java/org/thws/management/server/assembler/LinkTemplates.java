@@ -0,0 +1,114 @@
+package org.thws.management.server.assembler;
+
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.thws.management.server.controller.PartnerUniversityController;
+import org.thws.management.server.controller.UniModuleController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prebuilt URI templates for the links that are created for every single PartnerUniversity and UniModule
+ * Produces the same links as linkTo(methodOn(...)), but without a proxy invocation and reflective URI build per link
+ */
+@Component
+public class LinkTemplates {
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplates.class.getName() + ".BASE_URI";
+
+    private final Template partnerUniversity = new Template(PartnerUniversityController.PATH + "/{partnerUniversityId}");
+    private final Template uniModule = new Template(UniModuleController.PATH + "/{uniModuleId}");
+    private final Template uniModules = new Template(UniModuleController.PATH
+            + "?page=" + UniModuleController.DEFAULT_PAGE
+            + "&size=" + UniModuleController.DEFAULT_SIZE
+            + "&sort=" + UniModuleController.DEFAULT_SORT);
+
+    /**
+     * Builds the link to one specific PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @return Link without relation, to be set by the caller
+     */
+    public Link partnerUniversity(Long partnerUniversityId) {
+        return Link.of(partnerUniversity.expand(baseUri(), partnerUniversityId));
+    }
+
+    /**
+     * Builds the link to one specific UniModule
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity the UniModule belongs to
+     * @param uniModuleId         ID of the UniModule
+     * @return Link without relation, to be set by the caller
+     */
+    public Link uniModule(Long partnerUniversityId, Long uniModuleId) {
+        return Link.of(uniModule.expand(baseUri(), partnerUniversityId, uniModuleId));
+    }
+
+    /**
+     * Builds the link to the first page of UniModules of a PartnerUniversity, with default paging and sorting
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @return Link without relation, to be set by the caller
+     */
+    public Link uniModules(Long partnerUniversityId) {
+        return Link.of(uniModules.expand(baseUri(), partnerUniversityId));
+    }
+
+    /**
+     * Resolves the base URI of the current request once, and remembers it for all further links of that request
+     *
+     * @return Scheme, host, port and context path of the current request
+     */
+    private String baseUri() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+        }
+
+        String baseUri = (String) requestAttributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+            requestAttributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return baseUri;
+    }
+
+    /**
+     * URI template that is split into its literal parts once, so expanding it is plain string concatenation
+     */
+    private static class Template {
+        private static final Pattern VARIABLE = Pattern.compile("\\{[^}]+}");
+
+        private final String[] literals;
+
+        Template(String template) {
+            List<String> parts = new ArrayList<>();
+            Matcher matcher = VARIABLE.matcher(template);
+            int start = 0;
+
+            while (matcher.find()) {
+                parts.add(template.substring(start, matcher.start()));
+                start = matcher.end();
+            }
+            parts.add(template.substring(start));
+
+            this.literals = parts.toArray(new String[0]);
+        }
+
+        String expand(String baseUri, Object... values) {
+            StringBuilder builder = new StringBuilder(baseUri).append(literals[0]);
+
+            for (int i = 1; i < literals.length; i++) {
+                builder.append(values[i - 1]).append(literals[i]);
+            }
+
+            return builder.toString();
+        }
+    }
+}
@@ -7,14 +7,13 @@ import org.springframework.stereotype.Component;
 import org.thws.management.server.controller.PartnerUniversityController;
 import org.thws.management.server.model.PartnerUniversity;
 import org.thws.management.server.model.PartnerUniversityModel;
+import org.thws.management.server.model.UniModule;
 import org.thws.management.server.model.UniModuleModel;
+import org.thws.management.server.projection.FieldSet;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 /**
  * Assembler class, to convert PartnerUniversities into their model representation, named PartnerUniversityModel
  * Creates related links for each PartnerUniversity
@@ -23,16 +22,19 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class PartnerUniversityModelAssembler extends RepresentationModelAssemblerSupport<PartnerUniversity, PartnerUniversityModel> {
 
     private final UniModuleModelAssembler uniModuleModelAssembler;
+    private final LinkTemplates linkTemplates;
 
     /**
      * Constructs a new PartnerUniversityModelAssembler
      *
      * @param uniModuleModelAssembler The assembler for PartnerUniversity entities
+     * @param linkTemplates           Prebuilt templates for the self links
      */
     @Autowired
-    public PartnerUniversityModelAssembler(UniModuleModelAssembler uniModuleModelAssembler) {
+    public PartnerUniversityModelAssembler(UniModuleModelAssembler uniModuleModelAssembler, LinkTemplates linkTemplates) {
         super(PartnerUniversityController.class, PartnerUniversityModel.class);
         this.uniModuleModelAssembler = uniModuleModelAssembler;
+        this.linkTemplates = linkTemplates;
     }
 
     /**
@@ -44,9 +46,36 @@ public class PartnerUniversityModelAssembler extends RepresentationModelAssemble
     @Override
     @NonNull
     public PartnerUniversityModel toModel(@NonNull PartnerUniversity partnerUniversity) {
-        PartnerUniversityModel partnerUniversityModel = convertToModel(partnerUniversity);
+        return toModel(partnerUniversity, FieldSet.all());
+    }
+
+    /**
+     * Converts given PartnerUniversity into a model representation having only the requested fields set,
+     * embedding the UniModules it has been loaded with if they are requested
+     *
+     * @param partnerUniversity PartnerUniversity to convert
+     * @param fields            Fields requested by the client, the others are left out of the response
+     * @return Converted model with self link and link to its UniModules
+     */
+    public PartnerUniversityModel toModel(PartnerUniversity partnerUniversity, FieldSet fields) {
+        return toModel(partnerUniversity, fields,
+                fields.includes(FieldSet.UNI_MODULE_MODELS) ? partnerUniversity.getModules() : null);
+    }
 
-        partnerUniversityModel.add(linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversity(partnerUniversityModel.getId())).withSelfRel());
+    /**
+     * Converts given PartnerUniversity into a model representation having only the requested fields set,
+     * embedding the given UniModules
+     *
+     * @param partnerUniversity PartnerUniversity to convert
+     * @param fields            Fields requested by the client, the others are left out of the response
+     * @param uniModules        UniModules to embed, which may be only the first ones, null to embed none
+     * @return Converted model with self link and link to its UniModules
+     */
+    public PartnerUniversityModel toModel(PartnerUniversity partnerUniversity, FieldSet fields, List<UniModule> uniModules) {
+        PartnerUniversityModel partnerUniversityModel = convertToModel(partnerUniversity, fields, uniModules);
+
+        partnerUniversityModel.add(linkTemplates.partnerUniversity(partnerUniversity.getId()).withSelfRel());
+        partnerUniversityModel.add(linkTemplates.uniModules(partnerUniversity.getId()).withRel("modules").withType("GET"));
 
         return partnerUniversityModel;
     }
@@ -55,24 +84,46 @@ public class PartnerUniversityModelAssembler extends RepresentationModelAssemble
      * Converts given PartnerUniversity into a model representation
      *
      * @param partnerUniversity PartnerUniversity to be converted
+     * @param fields            Fields to set
+     * @param uniModules        UniModules to embed, null to embed none
      * @return The converted model with set properties
      */
-    private PartnerUniversityModel convertToModel(PartnerUniversity partnerUniversity) {
+    private PartnerUniversityModel convertToModel(PartnerUniversity partnerUniversity, FieldSet fields, List<UniModule> uniModules) {
         PartnerUniversityModel partnerUniversityModel = instantiateModel(partnerUniversity);
 
-        partnerUniversityModel.setId(partnerUniversity.getId());
-        partnerUniversityModel.setName(partnerUniversity.getName());
-        partnerUniversityModel.setCountry(partnerUniversity.getCountry());
-        partnerUniversityModel.setDepartmentName(partnerUniversity.getDepartmentName());
-        partnerUniversityModel.setDepartmentUrl(partnerUniversity.getDepartmentUrl());
-        partnerUniversityModel.setContactPerson(partnerUniversity.getContactPerson());
-        partnerUniversityModel.setMaxStudentsIn(partnerUniversity.getMaxStudentsIn());
-        partnerUniversityModel.setMaxStudentsOut(partnerUniversity.getMaxStudentsOut());
-        partnerUniversityModel.setNextSpringSemester(partnerUniversity.getNextSpringSemester());
-        partnerUniversityModel.setNextSummerSemester(partnerUniversity.getNextSummerSemester());
+        if (fields.includes("id")) {
+            partnerUniversityModel.setId(partnerUniversity.getId());
+        }
+        if (fields.includes("name")) {
+            partnerUniversityModel.setName(partnerUniversity.getName());
+        }
+        if (fields.includes("country")) {
+            partnerUniversityModel.setCountry(partnerUniversity.getCountry());
+        }
+        if (fields.includes("departmentName")) {
+            partnerUniversityModel.setDepartmentName(partnerUniversity.getDepartmentName());
+        }
+        if (fields.includes("departmentUrl")) {
+            partnerUniversityModel.setDepartmentUrl(partnerUniversity.getDepartmentUrl());
+        }
+        if (fields.includes("contactPerson")) {
+            partnerUniversityModel.setContactPerson(partnerUniversity.getContactPerson());
+        }
+        if (fields.includes("maxStudentsIn")) {
+            partnerUniversityModel.setMaxStudentsIn(partnerUniversity.getMaxStudentsIn());
+        }
+        if (fields.includes("maxStudentsOut")) {
+            partnerUniversityModel.setMaxStudentsOut(partnerUniversity.getMaxStudentsOut());
+        }
+        if (fields.includes("nextSpringSemester")) {
+            partnerUniversityModel.setNextSpringSemester(partnerUniversity.getNextSpringSemester());
+        }
+        if (fields.includes("nextSummerSemester")) {
+            partnerUniversityModel.setNextSummerSemester(partnerUniversity.getNextSummerSemester());
+        }
 
-        if (partnerUniversity.getModules() != null) {
-            List<UniModuleModel> uniModuleModels = partnerUniversity.getModules().stream()
+        if (uniModules != null) {
+            List<UniModuleModel> uniModuleModels = uniModules.stream()
                     .map(uniModuleModelAssembler::toModel)
                     .collect(Collectors.toList());
             partnerUniversityModel.setUniModuleModels(uniModuleModels);
@@ -80,4 +131,4 @@ public class PartnerUniversityModelAssembler extends RepresentationModelAssemble
 
         return partnerUniversityModel;
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,13 @@
 package org.thws.management.server.assembler;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.thws.management.server.controller.UniModuleController;
 import org.thws.management.server.model.UniModule;
 import org.thws.management.server.model.UniModuleModel;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import org.thws.management.server.projection.FieldSet;
 
 /**
  * Assembler class, to convert UniModules into their model representation, named UniModuleModel
@@ -16,11 +15,17 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class UniModuleModelAssembler extends RepresentationModelAssemblerSupport<UniModule, UniModuleModel> {
 
+    private final LinkTemplates linkTemplates;
+
     /**
      * Constructs the assembler
+     *
+     * @param linkTemplates Prebuilt templates for the self links
      */
-    public UniModuleModelAssembler() {
+    @Autowired
+    public UniModuleModelAssembler(LinkTemplates linkTemplates) {
         super(UniModuleController.class, UniModuleModel.class);
+        this.linkTemplates = linkTemplates;
     }
 
     /**
@@ -32,14 +37,33 @@ public class UniModuleModelAssembler extends RepresentationModelAssemblerSupport
     @Override
     @NonNull
     public UniModuleModel toModel(@NonNull UniModule uniModule) {
+        return toModel(uniModule, FieldSet.all());
+    }
+
+    /**
+     * Converts UniModule to UniModuleModel having only the requested fields set
+     *
+     * @param uniModule The UniModule to convert
+     * @param fields    Fields requested by the client, the others are left out of the response
+     * @return Representation of UniModule as UniModuleModel with self link
+     */
+    public UniModuleModel toModel(UniModule uniModule, FieldSet fields) {
         UniModuleModel model = instantiateModel(uniModule);
 
-        model.setId(uniModule.getId());
-        model.setName(uniModule.getName());
-        model.setSemester(uniModule.getSemester());
-        model.setEcts(uniModule.getEcts());
+        if (fields.includes("id")) {
+            model.setId(uniModule.getId());
+        }
+        if (fields.includes("name")) {
+            model.setName(uniModule.getName());
+        }
+        if (fields.includes("semester")) {
+            model.setSemester(uniModule.getSemester());
+        }
+        if (fields.includes("ects")) {
+            model.setEcts(uniModule.getEcts());
+        }
 
-        model.add(linkTo(methodOn(UniModuleController.class).getUniModule(uniModule.getPartnerUniversity().getId(), uniModule.getId())).withSelfRel().withType("GET"));
+        model.add(linkTemplates.uniModule(uniModule.getPartnerUniversity().getId(), uniModule.getId()).withSelfRel().withType("GET"));
 
         return model;
     }
@@ -0,0 +1,131 @@
+package org.thws.management.server.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Filter making server.compression.min-response-size apply to the responses written by the message converters
+ * The converters flush a response once they have written it, which commits it without a Content-Length,
+ * and Tomcat compresses every response it does not know the length of, however small it is
+ * Flushes of responses in a compressible format are therefore held back, so a response that fits the response buffer
+ * is committed with its length once it is complete, and a larger one as soon as the buffer is full
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+    private final List<MediaType> compressibleTypes;
+
+    /**
+     * Constructs a new CompressionThresholdFilter
+     *
+     * @param serverProperties Properties containing the compression settings of the server
+     */
+    @Autowired
+    public CompressionThresholdFilter(ServerProperties serverProperties) {
+        Compression compression = serverProperties.getCompression();
+        this.compressibleTypes = compression.getEnabled()
+                ? MediaType.parseMediaTypes(List.of(compression.getMimeTypes()))
+                : List.of();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return compressibleTypes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new HeldBackFlushResponse(response));
+    }
+
+    //streamed formats, as the NDJSON and CSV exports, are flushed as before
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return compressibleTypes.stream().anyMatch(compressibleType -> compressibleType.isCompatibleWith(mediaType));
+    }
+
+    private class HeldBackFlushResponse extends HttpServletResponseWrapper {
+        private ServletOutputStream outputStream;
+
+        private HeldBackFlushResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeldBackFlushOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!isCompressible(getContentType())) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private class HeldBackFlushOutputStream extends ServletOutputStream {
+        private final ServletOutputStream outputStream;
+        private final HttpServletResponse response;
+
+        private HeldBackFlushOutputStream(ServletOutputStream outputStream, HttpServletResponse response) {
+            this.outputStream = outputStream;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            outputStream.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            outputStream.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!isCompressible(response.getContentType())) {
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return outputStream.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            outputStream.setWriteListener(writeListener);
+        }
+    }
+}
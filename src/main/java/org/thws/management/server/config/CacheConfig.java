@@ -0,0 +1,37 @@
+package org.thws.management.server.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Configuration;
+import org.thws.management.server.session.SessionCacheResolver;
+
+/**
+ * Configuration class enabling the read caches in front of the services
+ * Size and time to live of the caches are set by spring.cache.caffeine.spec in application.properties
+ * Entries are kept apart per isolated session, as every session has data of its own,
+ * and are only put and evicted once the transaction of the caller has committed
+ * The caches hold immutable snapshots filled by the SnapshotCacheService, never the entities read by JPA
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig implements CachingConfigurer {
+    public static final String PARTNER_UNIVERSITIES = "partnerUniversities";
+    public static final String UNI_MODULES = "uniModules";
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    //constructor, the cache manager is only looked up once the first cache is used
+    @Autowired
+    public CacheConfig(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public CacheResolver cacheResolver() {
+        return new SessionCacheResolver(cacheManager.getObject());
+    }
+}
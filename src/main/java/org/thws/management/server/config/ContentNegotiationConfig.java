@@ -0,0 +1,40 @@
+package org.thws.management.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuration class adding CBOR, a binary encoding of the JSON data model, as a format of the API
+ * A request chooses it with Accept: application/cbor, the links are rendered as HAL in both formats
+ * Spring registers a CBOR converter of its own as soon as jackson-dataformat-cbor is present, which does not render HAL.
+ * The converter bean takes its place, after the JSON converters, so every request that does not ask for CBOR is still
+ * answered with JSON, and RestTemplates built by the RestTemplateBuilder decode CBOR the same way
+ * Compression of the responses is set by server.compression.* in application.properties
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * Creates the converter writing and reading CBOR
+     *
+     * @param objectMapperBuilder       Builder configured by the spring.jackson.* properties, as for JSON
+     * @param halMediaTypeConfiguration Configuration rendering the representation models as HAL,
+     *                                  only present in web applications, the JSON converter does not render HAL without it either
+     * @return The converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder,
+            ObjectProvider<HalMediaTypeConfiguration> halMediaTypeConfiguration) {
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        halMediaTypeConfiguration.ifAvailable(configuration -> configuration.configureObjectMapper(cborMapper));
+
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+}
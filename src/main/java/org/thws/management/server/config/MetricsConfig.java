@@ -0,0 +1,22 @@
+package org.thws.management.server.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the metrics exposed at /actuator/prometheus
+ * Request handlers, repository queries, the connection pool and the caches are measured by Spring Boot itself,
+ * the service methods are measured by the aspect below, as their classes are annotated with @Timed
+ * The p50, p95 and p99 percentiles of all timers are set in application.properties
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_INVOCATIONS = "service.invocations";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -49,6 +49,7 @@ public class PartnerUniversityConfig {
 
     /**
      * CommandLineRunner initializes standard PartnerUniversity data in the database
+     * Does nothing if the database already holds PartnerUniversities, as a persistent database does after a restart
      *
      * @param partnerUniversityRepository Repository of the PartnerUniversities
      * @return Initialized PartnerUniversity data
@@ -57,6 +58,10 @@ public class PartnerUniversityConfig {
     @Order(1)
     @Transactional
     public CommandLineRunner commandLineRunner(PartnerUniversityRepository partnerUniversityRepository) {
-        return args -> partnerUniversityRepository.saveAll(List.of(thws(), otherUniversity()));
+        return args -> {
+            if (partnerUniversityRepository.count() == 0) {
+                partnerUniversityRepository.saveAll(List.of(thws(), otherUniversity()));
+            }
+        };
     }
 }
@@ -0,0 +1,33 @@
+package org.thws.management.server.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thws.management.server.session.SessionSchemaDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for the isolated sessions
+ * Wraps the pooled DataSource, so every connection taken during a request works in the schema of its session
+ * Only active with management.sessions.enabled=true
+ */
+@Configuration
+@ConditionalOnProperty(name = "management.sessions.enabled", havingValue = "true")
+public class SessionConfig {
+
+    @Bean
+    public static BeanPostProcessor sessionSchemaDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SessionSchemaDataSource)) {
+                    return new SessionSchemaDataSource(dataSource);
+                }
+
+                return bean;
+            }
+        };
+    }
+}
@@ -20,6 +20,7 @@ public class UniModuleConfig {
 
     /**
      * CommandLineRunner initializes standard UniModule data in the database
+     * Does nothing if the database already holds UniModules, as a persistent database does after a restart
      *
      * @param partnerUniversityRepository Repository of the PartnerUniversities
      * @param uniModuleRepository Repository of the UniModules
@@ -33,7 +34,7 @@ public class UniModuleConfig {
             PartnerUniversity thws = partnerUniversityRepository.findById(1L).orElse(null);
             PartnerUniversity otherUniversity = partnerUniversityRepository.findById(2L).orElse(null);
 
-            if (thws != null && otherUniversity != null) {
+            if (thws != null && otherUniversity != null && uniModuleRepository.count() == 0) {
                 UniModule quantumComputing = new UniModule(
                         "Module 1",
                         1,
@@ -0,0 +1,93 @@
+package org.thws.management.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.assembler.LinkTemplates;
+import org.thws.management.server.model.Suggestion;
+import org.thws.management.server.search.NameTrie;
+import org.thws.management.server.search.SearchIndex;
+import org.thws.management.server.service.AutocompleteService;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Controller class completing the names of PartnerUniversities and UniModules while they are typed
+ */
+@RestController
+@RequestMapping(path = AutocompleteController.PATH)
+public class AutocompleteController {
+    public static final String PATH = "/api/v1/autocomplete";
+    private static final int MAX_LIMIT = 50;
+
+    private final AutocompleteService autocompleteService;
+    private final LinkTemplates linkTemplates;
+
+    /**
+     * Constructs a new AutocompleteController
+     *
+     * @param autocompleteService Service completing the prefixes
+     * @param linkTemplates       Prebuilt templates for links to the completed PartnerUniversities and UniModules
+     */
+    @Autowired
+    public AutocompleteController(AutocompleteService autocompleteService, LinkTemplates linkTemplates) {
+        this.autocompleteService = autocompleteService;
+        this.linkTemplates = linkTemplates;
+    }
+
+    /**
+     * Completes a typed prefix to the names of PartnerUniversities and UniModules having a word that starts with it,
+     * and links every name to its PartnerUniversity or UniModule
+     *
+     * @param prefix Typed beginning of a word, case is ignored
+     * @param limit  Maximum number of names to return, default is 10, at most 50
+     * @return Names in alphabetical order of the completed words with status code 200
+     * Status code 400 if the prefix is blank or the limit is invalid, status code 404 if nothing matches
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CollectionModel<Suggestion>> complete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (prefix.isBlank() || limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Prefix must not be blank and limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<NameTrie.Entry> entries = autocompleteService.complete(prefix, limit);
+
+        if (entries.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<Suggestion> suggestions = entries.stream()
+                .map(entry -> {
+                    Suggestion suggestion = new Suggestion(entry.getType(), entry.getId(),
+                            entry.getPartnerUniversityId(), entry.getName());
+                    Link selfLink = SearchIndex.TYPE_UNI_MODULE.equals(entry.getType())
+                            ? linkTemplates.uniModule(entry.getPartnerUniversityId(), entry.getId())
+                            : linkTemplates.partnerUniversity(entry.getId());
+                    return suggestion.add(selfLink.withSelfRel().withType("GET"));
+                })
+                .toList();
+
+        CollectionModel<Suggestion> collectionModel = CollectionModel.of(suggestions);
+
+        Link selfLink = linkTo(methodOn(AutocompleteController.class).complete(prefix, limit))
+                .withSelfRel().withType("GET");
+        collectionModel.add(selfLink);
+
+        return ResponseEntity.ok(collectionModel);
+    }
+}
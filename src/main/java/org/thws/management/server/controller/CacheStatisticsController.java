@@ -0,0 +1,36 @@
+package org.thws.management.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.thws.management.server.service.CacheStatisticsService;
+
+import java.util.Map;
+
+/**
+ * Controller class for inspecting the read caches
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    //constructor
+    @Autowired
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    /**
+     * Method to read hit, miss and eviction counts of every cache, executed by going to the URL /api/v1/cache-statistics
+     *
+     * @return Statistics per cache name
+     */
+    @GetMapping(path = "/cache-statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Map<String, Object>> getCacheStatistics() {
+        return cacheStatisticsService.getCacheStatistics();
+    }
+}
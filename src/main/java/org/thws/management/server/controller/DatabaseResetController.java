@@ -25,6 +25,7 @@ public class DatabaseResetController {
 
     /**
      * Method to reset the database, executed by going to the URL /api/v1/reset-database
+     * With the X-Session-Id header, only the data of that session is reset
      *
      * @throws Exception when something goes wrong
      */
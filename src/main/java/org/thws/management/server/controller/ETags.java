@@ -0,0 +1,89 @@
+package org.thws.management.server.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Builds and compares the entity tags used for conditional requests
+ * Single resources get strong tags made of their version, listings get weak tags over the IDs and versions of their content,
+ * both followed by the suffix of the format they are represented in
+ */
+final class ETags {
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong entity tag of a single resource
+     *
+     * @param version Version of the resource
+     * @param format  Format the resource is represented in
+     * @return Quoted entity tag
+     */
+    static String of(Long version, ResponseFormat format) {
+        return "\"" + version + format.suffix() + "\"";
+    }
+
+    /**
+     * Builds the weak entity tag of a listing, which changes as soon as any listed resource or the paging changes
+     *
+     * @param slice   Slice or page of resources to be listed
+     * @param id      Function returning the ID of a resource
+     * @param version Function returning the version of a resource
+     * @param format  Format the listing is represented in
+     * @param <T>     Type of the listed resources
+     * @return Weak, quoted entity tag
+     */
+    static <T> String of(Slice<T> slice, Function<T, Long> id, Function<T, Long> version, ResponseFormat format) {
+        long hash = 31L * slice.getNumber() + slice.getSize();
+        hash = 31L * hash + (slice.hasNext() ? 1 : 0);
+
+        if (slice instanceof Page<T> page) {
+            hash = 31L * hash + page.getTotalElements();
+        }
+
+        for (T resource : slice) {
+            hash = 31L * hash + id.apply(resource);
+            hash = 31L * hash + version.apply(resource);
+        }
+
+        return "W/\"" + Long.toHexString(hash) + format.suffix() + "\"";
+    }
+
+    /**
+     * Compares the If-Match header of a request against the current version of a resource
+     * Uses the strong comparison, so weak entity tags never match, the tag of the version in any format matches
+     *
+     * @param ifMatch Value of the If-Match header, null if the request is unconditional
+     * @param version Current version of the resource
+     * @return true if the request may be executed, otherwise false
+     */
+    static boolean matches(String ifMatch, Long version) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+
+        for (String eTag : ifMatch.split(",")) {
+            for (ResponseFormat format : ResponseFormat.values()) {
+                if (eTag.trim().equals(of(version, format))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Turns the If-Match header of a request into the condition the service checks right after loading the resource,
+     * so the resource does not have to be loaded by the controller beforehand
+     *
+     * @param ifMatch Value of the If-Match header, null if the request is unconditional
+     * @return Condition the current version must fulfil, null if the request is unconditional
+     */
+    static Predicate<Long> precondition(String ifMatch) {
+        return ifMatch == null ? null : version -> matches(ifMatch, version);
+    }
+}
@@ -0,0 +1,120 @@
+package org.thws.management.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.assembler.LinkTemplates;
+import org.thws.management.server.model.ExchangeDirection;
+import org.thws.management.server.model.ExchangeSlots;
+import org.thws.management.server.service.ExchangeSlotService;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Controller class for reserving and releasing the exchange slots of a PartnerUniversity
+ */
+@RestController
+@RequestMapping(path = ExchangeSlotController.PATH)
+public class ExchangeSlotController {
+    public static final String PATH = PartnerUniversityController.PATH + "/{partnerUniversityId}/slots";
+
+    private final ExchangeSlotService exchangeSlotService;
+    private final LinkTemplates linkTemplates;
+
+    /**
+     * Constructs a new ExchangeSlotController
+     *
+     * @param exchangeSlotService Service reserving and releasing the slots
+     * @param linkTemplates       Prebuilt templates for links to single PartnerUniversities
+     */
+    @Autowired
+    public ExchangeSlotController(ExchangeSlotService exchangeSlotService, LinkTemplates linkTemplates) {
+        this.exchangeSlotService = exchangeSlotService;
+        this.linkTemplates = linkTemplates;
+    }
+
+    /**
+     * Retrieves how many exchange slots one specific PartnerUniversity has and how many of them are reserved
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @return ResponseEntity containing the exchange slots with status code 200
+     * Status code 404 if it doesn't find requested PartnerUniversity
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExchangeSlots> getExchangeSlots(@PathVariable("partnerUniversityId") Long partnerUniversityId) {
+        ExchangeSlots exchangeSlots = exchangeSlotService.getExchangeSlots(partnerUniversityId);
+        if (exchangeSlots == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(withLinks(exchangeSlots));
+    }
+
+    /**
+     * Reserves one exchange slot of one specific PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param direction           "incoming" for a student coming from it, "outgoing" for a student going to it
+     * @return ResponseEntity containing the exchange slots after the reservation with status code 200
+     * Status code 400 if the direction is invalid, status code 404 if it doesn't find requested PartnerUniversity,
+     * status code 409 if all slots of the direction are reserved
+     */
+    @PostMapping(path = "{direction}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExchangeSlots> reserveSlot(@PathVariable("partnerUniversityId") Long partnerUniversityId,
+                                                     @PathVariable("direction") String direction) {
+        ExchangeSlots exchangeSlots = exchangeSlotService.reserveSlot(partnerUniversityId, directionOf(direction));
+
+        return ResponseEntity.ok(withLinks(exchangeSlots));
+    }
+
+    /**
+     * Releases one reserved exchange slot of one specific PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param direction           "incoming" for a student coming from it, "outgoing" for a student going to it
+     * @return ResponseEntity containing the exchange slots after the release with status code 200
+     * Status code 400 if the direction is invalid, status code 404 if it doesn't find requested PartnerUniversity,
+     * status code 409 if no slot of the direction is reserved
+     */
+    @DeleteMapping(path = "{direction}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExchangeSlots> releaseSlot(@PathVariable("partnerUniversityId") Long partnerUniversityId,
+                                                     @PathVariable("direction") String direction) {
+        ExchangeSlots exchangeSlots = exchangeSlotService.releaseSlot(partnerUniversityId, directionOf(direction));
+
+        return ResponseEntity.ok(withLinks(exchangeSlots));
+    }
+
+    private static ExchangeDirection directionOf(String direction) {
+        return ExchangeDirection.of(direction).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Direction must be incoming or outgoing"));
+    }
+
+    private ExchangeSlots withLinks(ExchangeSlots exchangeSlots) {
+        Long partnerUniversityId = exchangeSlots.getPartnerUniversityId();
+
+        exchangeSlots.add(linkTo(methodOn(ExchangeSlotController.class).getExchangeSlots(partnerUniversityId))
+                .withSelfRel().withType("GET"));
+
+        for (ExchangeDirection direction : ExchangeDirection.values()) {
+            String segment = direction.toPathSegment();
+            exchangeSlots.add(linkTo(methodOn(ExchangeSlotController.class).reserveSlot(partnerUniversityId, segment))
+                    .withRel("reserve " + segment).withType("POST"));
+            exchangeSlots.add(linkTo(methodOn(ExchangeSlotController.class).releaseSlot(partnerUniversityId, segment))
+                    .withRel("release " + segment).withType("DELETE"));
+        }
+
+        exchangeSlots.add(linkTemplates.partnerUniversity(partnerUniversityId)
+                .withRel("partnerUniversity").withType("GET"));
+
+        return exchangeSlots;
+    }
+}
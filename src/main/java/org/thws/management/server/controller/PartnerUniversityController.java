@@ -4,19 +4,35 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.thws.management.server.assembler.LinkTemplates;
 import org.thws.management.server.assembler.PartnerUniversityModelAssembler;
 import org.thws.management.server.model.PartnerUniversity;
 import org.thws.management.server.model.PartnerUniversityModel;
+import org.thws.management.server.model.UniModule;
+import org.thws.management.server.pagination.KeysetCursor;
+import org.thws.management.server.projection.FieldSet;
+import org.thws.management.server.repository.PartnerUniversityFilter;
 import org.thws.management.server.service.PartnerUniversityService;
+import org.thws.management.server.service.UniModuleService;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -25,33 +41,49 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  * Controller class to handle HTTP Requests regarding PartnerUniversities
  */
 @RestController
-@RequestMapping(path = "api/v1/partner-universities")
+@RequestMapping(path = PartnerUniversityController.PATH)
 public class PartnerUniversityController {
+    public static final String PATH = "/api/v1/partner-universities";
+
+    public static final String EMBED_MODULES = "modules";
+
+    private static final int MAX_SLICE_SIZE = 100;
 
     private final PartnerUniversityService partnerUniversityService;
+    private final UniModuleService uniModuleService;
     private final PartnerUniversityModelAssembler partnerUniversityModelAssembler;
+    private final LinkTemplates linkTemplates;
 
     /**
      * Constructs a new PartnerUniversityController
      *
      * @param partnerUniversityService        Service used to handle PartnerUniversity operations
+     * @param uniModuleService                Service used to load the UniModules embedded into listings
      * @param partnerUniversityModelAssembler Assembler used to convert PartnerUniversities to their model representations
+     * @param linkTemplates                   Prebuilt templates for links to single PartnerUniversities
      */
     @Autowired
-    public PartnerUniversityController(PartnerUniversityService partnerUniversityService, PartnerUniversityModelAssembler partnerUniversityModelAssembler) {
+    public PartnerUniversityController(PartnerUniversityService partnerUniversityService,
+                                       UniModuleService uniModuleService,
+                                       PartnerUniversityModelAssembler partnerUniversityModelAssembler,
+                                       LinkTemplates linkTemplates) {
         this.partnerUniversityService = partnerUniversityService;
+        this.uniModuleService = uniModuleService;
         this.partnerUniversityModelAssembler = partnerUniversityModelAssembler;
+        this.linkTemplates = linkTemplates;
     }
 
     /**
      * Creates a new PartnerUniversity
      *
      * @param partnerUniversity PartnerUniversity data to be used to create a new PartnerUniversity
+     * @param webRequest        Current request, to tag the response with the format it is written in
      * @return ResponseEntity containing the new PartnerUniversity with status code 201
      * Status code 400 if request body is wrongly formatted
      */
     @PostMapping
-    public ResponseEntity<PartnerUniversityModel> addNewPartnerUniversity(@RequestBody PartnerUniversity partnerUniversity) {
+    public ResponseEntity<PartnerUniversityModel> addNewPartnerUniversity(@RequestBody PartnerUniversity partnerUniversity,
+                                                                          WebRequest webRequest) {
         if (partnerUniversity.getName() == null || partnerUniversity.getName().isEmpty() ||
                 partnerUniversity.getCountry() == null || partnerUniversity.getCountry().isEmpty() ||
                 partnerUniversity.getDepartmentName() == null || partnerUniversity.getDepartmentName().isEmpty() ||
@@ -68,83 +100,108 @@ public class PartnerUniversityController {
         return ResponseEntity
                 .created(linkTo(
                         methodOn(PartnerUniversityController.class)
-                                .getPartnerUniversity(savedPartnerUniversity.getId()))
+                                .getPartnerUniversity(savedPartnerUniversity.getId(), null, null))
                         .toUri())
+                .eTag(ETags.of(savedPartnerUniversity.getVersion(), ResponseFormat.negotiate(webRequest)))
                 .body(partnerUniversityModel);
     }
 
     /**
      * Retrieves one specific PartnerUniversity
+     * Answers a request whose If-None-Match header contains the current ETag without building the model again
      *
      * @param partnerUniversityId ID of PartnerUniversity to retrieve
+     * @param fields              Comma separated fields to return, as "id,name,country", default is all fields
+     * @param webRequest          Current request, to evaluate its conditional headers and Accept header
      * @return ResponseEntity containing model of requested PartnerUniversity with status code 200
-     * Status code 404 if requested PartnerUniversity does not exist
+     * Status code 304 if the PartnerUniversity has not been modified, status code 404 if it does not exist,
+     * status code 400 if a requested field is unknown
      */
     @GetMapping(path = "{partnerUniversityId}")
     public ResponseEntity<PartnerUniversityModel> getPartnerUniversity(
-            @PathVariable("partnerUniversityId") Long partnerUniversityId) {
+            @PathVariable("partnerUniversityId") Long partnerUniversityId,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
-        if (partnerUniversityService.getPartnerUniversityById(partnerUniversityId) == null) {
+        FieldSet fieldSet = FieldSet.parse(fields, FieldSet.PARTNER_UNIVERSITY_FIELDS);
+
+        //the cache holds complete PartnerUniversities, without their UniModules only the requested columns are read
+        PartnerUniversity partnerUniversity = fieldSet.includes(FieldSet.UNI_MODULE_MODELS)
+                ? partnerUniversityService.getPartnerUniversityById(partnerUniversityId)
+                : partnerUniversityService.getPartnerUniversityProjection(partnerUniversityId, fieldSet);
+        if (partnerUniversity == null) {
             return ResponseEntity.notFound().build();
         }
-        PartnerUniversity partnerUniversity = partnerUniversityService.getPartnerUniversityById(partnerUniversityId);
-        PartnerUniversityModel partnerUniversityModel = partnerUniversityModelAssembler.toModel(partnerUniversity);
+
+        String eTag = ETags.of(partnerUniversity.getVersion(), ResponseFormat.negotiate(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        PartnerUniversityModel partnerUniversityModel = partnerUniversityModelAssembler.toModel(partnerUniversity, fieldSet);
 
         HttpHeaders headers = new HttpHeaders();
 
-        Link updateLink = linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversity(partnerUniversityId))
+        Link updateLink = linkTemplates.partnerUniversity(partnerUniversityId)
                 .withSelfRel().withType("PUT");
         headers.add("update", updateLink.getHref());
 
-        Link deleteLink = linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversity(partnerUniversityId))
+        Link deleteLink = linkTemplates.partnerUniversity(partnerUniversityId)
                 .withSelfRel().withType("DELETE");
         headers.add("delete", deleteLink.getHref());
 
-        return ResponseEntity.ok().headers(headers).body(partnerUniversityModel);
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(partnerUniversityModel);
     }
 
     /**
      * Retrieves every PartnerUniversity available and creates related links
-     * If name, country and departmentName are set, it filters the PartnerUniversities accordingly
+     * If any filter criterion is set, it filters the PartnerUniversities accordingly
      *
-     * @param name           Name of PartnerUniversity
-     * @param country        Country of PartnerUniversity
-     * @param departmentName Department name of PartnerUniversity
-     * @param page           Page number to retrieve, default is 0
-     * @param size           Number of PartnerUniversities to show per page, standard is 2 (to make testing easier)
+     * @param filter      Criteria to filter by, bound from query parameters such as name, country, departmentName,
+     *                    namePrefix, maxStudentsInFrom/To and nextSpringSemesterFrom/To or nextSummerSemesterFrom/To
+     * @param page        Page number to retrieve, default is 0
+     * @param size        Number of PartnerUniversities to show per page, standard is 2 (to make testing easier)
+     * @param fields      Comma separated fields to return, as "id,name,country", default is all fields
+     * @param embed       "modules" to embed the UniModules of every PartnerUniversity, default is a link to them only
+     * @param moduleLimit Maximum number of UniModules to embed per PartnerUniversity, default is all of them,
+     *                    only allowed together with embed
+     * @param webRequest  Current request, to evaluate its conditional headers and Accept header
      * @return Page containing PartnerUniversities with status code 200
-     * Status code 404 if it finds nothing
+     * Status code 304 if none of them has been modified, status code 404 if it finds nothing,
+     * status code 400 if a requested field is unknown or the embedding is invalid
      */
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<PagedModel<PartnerUniversityModel>> getPartnerUniversities(
-            @RequestParam(required = false) String name,
-            @RequestParam(required = false) String country,
-            @RequestParam(required = false) String departmentName,
+            PartnerUniversityFilter filter,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "2") int size,
-            @RequestParam(required = false, defaultValue = "asc") String sort) {
+            @RequestParam(required = false, defaultValue = "asc") String sort,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String embed,
+            @RequestParam(required = false) Integer moduleLimit,
+            WebRequest webRequest) {
 
-        Page<PartnerUniversity> partnerUniversities;
+        FieldSet fieldSet = FieldSet.parse(fields, FieldSet.PARTNER_UNIVERSITY_FIELDS);
+        boolean embedModules = embedsModules(embed, moduleLimit, fieldSet);
 
         Sort.Direction sortDirection = sort.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Sort sortObject = Sort.by(sortDirection, "name");
 
         Pageable pageable = PageRequest.of(page, size, sortObject);
 
-        if (name != null || country != null || departmentName != null) {
-            partnerUniversities = partnerUniversityService.getAllPartnerUniversitiesWithFilters(
-                    name, country, departmentName, pageable);
-        } else {
-            partnerUniversities = partnerUniversityService.getAllPartnerUniversities(pageable);
-        }
+        Page<PartnerUniversity> partnerUniversities = partnerUniversityService.getAllPartnerUniversitiesWithFilters(filter, pageable, fieldSet);
 
         if (partnerUniversities.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        List<PartnerUniversityModel> partnerUniversityModels = partnerUniversities.getContent().stream()
-                .map(partnerUniversityModelAssembler::toModel)
-                .toList();
+        String eTag = ETags.of(partnerUniversities, PartnerUniversity::getId, PartnerUniversity::getVersion,
+                ResponseFormat.negotiate(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<PartnerUniversityModel> partnerUniversityModels = toModels(partnerUniversities, fieldSet, embedModules, moduleLimit);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
                 partnerUniversities.getSize(),
@@ -155,84 +212,237 @@ public class PartnerUniversityController {
 
         PagedModel<PartnerUniversityModel> pagedModel = PagedModel.of(partnerUniversityModels, pageMetadata);
 
-        Link selfLink = linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversities(name, country, departmentName, page, size, sort))
+        Link selfLink = withFilter(linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversities(filter, page, size, sort, fields, embed, moduleLimit, null)), filter)
                 .withSelfRel().withType("GET");
         pagedModel.add(selfLink);
 
         HttpHeaders headers = new HttpHeaders();
 
-        Link postLink = linkTo(methodOn(PartnerUniversityController.class).addNewPartnerUniversity(null))
+        Link postLink = linkTo(methodOn(PartnerUniversityController.class).addNewPartnerUniversity(null, null))
                 .withRel("create").withType("POST");
         headers.add("create", postLink.getHref());
 
         if (!sort.equalsIgnoreCase("asc")) {
-            Link selfLinkAsc = linkTo(methodOn(PartnerUniversityController.class)
-                    .getPartnerUniversities(name, country, departmentName, page, size, "asc"))
+            Link selfLinkAsc = withFilter(linkTo(methodOn(PartnerUniversityController.class)
+                    .getPartnerUniversities(filter, page, size, "asc", fields, embed, moduleLimit, null)), filter)
                     .withRel("sort ascending").withType("GET");
             pagedModel.add(selfLinkAsc);
         }
 
         if (!sort.equalsIgnoreCase("desc")) {
-            Link selfLinkDesc = linkTo(methodOn(PartnerUniversityController.class)
-                    .getPartnerUniversities(name, country, departmentName, page, size, "desc"))
+            Link selfLinkDesc = withFilter(linkTo(methodOn(PartnerUniversityController.class)
+                    .getPartnerUniversities(filter, page, size, "desc", fields, embed, moduleLimit, null)), filter)
                     .withRel("sort descending").withType("GET");
             pagedModel.add(selfLinkDesc);
         }
 
         if (partnerUniversities.hasPrevious()) {
-            Link prevLink = linkTo(methodOn(PartnerUniversityController.class)
-                    .getPartnerUniversities(name, country, departmentName, page - 1, size, sort))
+            Link prevLink = withFilter(linkTo(methodOn(PartnerUniversityController.class)
+                    .getPartnerUniversities(filter, page - 1, size, sort, fields, embed, moduleLimit, null)), filter)
                     .withRel("previous").withType("GET");
-            headers.add("previous page", prevLink.getHref());
+            headers.add("previous-page", prevLink.getHref());
         }
 
         if (partnerUniversities.hasNext()) {
-            Link nextLink = linkTo(methodOn(PartnerUniversityController.class)
-                    .getPartnerUniversities(name, country, departmentName, page + 1, size, sort))
+            Link nextLink = withFilter(linkTo(methodOn(PartnerUniversityController.class)
+                    .getPartnerUniversities(filter, page + 1, size, sort, fields, embed, moduleLimit, null)), filter)
+                    .withRel("next").withType("GET");
+            headers.add("next-page", nextLink.getHref());
+        }
+
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(pagedModel);
+    }
+
+    /**
+     * Retrieves PartnerUniversities with keyset pagination, selected by the presence of the after parameter
+     * Every slice costs the same regardless of how deep it is, and no total count is computed
+     *
+     * @param filter      Criteria to filter by, the same as for the paged listing
+     * @param after       Opaque cursor taken from the next page link, empty to start from the beginning
+     * @param size        Number of PartnerUniversities to show per slice, standard is 2 (to make testing easier), at most 100
+     * @param sort        Sorts the PartnerUniversities by name, having ascending as the default value
+     * @param fields      Comma separated fields to return, as "id,name,country", default is all fields
+     * @param embed       "modules" to embed the UniModules of every PartnerUniversity, default is a link to them only
+     * @param moduleLimit Maximum number of UniModules to embed per PartnerUniversity, default is all of them,
+     *                    only allowed together with embed
+     * @param webRequest  Current request, to evaluate its conditional headers and Accept header
+     * @return Slice containing PartnerUniversities with status code 200
+     * Status code 304 if none of them has been modified, status code 404 if it finds nothing,
+     * status code 400 if the size is out of range, the cursor is malformed, a requested field is unknown
+     * or the embedding is invalid
+     */
+    @GetMapping(params = "after", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<SlicedModel<PartnerUniversityModel>> getPartnerUniversitiesAfter(
+            PartnerUniversityFilter filter,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "2") int size,
+            @RequestParam(required = false, defaultValue = "asc") String sort,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String embed,
+            @RequestParam(required = false) Integer moduleLimit,
+            WebRequest webRequest) {
+
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+
+        FieldSet fieldSet = FieldSet.parse(fields, FieldSet.PARTNER_UNIVERSITY_FIELDS);
+        boolean embedModules = embedsModules(embed, moduleLimit, fieldSet);
+
+        Sort.Direction sortDirection = sort.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Slice<PartnerUniversity> partnerUniversities = partnerUniversityService.getPartnerUniversitiesAfter(
+                filter, KeysetCursor.decode(after), size, sortDirection, fieldSet);
+
+        if (partnerUniversities.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String eTag = ETags.of(partnerUniversities, PartnerUniversity::getId, PartnerUniversity::getVersion,
+                ResponseFormat.negotiate(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<PartnerUniversityModel> partnerUniversityModels = toModels(partnerUniversities, fieldSet, embedModules, moduleLimit);
+
+        SlicedModel<PartnerUniversityModel> slicedModel = SlicedModel.of(partnerUniversityModels,
+                new SlicedModel.SliceMetadata(partnerUniversities.getSize(), partnerUniversities.getNumber()));
+
+        Link selfLink = withFilter(linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversitiesAfter(filter, after, size, sort, fields, embed, moduleLimit, null)), filter)
+                .withSelfRel().withType("GET");
+        slicedModel.add(selfLink);
+
+        HttpHeaders headers = new HttpHeaders();
+
+        Link postLink = linkTo(methodOn(PartnerUniversityController.class).addNewPartnerUniversity(null, null))
+                .withRel("create").withType("POST");
+        headers.add("create", postLink.getHref());
+
+        if (partnerUniversities.hasNext()) {
+            PartnerUniversity last = partnerUniversities.getContent().get(partnerUniversities.getNumberOfElements() - 1);
+            String nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+
+            Link nextLink = withFilter(linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversitiesAfter(filter, nextCursor, size, sort, fields, embed, moduleLimit, null)), filter)
                     .withRel("next").withType("GET");
-            headers.add("next page", nextLink.getHref());
+            slicedModel.add(nextLink);
+            headers.add("next-page", nextLink.getHref());
         }
 
-        return ResponseEntity.ok().headers(headers).body(pagedModel);
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(slicedModel);
     }
 
     /**
      * Updates one specific PartnerUniversity
      *
      * @param partnerUniversityId ID of PartnerUniversity to update
+     * @param ifMatch             ETag the PartnerUniversity must still have, null to update it unconditionally
      * @param partnerUniversity   Content to update PartnerUniversity with
+     * @param webRequest          Current request, to tag the response with the format it is written in
      * @return ResponseEntity containing model of updated PartnerUniversity with status code 200
-     * Status code 404 if it doesn't find requested PartnerUniversity
+     * Status code 404 if it doesn't find requested PartnerUniversity,
+     * status code 412 if it has been modified since the client has read it
      */
     @PutMapping(path = "{partnerUniversityId}")
     public ResponseEntity<PartnerUniversityModel> updatePartnerUniversity(
             @PathVariable("partnerUniversityId") Long partnerUniversityId,
-            @RequestBody PartnerUniversity partnerUniversity) {
-        if (partnerUniversityService.getPartnerUniversityById(partnerUniversityId) == null) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody PartnerUniversity partnerUniversity,
+            WebRequest webRequest) {
+        PartnerUniversity updatePartnerUniversity = partnerUniversityService.updatePartnerUniversity(partnerUniversityId,
+                partnerUniversity, ETags.precondition(ifMatch));
+        if (updatePartnerUniversity == null) {
             return ResponseEntity.notFound().build();
         }
 
-        PartnerUniversity updatePartnerUniversity = partnerUniversityService.updatePartnerUniversity(partnerUniversityId, partnerUniversity);
         PartnerUniversityModel partnerUniversityModel = partnerUniversityModelAssembler.toModel(updatePartnerUniversity);
 
-        return ResponseEntity.ok(partnerUniversityModel);
+        return ResponseEntity.ok().eTag(ETags.of(updatePartnerUniversity.getVersion(), ResponseFormat.negotiate(webRequest))).body(partnerUniversityModel);
     }
 
     /**
      * Deletes one specific PartnerUniversity
      *
      * @param partnerUniversityId ID of PartnerUniversity to delete
+     * @param ifMatch             ETag the PartnerUniversity must still have, null to delete it unconditionally
      * @return Status Code 204 upon successful deletion
-     * Status code 404 if it can't find requested PartnerUniversity
+     * Status code 404 if it can't find requested PartnerUniversity,
+     * status code 412 if it has been modified since the client has read it
      */
     @DeleteMapping(path = "{partnerUniversityId}")
-    public ResponseEntity<Void> deletePartnerUniversity(@PathVariable("partnerUniversityId") Long partnerUniversityId) {
-        PartnerUniversity partnerUniversity = partnerUniversityService.getPartnerUniversityById(partnerUniversityId);
-        if (partnerUniversity == null) {
+    public ResponseEntity<Void> deletePartnerUniversity(@PathVariable("partnerUniversityId") Long partnerUniversityId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!partnerUniversityService.deletePartnerUniversity(partnerUniversityId, ETags.precondition(ifMatch))) {
             return ResponseEntity.notFound().build();
         }
 
-        partnerUniversityService.deletePartnerUniversity(partnerUniversityId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Checks the embedding requested for a listing
+     *
+     * @param embed       Requested embedding, null for none
+     * @param moduleLimit Maximum number of UniModules to embed per PartnerUniversity, null for all of them
+     * @param fields      Requested fields, the UniModules are only embedded if they are one of them
+     * @return true if the UniModules are to be embedded
+     * @throws ResponseStatusException When something else than the UniModules is to be embedded,
+     *                                 or the limit is given without embedding the UniModules or is not positive
+     */
+    private static boolean embedsModules(String embed, Integer moduleLimit, FieldSet fields) {
+        if (embed != null && !embed.equals(EMBED_MODULES)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only " + EMBED_MODULES + " can be embedded");
+        }
+        if (moduleLimit != null && embed == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Module limit requires embed=" + EMBED_MODULES);
+        }
+        if (moduleLimit != null && moduleLimit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Module limit must be positive");
+        }
+
+        return embed != null && fields.includes(FieldSet.UNI_MODULE_MODELS);
+    }
+
+    /**
+     * Converts a page or slice of PartnerUniversities into their model representations
+     * Embedded UniModules are loaded for all of them with one single query, instead of university by university
+     *
+     * @param partnerUniversities PartnerUniversities to convert
+     * @param fields              Fields requested by the client
+     * @param embedModules        true to embed the UniModules, false to link to them only
+     * @param moduleLimit         Maximum number of UniModules to embed per PartnerUniversity, null for all of them
+     * @return The converted models
+     */
+    private List<PartnerUniversityModel> toModels(Slice<PartnerUniversity> partnerUniversities, FieldSet fields,
+                                                  boolean embedModules, Integer moduleLimit) {
+        if (!embedModules) {
+            return partnerUniversities.getContent().stream()
+                    .map(partnerUniversity -> partnerUniversityModelAssembler.toModel(partnerUniversity, fields, null))
+                    .toList();
+        }
+
+        Map<Long, List<UniModule>> uniModules = uniModuleService.getUniModulesOfPartnerUniversities(
+                partnerUniversities.getContent().stream().map(PartnerUniversity::getId).toList(), moduleLimit);
+
+        return partnerUniversities.getContent().stream()
+                .map(partnerUniversity -> partnerUniversityModelAssembler.toModel(partnerUniversity, fields,
+                        uniModules.getOrDefault(partnerUniversity.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Appends the criteria of a filter to a link pointing to a listing, so following the link keeps the filter
+     *
+     * @param linkBuilder Builder of the link to the listing
+     * @param filter      Criteria to append as query parameters
+     * @return Link to the filtered listing
+     */
+    private static Link withFilter(WebMvcLinkBuilder linkBuilder, PartnerUniversityFilter filter) {
+        UriComponentsBuilder uriComponentsBuilder = linkBuilder.toUriComponentsBuilder();
+
+        filter.toQueryParams().forEach((key, values) -> values.forEach(value ->
+                uriComponentsBuilder.queryParam(key, UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8))));
+
+        return Link.of(uriComponentsBuilder.build(true).toUriString());
+    }
 }
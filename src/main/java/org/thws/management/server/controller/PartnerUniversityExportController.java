@@ -0,0 +1,74 @@
+package org.thws.management.server.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.thws.management.server.export.CsvExportWriter;
+import org.thws.management.server.export.ExportWriter;
+import org.thws.management.server.export.NdjsonExportWriter;
+import org.thws.management.server.service.PartnerUniversityExportService;
+
+import java.io.IOException;
+
+/**
+ * Controller class to export every PartnerUniversity with its UniModules at once
+ * The export is written to the response while it is read from the database, instead of building it in memory first
+ */
+@RestController
+@RequestMapping(path = PartnerUniversityExportController.PATH)
+public class PartnerUniversityExportController {
+    public static final String PATH = PartnerUniversityController.PATH + "/export";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final PartnerUniversityExportService partnerUniversityExportService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new PartnerUniversityExportController
+     *
+     * @param partnerUniversityExportService Service used to read the PartnerUniversities to export
+     * @param objectMapper                   Mapper used to create the JSON generator of the NDJSON export
+     */
+    @Autowired
+    public PartnerUniversityExportController(PartnerUniversityExportService partnerUniversityExportService,
+                                             ObjectMapper objectMapper) {
+        this.partnerUniversityExportService = partnerUniversityExportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Exports every PartnerUniversity as newline delimited JSON, one PartnerUniversity with its UniModules per line
+     * Used if the request accepts application/x-ndjson or anything
+     *
+     * @param response Response to write the export to
+     * @throws IOException When writing the response fails
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportAsNdjson(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        try (ExportWriter exportWriter = new NdjsonExportWriter(objectMapper, response.getOutputStream())) {
+            partnerUniversityExportService.exportPartnerUniversities(exportWriter);
+        }
+    }
+
+    /**
+     * Exports every PartnerUniversity as CSV, one row per UniModule
+     * Used if the request accepts text/csv
+     *
+     * @param response Response to write the export to
+     * @throws IOException When writing the response fails
+     */
+    @GetMapping(produces = TEXT_CSV_VALUE)
+    public void exportAsCsv(HttpServletResponse response) throws IOException {
+        response.setContentType(TEXT_CSV_VALUE + ";charset=UTF-8");
+
+        try (ExportWriter exportWriter = new CsvExportWriter(response.getOutputStream())) {
+            partnerUniversityExportService.exportPartnerUniversities(exportWriter);
+        }
+    }
+}
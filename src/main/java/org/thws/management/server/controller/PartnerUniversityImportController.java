@@ -0,0 +1,48 @@
+package org.thws.management.server.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.thws.management.server.model.ImportSummary;
+import org.thws.management.server.service.PartnerUniversityImportService;
+
+import java.io.IOException;
+
+/**
+ * Controller class to import many PartnerUniversities with their UniModules at once
+ */
+@RestController
+@RequestMapping(path = PartnerUniversityImportController.PATH)
+public class PartnerUniversityImportController {
+    public static final String PATH = PartnerUniversityController.PATH + "/import";
+
+    private final PartnerUniversityImportService partnerUniversityImportService;
+
+    /**
+     * Constructs a new PartnerUniversityImportController
+     *
+     * @param partnerUniversityImportService Service used to import the PartnerUniversities
+     */
+    @Autowired
+    public PartnerUniversityImportController(PartnerUniversityImportService partnerUniversityImportService) {
+        this.partnerUniversityImportService = partnerUniversityImportService;
+    }
+
+    /**
+     * Imports PartnerUniversities with nested UniModules, sent as JSON array or as newline delimited JSON
+     * The request body is read while it is imported, so it is never held in memory as a whole
+     *
+     * @param request Request to read the PartnerUniversities from
+     * @return Summary with the outcome of every row with status code 200, even if some rows have been rejected
+     * @throws IOException When reading the request fails
+     */
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportSummary> importPartnerUniversities(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(partnerUniversityImportService.importPartnerUniversities(request.getInputStream()));
+    }
+}
@@ -0,0 +1,77 @@
+package org.thws.management.server.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Formats a resource can be represented in, as chosen by the Accept header of a request
+ * The entity tags of the representations differ by the suffix of their format, so a cache never answers
+ * a request for one format with a representation in another
+ */
+enum ResponseFormat {
+    JSON(""),
+    CBOR("-cbor");
+
+    private final String suffix;
+
+    ResponseFormat(String suffix) {
+        this.suffix = suffix;
+    }
+
+    String suffix() {
+        return suffix;
+    }
+
+    /**
+     * Determines the format the response to a request is written in, the same way the message converters choose it,
+     * JSON unless the request prefers CBOR
+     * The response is marked to vary by the Accept header, including a 304 answered before any body is written
+     *
+     * @param webRequest Current request
+     * @return Format of the response
+     */
+    static ResponseFormat negotiate(WebRequest webRequest) {
+        if (webRequest instanceof NativeWebRequest nativeWebRequest) {
+            HttpServletResponse response = nativeWebRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null && !response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            //the message converters reject the request on their own
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.getQualityValue() == 0) {
+                continue;
+            }
+            if (acceptedType.isCompatibleWith(MediaTypes.HAL_JSON) || acceptedType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return JSON;
+            }
+            if (acceptedType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return CBOR;
+            }
+        }
+
+        return JSON;
+    }
+}
@@ -0,0 +1,112 @@
+package org.thws.management.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.assembler.LinkTemplates;
+import org.thws.management.server.model.SearchHit;
+import org.thws.management.server.search.SearchIndex;
+import org.thws.management.server.service.SearchService;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Controller class for the full-text search over PartnerUniversities and UniModules
+ */
+@RestController
+@RequestMapping(path = SearchController.PATH)
+public class SearchController {
+    public static final String PATH = "/api/v1/search";
+    private static final int MAX_SIZE = 100;
+
+    private final SearchService searchService;
+    private final LinkTemplates linkTemplates;
+
+    /**
+     * Constructs a new SearchController
+     *
+     * @param searchService Service searching the index
+     * @param linkTemplates Prebuilt templates for links to the found PartnerUniversities and UniModules
+     */
+    @Autowired
+    public SearchController(SearchService searchService, LinkTemplates linkTemplates) {
+        this.searchService = searchService;
+        this.linkTemplates = linkTemplates;
+    }
+
+    /**
+     * Searches PartnerUniversities and UniModules by the words of their names, department names and countries,
+     * tolerating typos, and links every result to the PartnerUniversity or UniModule it has found
+     *
+     * @param q    Words to search for, as "machine learning italy"
+     * @param page Page number to retrieve, default is 0
+     * @param size Number of results to show per page, default is 10, at most 100
+     * @return Page containing the results ordered by relevance with status code 200
+     * Status code 400 if the search text or the paging parameters are invalid, status code 404 if it finds nothing
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PagedModel<SearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        if (page < 0 || size < 1 || size > MAX_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must not be negative and size must be between 1 and " + MAX_SIZE);
+        }
+
+        Page<SearchHit> searchHits = searchService.search(q, PageRequest.of(page, size));
+
+        if (searchHits.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        for (SearchHit searchHit : searchHits) {
+            Link selfLink = SearchIndex.TYPE_UNI_MODULE.equals(searchHit.getType())
+                    ? linkTemplates.uniModule(searchHit.getPartnerUniversityId(), searchHit.getId())
+                    : linkTemplates.partnerUniversity(searchHit.getId());
+            searchHit.add(selfLink.withSelfRel().withType("GET"));
+        }
+
+        PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
+                searchHits.getSize(),
+                searchHits.getNumber(),
+                searchHits.getTotalElements(),
+                searchHits.getTotalPages()
+        );
+
+        PagedModel<SearchHit> pagedModel = PagedModel.of(searchHits.getContent(), pageMetadata);
+
+        Link selfLink = linkTo(methodOn(SearchController.class).search(q, page, size))
+                .withSelfRel().withType("GET");
+        pagedModel.add(selfLink);
+
+        HttpHeaders headers = new HttpHeaders();
+
+        if (searchHits.hasPrevious()) {
+            Link prevLink = linkTo(methodOn(SearchController.class).search(q, page - 1, size))
+                    .withRel("previous").withType("GET");
+            headers.add("previous-page", prevLink.getHref());
+        }
+
+        if (searchHits.hasNext()) {
+            Link nextLink = linkTo(methodOn(SearchController.class).search(q, page + 1, size))
+                    .withRel("next").withType("GET");
+            headers.add("next-page", nextLink.getHref());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(pagedModel);
+    }
+}
@@ -0,0 +1,46 @@
+package org.thws.management.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.thws.management.server.service.SessionService;
+import org.thws.management.server.session.SessionContext;
+
+/**
+ * Controller class for the isolated sessions
+ * A session is opened by sending its ID in the X-Session-Id header, every request with that header only sees its own data
+ * Only available with management.sessions.enabled=true
+ */
+@RestController
+@ConditionalOnProperty(name = "management.sessions.enabled", havingValue = "true")
+@RequestMapping("/api/v1/sessions")
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    //constructor
+    @Autowired
+    public SessionController(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Closes a session and drops all of its data
+     *
+     * @param sessionId ID of the session to close
+     * @return Status code 204 if the session has been closed, status code 404 if it does not exist,
+     * status code 400 if the session ID is malformed
+     */
+    @DeleteMapping(path = "{sessionId}")
+    public ResponseEntity<Void> closeSession(@PathVariable String sessionId) {
+        if (!sessionService.closeSession(SessionContext.schemaOf(sessionId))) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+}
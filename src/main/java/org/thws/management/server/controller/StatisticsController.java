@@ -0,0 +1,153 @@
+package org.thws.management.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.assembler.LinkTemplates;
+import org.thws.management.server.model.CountryStatistics;
+import org.thws.management.server.model.SemesterStatistics;
+import org.thws.management.server.model.UniversityStatistics;
+import org.thws.management.server.service.StatisticsService;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Controller class for statistics over PartnerUniversities and UniModules, aggregated by the database
+ */
+@RestController
+@RequestMapping(path = StatisticsController.PATH)
+public class StatisticsController {
+    public static final String PATH = "/api/v1/statistics";
+    private static final int MAX_SIZE = 100;
+
+    private final StatisticsService statisticsService;
+    private final LinkTemplates linkTemplates;
+
+    /**
+     * Constructs a new StatisticsController
+     *
+     * @param statisticsService Service computing the statistics
+     * @param linkTemplates     Prebuilt templates for links to single PartnerUniversities
+     */
+    @Autowired
+    public StatisticsController(StatisticsService statisticsService, LinkTemplates linkTemplates) {
+        this.statisticsService = statisticsService;
+        this.linkTemplates = linkTemplates;
+    }
+
+    /**
+     * Retrieves the number of UniModules and their total ECTS per PartnerUniversity, ordered by name
+     *
+     * @param page Page number to retrieve, default is 0
+     * @param size Number of PartnerUniversities to show per page, default is 20, at most 100
+     * @return Page containing the statistics with status code 200
+     * Status code 400 if the paging parameters are invalid, status code 404 if it finds nothing
+     */
+    @GetMapping(path = "partner-universities", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PagedModel<UniversityStatistics>> getUniversityStatistics(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (page < 0 || size < 1 || size > MAX_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must not be negative and size must be between 1 and " + MAX_SIZE);
+        }
+
+        Page<UniversityStatistics> statistics = statisticsService.getUniversityStatistics(PageRequest.of(page, size));
+
+        if (statistics.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        for (UniversityStatistics universityStatistics : statistics) {
+            universityStatistics.add(linkTemplates.partnerUniversity(universityStatistics.getPartnerUniversityId())
+                    .withRel("partnerUniversity").withType("GET"));
+        }
+
+        PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
+                statistics.getSize(),
+                statistics.getNumber(),
+                statistics.getTotalElements(),
+                statistics.getTotalPages()
+        );
+
+        PagedModel<UniversityStatistics> pagedModel = PagedModel.of(statistics.getContent(), pageMetadata);
+
+        Link selfLink = linkTo(methodOn(StatisticsController.class).getUniversityStatistics(page, size))
+                .withSelfRel().withType("GET");
+        pagedModel.add(selfLink);
+
+        HttpHeaders headers = new HttpHeaders();
+
+        if (statistics.hasPrevious()) {
+            Link prevLink = linkTo(methodOn(StatisticsController.class).getUniversityStatistics(page - 1, size))
+                    .withRel("previous").withType("GET");
+            headers.add("previous-page", prevLink.getHref());
+        }
+
+        if (statistics.hasNext()) {
+            Link nextLink = linkTo(methodOn(StatisticsController.class).getUniversityStatistics(page + 1, size))
+                    .withRel("next").withType("GET");
+            headers.add("next-page", nextLink.getHref());
+        }
+
+        return ResponseEntity.ok().headers(headers).body(pagedModel);
+    }
+
+    /**
+     * Retrieves the number of UniModules, their total and their average ECTS per semester
+     *
+     * @return Statistics ordered by semester with status code 200
+     * Status code 404 if there are no UniModules
+     */
+    @GetMapping(path = "semesters", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CollectionModel<SemesterStatistics>> getSemesterStatistics() {
+        List<SemesterStatistics> statistics = statisticsService.getSemesterStatistics();
+
+        if (statistics.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CollectionModel<SemesterStatistics> collectionModel = CollectionModel.of(statistics);
+        collectionModel.add(linkTo(methodOn(StatisticsController.class).getSemesterStatistics())
+                .withSelfRel().withType("GET"));
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    /**
+     * Retrieves the number of PartnerUniversities and UniModules and the average ECTS of the UniModules per country
+     *
+     * @return Statistics ordered by country with status code 200
+     * Status code 404 if there are no PartnerUniversities
+     */
+    @GetMapping(path = "countries", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CollectionModel<CountryStatistics>> getCountryStatistics() {
+        List<CountryStatistics> statistics = statisticsService.getCountryStatistics();
+
+        if (statistics.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CollectionModel<CountryStatistics> collectionModel = CollectionModel.of(statistics);
+        collectionModel.add(linkTo(methodOn(StatisticsController.class).getCountryStatistics())
+                .withSelfRel().withType("GET"));
+
+        return ResponseEntity.ok(collectionModel);
+    }
+}
@@ -4,19 +4,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.assembler.LinkTemplates;
 import org.thws.management.server.assembler.UniModuleModelAssembler;
-import org.thws.management.server.model.PartnerUniversity;
 import org.thws.management.server.model.UniModule;
 import org.thws.management.server.model.UniModuleModel;
+import org.thws.management.server.pagination.KeysetCursor;
+import org.thws.management.server.projection.FieldSet;
 import org.thws.management.server.repository.UniModuleRepository;
-import org.thws.management.server.service.PartnerUniversityService;
 import org.thws.management.server.service.UniModuleService;
 
 import java.util.List;
@@ -28,30 +34,34 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  * Controller class to handle HTTP Requests regarding UniModules
  */
 @RestController
-@RequestMapping(path = "/api/v1/partner-universities/{partnerUniversityId}/modules")
+@RequestMapping(path = UniModuleController.PATH)
 public class UniModuleController {
+    public static final String PATH = PartnerUniversityController.PATH + "/{partnerUniversityId}/modules";
+
     private final UniModuleService uniModuleService;
     private final UniModuleModelAssembler uniModuleModelAssembler;
-    private final PartnerUniversityService partnerUniversityService;
+    private final LinkTemplates linkTemplates;
 
     public static final String DEFAULT_PAGE = "0";
     public static final String DEFAULT_SIZE = "3";
     public static final String DEFAULT_SORT = "asc";
 
+    private static final int MAX_SLICE_SIZE = 100;
+
     /**
      * Constructs a new UniModuleController
      *
-     * @param uniModuleService         Service used to handle UniModule operations
-     * @param uniModuleModelAssembler  Assembler used to convert UniModules to their model representation
-     * @param partnerUniversityService Service used to handle PartnerUniversity operations
+     * @param uniModuleService        Service used to handle UniModule operations
+     * @param uniModuleModelAssembler Assembler used to convert UniModules to their model representation
+     * @param linkTemplates           Prebuilt templates for links to single UniModules
      */
     @Autowired
     public UniModuleController(UniModuleService uniModuleService,
                                UniModuleModelAssembler uniModuleModelAssembler,
-                               PartnerUniversityService partnerUniversityService) {
+                               LinkTemplates linkTemplates) {
         this.uniModuleService = uniModuleService;
         this.uniModuleModelAssembler = uniModuleModelAssembler;
-        this.partnerUniversityService = partnerUniversityService;
+        this.linkTemplates = linkTemplates;
     }
 
     /**
@@ -59,53 +69,66 @@ public class UniModuleController {
      *
      * @param partnerUniversityId ID of PartnerUniversity to create UniModule for
      * @param uniModule           UniModule body
-     * @return Status code 200 and ResponseEntity containing added UniModule
-     * Status code 404 if requested PartnerUniversity does not exist
+     * @param webRequest          Current request, to tag the response with the format it is written in
+     * @return Status code 201 and ResponseEntity containing added UniModule
      * Status code 400 if UniModule to add is wrongly formatted
+     * Status code 404 if requested PartnerUniversity does not exist
      */
     @PostMapping
     public ResponseEntity<UniModuleModel> addNewUniModule(@PathVariable Long partnerUniversityId,
-                                                          @RequestBody UniModule uniModule) {
-        if (partnerUniversityService.getPartnerUniversityById(partnerUniversityId) == null) {
+                                                          @RequestBody UniModule uniModule,
+                                                          WebRequest webRequest) {
+        UniModule savedUniModule = uniModuleService.addNewUniModule(partnerUniversityId, uniModule);
+        if (savedUniModule == null) {
             return ResponseEntity.notFound().build();
         }
-        if (uniModule.getName() == null || uniModule.getName().isEmpty() ||
-                uniModule.getSemester() == null ||
-                uniModule.getEcts() == null) return ResponseEntity.badRequest().build();
 
-        HttpHeaders headers = getHeadersForSingleUniModule(partnerUniversityId, uniModule.getId());
-
-        UniModule savedUniModule = uniModuleService.addNewUniModule(partnerUniversityId, uniModule);
+        HttpHeaders headers = getHeadersForSingleUniModule(partnerUniversityId, savedUniModule.getId());
         UniModuleModel uniModuleModel = uniModuleModelAssembler.toModel(savedUniModule);
 
         return ResponseEntity
                 .created(linkTo(
                         methodOn(UniModuleController.class)
-                                .getUniModule(savedUniModule.getId(), partnerUniversityId))
+                                .getUniModule(savedUniModule.getId(), partnerUniversityId, null, null))
                         .toUri())
-                .headers(headers).body(uniModuleModel);
+                .headers(headers).eTag(ETags.of(savedUniModule.getVersion(), ResponseFormat.negotiate(webRequest))).body(uniModuleModel);
     }
 
     /**
      * Fetch one specific UniModule
+     * Answers a request whose If-None-Match header contains the current ETag without building the model again
      *
      * @param partnerUniversityId ID of PartnerUniversity to retrieve specific UniModule from
      * @param uniModuleId         ID of UniModule to get
+     * @param fields              Comma separated fields to return, as "id,name", default is all fields
+     * @param webRequest          Current request, to evaluate its conditional headers and Accept header
      * @return ResponseEntity of requested UniModule with status code 200
-     * Status code 404 if nothing is found
+     * Status code 304 if the UniModule has not been modified, status code 404 if nothing is found,
+     * status code 400 if a requested field is unknown
      */
     @GetMapping(path = "{uniModuleId}")
     public ResponseEntity<UniModuleModel> getUniModule(
             @PathVariable("partnerUniversityId") Long partnerUniversityId,
-            @PathVariable("uniModuleId") Long uniModuleId) {
-        if (checkIfNull(partnerUniversityId, uniModuleId)) return ResponseEntity.notFound().build();
+            @PathVariable("uniModuleId") Long uniModuleId,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        //a single UniModule has no association to leave out and is mostly served from the cache, so only the response is narrowed
+        FieldSet fieldSet = FieldSet.parse(fields, FieldSet.UNI_MODULE_FIELDS);
 
-        HttpHeaders headers = getHeadersForSingleUniModule(partnerUniversityId, uniModuleId);
+        UniModule uniModule = getUniModuleOfPartnerUniversity(partnerUniversityId, uniModuleId);
+        if (uniModule == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String eTag = ETags.of(uniModule.getVersion(), ResponseFormat.negotiate(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
-        UniModule uniModule = uniModuleService.getUniModuleByPartnerUniversity(partnerUniversityId, uniModuleId);
-        UniModuleModel uniModuleModel = uniModuleModelAssembler.toModel(uniModule);
+        HttpHeaders headers = getHeadersForSingleUniModule(partnerUniversityId, uniModuleId);
+        UniModuleModel uniModuleModel = uniModuleModelAssembler.toModel(uniModule, fieldSet);
 
-        return ResponseEntity.ok().headers(headers).body(uniModuleModel);
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(uniModuleModel);
     }
 
     /**
@@ -116,15 +139,22 @@ public class UniModuleController {
      * @param page                Page number to retrieve, default value is 0
      * @param size                Number of total UniModules per page, default is 2 (to make testing easier)
      * @param sort                Sorts the UniModules by name, having ascending as the default value
+     * @param fields              Comma separated fields to return, as "id,name", default is all fields
+     * @param webRequest          Current request, to evaluate its conditional headers and Accept header
      * @return Page of UniModule with status code 200
-     * Status code 404 if no UniModule is found
+     * Status code 304 if none of them has been modified, status code 404 if no UniModule is found,
+     * status code 400 if a requested field is unknown
      */
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<PagedModel<UniModuleModel>> getAllUniModules(
             @PathVariable Long partnerUniversityId,
             @RequestParam(defaultValue = DEFAULT_PAGE) int page,
             @RequestParam(defaultValue = DEFAULT_SIZE) int size,
-            @RequestParam(required = false, defaultValue = DEFAULT_SORT) String sort) {
+            @RequestParam(required = false, defaultValue = DEFAULT_SORT) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+
+        FieldSet fieldSet = FieldSet.parse(fields, FieldSet.UNI_MODULE_FIELDS);
 
         Page<UniModule> uniModules;
 
@@ -133,14 +163,19 @@ public class UniModuleController {
 
         Pageable pageable = PageRequest.of(page, size, sortObject);
 
-        uniModules = uniModuleService.getAllUniModulesByPartnerUniversity(partnerUniversityId, pageable);
+        uniModules = uniModuleService.getAllUniModulesByPartnerUniversity(partnerUniversityId, pageable, fieldSet);
 
         if (uniModules.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
+        String eTag = ETags.of(uniModules, UniModule::getId, UniModule::getVersion, ResponseFormat.negotiate(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<UniModuleModel> uniModuleModels = uniModules.getContent().stream()
-                .map(uniModuleModelAssembler::toModel)
+                .map(uniModule -> uniModuleModelAssembler.toModel(uniModule, fieldSet))
                 .toList();
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -152,47 +187,124 @@ public class UniModuleController {
 
         PagedModel<UniModuleModel> pagedModel = PagedModel.of(uniModuleModels, pageMetadata);
 
-        Link selfLink = linkTo(methodOn(UniModuleController.class).getAllUniModules(partnerUniversityId, page, size, sort))
+        Link selfLink = linkTo(methodOn(UniModuleController.class).getAllUniModules(partnerUniversityId, page, size, sort, fields, null))
                 .withSelfRel().withType("GET");
         pagedModel.add(selfLink);
 
         HttpHeaders headers = new HttpHeaders();
 
-        Link postLink = linkTo(methodOn(UniModuleController.class).addNewUniModule(partnerUniversityId, null))
+        Link postLink = linkTo(methodOn(UniModuleController.class).addNewUniModule(partnerUniversityId, null, null))
                 .withRel("create").withType("POST");
         headers.add("create", postLink.getHref());
 
         if (!sort.equalsIgnoreCase("asc")) {
             Link selfLinkAsc = linkTo(methodOn(UniModuleController.class)
-                    .getAllUniModules(partnerUniversityId, page, size, "asc"))
+                    .getAllUniModules(partnerUniversityId, page, size, "asc", fields, null))
                     .withRel("sort descending").withType("GET");
             pagedModel.add(selfLinkAsc);
         }
 
         if (!sort.equalsIgnoreCase("desc")) {
             Link selfLinkDesc = linkTo(methodOn(UniModuleController.class)
-                    .getAllUniModules(partnerUniversityId, page, size, "asc"))
+                    .getAllUniModules(partnerUniversityId, page, size, "asc", fields, null))
                     .withRel("sort ascending").withType("GET");
             pagedModel.add(selfLinkDesc);
         }
 
         if (uniModules.hasPrevious()) {
-            Link prevLink = linkTo(methodOn(UniModuleController.class).getAllUniModules(partnerUniversityId, page - 1, size, sort))
+            Link prevLink = linkTo(methodOn(UniModuleController.class).getAllUniModules(partnerUniversityId, page - 1, size, sort, fields, null))
                     .withRel("previous").withType("GET");
-            headers.add("previous page", prevLink.getHref());
+            headers.add("previous-page", prevLink.getHref());
         }
 
         if (uniModules.hasNext()) {
-            Link nextLink = linkTo(methodOn(UniModuleController.class).getAllUniModules(partnerUniversityId, page - 1, size, sort)).withSelfRel()
+            Link nextLink = linkTo(methodOn(UniModuleController.class).getAllUniModules(partnerUniversityId, page - 1, size, sort, fields, null)).withSelfRel()
                     .withRel("next").withType("GET");
-            headers.add("next page", nextLink.getHref());
+            headers.add("next-page", nextLink.getHref());
         }
 
-        Link partnerUniversityLink = linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversity(partnerUniversityId))
+        Link partnerUniversityLink = linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversity(partnerUniversityId, null, null))
                 .withRel("partnerUniversity").withType("GET");
         headers.add("partner-university", partnerUniversityLink.getHref());
 
-        return ResponseEntity.ok().headers(headers).body(pagedModel);
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(pagedModel);
+    }
+
+    /**
+     * Gets UniModules with keyset pagination, selected by the presence of the after parameter
+     * Every slice costs the same regardless of how deep it is, and no total count is computed
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to retrieve UniModules from
+     * @param after               Opaque cursor taken from the next page link, empty to start from the beginning
+     * @param size                Number of total UniModules per slice, at most 100
+     * @param sort                Sorts the UniModules by name, having ascending as the default value
+     * @param fields              Comma separated fields to return, as "id,name", default is all fields
+     * @param webRequest          Current request, to evaluate its conditional headers and Accept header
+     * @return Slice of UniModule with status code 200
+     * Status code 304 if none of them has been modified, status code 404 if no UniModule is found,
+     * status code 400 if the size is out of range, the cursor is malformed or a requested field is unknown
+     */
+    @GetMapping(params = "after", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<SlicedModel<UniModuleModel>> getUniModulesAfter(
+            @PathVariable Long partnerUniversityId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = DEFAULT_SIZE) int size,
+            @RequestParam(required = false, defaultValue = DEFAULT_SORT) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+
+        FieldSet fieldSet = FieldSet.parse(fields, FieldSet.UNI_MODULE_FIELDS);
+
+        Sort.Direction sortDirection = sort.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Slice<UniModule> uniModules = uniModuleService.getUniModulesByPartnerUniversityAfter(
+                partnerUniversityId, KeysetCursor.decode(after), size, sortDirection, fieldSet);
+
+        if (uniModules.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String eTag = ETags.of(uniModules, UniModule::getId, UniModule::getVersion, ResponseFormat.negotiate(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<UniModuleModel> uniModuleModels = uniModules.getContent().stream()
+                .map(uniModule -> uniModuleModelAssembler.toModel(uniModule, fieldSet))
+                .toList();
+
+        SlicedModel<UniModuleModel> slicedModel = SlicedModel.of(uniModuleModels,
+                new SlicedModel.SliceMetadata(uniModules.getSize(), uniModules.getNumber()));
+
+        Link selfLink = linkTo(methodOn(UniModuleController.class).getUniModulesAfter(partnerUniversityId, after, size, sort, fields, null))
+                .withSelfRel().withType("GET");
+        slicedModel.add(selfLink);
+
+        HttpHeaders headers = new HttpHeaders();
+
+        Link postLink = linkTo(methodOn(UniModuleController.class).addNewUniModule(partnerUniversityId, null, null))
+                .withRel("create").withType("POST");
+        headers.add("create", postLink.getHref());
+
+        if (uniModules.hasNext()) {
+            UniModule last = uniModules.getContent().get(uniModules.getNumberOfElements() - 1);
+            String nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+
+            Link nextLink = linkTo(methodOn(UniModuleController.class).getUniModulesAfter(partnerUniversityId, nextCursor, size, sort, fields, null))
+                    .withRel("next").withType("GET");
+            slicedModel.add(nextLink);
+            headers.add("next-page", nextLink.getHref());
+        }
+
+        Link partnerUniversityLink = linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversity(partnerUniversityId, null, null))
+                .withRel("partnerUniversity").withType("GET");
+        headers.add("partner-university", partnerUniversityLink.getHref());
+
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(slicedModel);
     }
 
     /**
@@ -200,22 +312,29 @@ public class UniModuleController {
      *
      * @param partnerUniversityId ID of PartnerUniversity whose UniModule is to be updated
      * @param uniModuleId         ID of UniModule to update
+     * @param ifMatch             ETag the UniModule must still have, null to update it unconditionally
      * @param uniModule           Content used to update UniModule
+     * @param webRequest          Current request, to tag the response with the format it is written in
      * @return ResponseEntity of updated UniModule with status code 200
-     * Status code 404 if nothing is found, Status code 400 if request is wrongly formatted
+     * Status code 404 if nothing is found, Status code 400 if request is wrongly formatted,
+     * status code 412 if the UniModule has been modified since the client has read it
      */
     @PutMapping(path = "{uniModuleId}")
     public ResponseEntity<UniModuleModel> updateUniModule(
             @PathVariable("partnerUniversityId") Long partnerUniversityId,
             @PathVariable("uniModuleId") Long uniModuleId,
-            @RequestBody UniModule uniModule) {
-        if (checkIfNull(partnerUniversityId, uniModuleId)) return ResponseEntity.notFound().build();
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody UniModule uniModule,
+            WebRequest webRequest) {
+        UniModule updatedUniModule = uniModuleService.updateUniModuleByPartnerUniversity(partnerUniversityId, uniModuleId, uniModule,
+                ETags.precondition(ifMatch));
+        if (updatedUniModule == null) {
+            return ResponseEntity.notFound().build();
+        }
 
         HttpHeaders headers = getHeadersForSingleUniModule(partnerUniversityId, uniModuleId);
-
-        UniModule updatedUniModule = uniModuleService.updateUniModuleByPartnerUniversity(partnerUniversityId, uniModuleId, uniModule);
         UniModuleModel uniModuleModel = uniModuleModelAssembler.toModel(updatedUniModule);
-        return ResponseEntity.ok().headers(headers).body(uniModuleModel);
+        return ResponseEntity.ok().headers(headers).eTag(ETags.of(updatedUniModule.getVersion(), ResponseFormat.negotiate(webRequest))).body(uniModuleModel);
     }
 
     /**
@@ -223,17 +342,19 @@ public class UniModuleController {
      *
      * @param partnerUniversityId ID of PartnerUniversity where UniModule shall be deleted from
      * @param uniModuleId         ID of UniModule to be deleted
+     * @param ifMatch             ETag the UniModule must still have, null to delete it unconditionally
      * @return ResponseEntity with status code 204 No Content
-     * Status code 404 if nothing is found
+     * Status code 404 if nothing is found, status code 412 if the UniModule has been modified since the client has read it
      */
     @DeleteMapping(path = "{uniModuleId}")
     public ResponseEntity<Void> deleteUniModule(@PathVariable("partnerUniversityId") Long partnerUniversityId,
-                                                @PathVariable("uniModuleId") Long uniModuleId) {
-        if (checkIfNull(partnerUniversityId, uniModuleId)) return ResponseEntity.notFound().build();
+                                                @PathVariable("uniModuleId") Long uniModuleId,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!uniModuleService.deleteUniModuleByPartnerUniversity(partnerUniversityId, uniModuleId, ETags.precondition(ifMatch))) {
+            return ResponseEntity.notFound().build();
+        }
 
         HttpHeaders headers = getHeadersForSingleUniModule(partnerUniversityId, uniModuleId);
-
-        uniModuleService.deleteUniModuleByPartnerUniversity(uniModuleId);
         return ResponseEntity.noContent().headers(headers).build();
     }
 
@@ -248,20 +369,19 @@ public class UniModuleController {
     public HttpHeaders getHeadersForSingleUniModule(Long partnerUniversityId, Long uniModuleId) {
         HttpHeaders headers = new HttpHeaders();
 
-        Link updateLink = linkTo(methodOn(UniModuleController.class).getUniModule(partnerUniversityId, uniModuleId))
+        Link updateLink = linkTemplates.uniModule(partnerUniversityId, uniModuleId)
                 .withRel("update").withType("PUT");
         headers.add("update", updateLink.getHref());
 
-        Link deleteLink = linkTo(methodOn(UniModuleController.class).deleteUniModule(partnerUniversityId, uniModuleId))
+        Link deleteLink = linkTemplates.uniModule(partnerUniversityId, uniModuleId)
                 .withRel("delete").withType("DELETE");
         headers.add("delete", deleteLink.getHref());
 
-        Link allModulesLink = linkTo(methodOn(UniModuleController.class)
-                .getAllUniModules(partnerUniversityId, Integer.parseInt(DEFAULT_PAGE), Integer.parseInt(DEFAULT_SIZE), DEFAULT_SORT))
+        Link allModulesLink = linkTemplates.uniModules(partnerUniversityId)
                 .withRel("modules").withType("GET");
         headers.add("modules", allModulesLink.getHref());
 
-        Link partnerUniversityLink = linkTo(methodOn(PartnerUniversityController.class).getPartnerUniversity(partnerUniversityId))
+        Link partnerUniversityLink = linkTemplates.partnerUniversity(partnerUniversityId)
                 .withRel("partnerUniversity").withType("GET");
         headers.add("partner-university", partnerUniversityLink.getHref());
 
@@ -269,16 +389,19 @@ public class UniModuleController {
     }
 
     /**
-     * Method to check if requested PartnerUniversity and UniModule exists
+     * Fetches an UniModule, served from the cache if possible, and checks that it belongs to the requested PartnerUniversity
+     * Reading the ID of the PartnerUniversity does not load it, so at most one query is executed
      *
      * @param partnerUniversityId ID of PartnerUniversity
      * @param uniModuleId         ID of UniModule
-     * @return true if nothing is found, otherwise false
+     * @return The requested UniModule, or null if it does not exist or belongs to another PartnerUniversity
      */
-    public boolean checkIfNull(Long partnerUniversityId, Long uniModuleId) {
-        PartnerUniversity partnerUniversity = partnerUniversityService.getPartnerUniversityById(partnerUniversityId);
+    private UniModule getUniModuleOfPartnerUniversity(Long partnerUniversityId, Long uniModuleId) {
         UniModule uniModule = uniModuleService.getUniModuleById(uniModuleId);
+        if (uniModule == null || !uniModule.getPartnerUniversity().getId().equals(partnerUniversityId)) {
+            return null;
+        }
 
-        return partnerUniversity == null || uniModule == null;
+        return uniModule;
     }
-}
\ No newline at end of file
+}
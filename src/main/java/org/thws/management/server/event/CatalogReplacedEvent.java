@@ -0,0 +1,32 @@
+package org.thws.management.server.event;
+
+import org.thws.management.server.session.SessionContext;
+
+/**
+ * Published when the content of a schema has been changed without going through the services,
+ * as by a database reset, a bulk import or dropping the schema of a session
+ * Everything derived from the content of that schema has to be built again
+ */
+public class CatalogReplacedEvent {
+    private final String schema;
+
+    /**
+     * Creates the event for the schema of the current session
+     */
+    public CatalogReplacedEvent() {
+        this(SessionContext.currentSchema());
+    }
+
+    /**
+     * Creates the event for a given schema
+     *
+     * @param schema Name of the schema, null for the default schema
+     */
+    public CatalogReplacedEvent(String schema) {
+        this.schema = schema;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+}
@@ -0,0 +1,69 @@
+package org.thws.management.server.event;
+
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.session.SessionContext;
+
+/**
+ * Published when a PartnerUniversity has been created, updated or deleted
+ * Copies the searchable values while the entity is still attached, and remembers the schema of the session it happened in
+ */
+public class PartnerUniversityChangedEvent {
+    private final String schema;
+    private final Long partnerUniversityId;
+    private final String name;
+    private final String country;
+    private final String departmentName;
+
+    private PartnerUniversityChangedEvent(Long partnerUniversityId, String name, String country, String departmentName) {
+        this.schema = SessionContext.currentSchema();
+        this.partnerUniversityId = partnerUniversityId;
+        this.name = name;
+        this.country = country;
+        this.departmentName = departmentName;
+    }
+
+    /**
+     * Creates the event for a PartnerUniversity that has been created or updated
+     *
+     * @param partnerUniversity The saved PartnerUniversity
+     * @return Event carrying its current values
+     */
+    public static PartnerUniversityChangedEvent saved(PartnerUniversity partnerUniversity) {
+        return new PartnerUniversityChangedEvent(partnerUniversity.getId(), partnerUniversity.getName(),
+                partnerUniversity.getCountry(), partnerUniversity.getDepartmentName());
+    }
+
+    /**
+     * Creates the event for a PartnerUniversity that has been deleted, together with its UniModules
+     *
+     * @param partnerUniversityId ID of the deleted PartnerUniversity
+     * @return Event without values
+     */
+    public static PartnerUniversityChangedEvent deleted(Long partnerUniversityId) {
+        return new PartnerUniversityChangedEvent(partnerUniversityId, null, null, null);
+    }
+
+    public boolean isDeleted() {
+        return name == null;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public Long getPartnerUniversityId() {
+        return partnerUniversityId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+}
@@ -0,0 +1,64 @@
+package org.thws.management.server.event;
+
+import org.thws.management.server.model.UniModule;
+import org.thws.management.server.session.SessionContext;
+
+/**
+ * Published when a UniModule has been created, updated or deleted
+ * Copies the searchable values while the entity is still attached, and remembers the schema of the session it happened in
+ */
+public class UniModuleChangedEvent {
+    private final String schema;
+    private final Long partnerUniversityId;
+    private final Long uniModuleId;
+    private final String name;
+
+    private UniModuleChangedEvent(Long partnerUniversityId, Long uniModuleId, String name) {
+        this.schema = SessionContext.currentSchema();
+        this.partnerUniversityId = partnerUniversityId;
+        this.uniModuleId = uniModuleId;
+        this.name = name;
+    }
+
+    /**
+     * Creates the event for a UniModule that has been created or updated
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity the UniModule belongs to
+     * @param uniModule           The saved UniModule
+     * @return Event carrying its current values
+     */
+    public static UniModuleChangedEvent saved(Long partnerUniversityId, UniModule uniModule) {
+        return new UniModuleChangedEvent(partnerUniversityId, uniModule.getId(), uniModule.getName());
+    }
+
+    /**
+     * Creates the event for a UniModule that has been deleted
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity the UniModule belonged to
+     * @param uniModuleId         ID of the deleted UniModule
+     * @return Event without values
+     */
+    public static UniModuleChangedEvent deleted(Long partnerUniversityId, Long uniModuleId) {
+        return new UniModuleChangedEvent(partnerUniversityId, uniModuleId, null);
+    }
+
+    public boolean isDeleted() {
+        return name == null;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public Long getPartnerUniversityId() {
+        return partnerUniversityId;
+    }
+
+    public Long getUniModuleId() {
+        return uniModuleId;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
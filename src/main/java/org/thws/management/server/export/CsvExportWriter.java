@@ -0,0 +1,101 @@
+package org.thws.management.server.export;
+
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniModule;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes PartnerUniversities as CSV with a header line, one row per UniModule
+ * The columns of the PartnerUniversity are repeated in every row of its UniModules,
+ * a PartnerUniversity without UniModules gets one row with empty module columns
+ */
+public class CsvExportWriter implements ExportWriter {
+    public static final String HEADER = "id,name,country,departmentName,departmentUrl,contactPerson,maxStudentsIn," +
+            "maxStudentsOut,nextSpringSemester,nextSummerSemester,moduleId,moduleName,moduleSemester,moduleEcts";
+
+    private final Writer writer;
+
+    /**
+     * Constructs a new CsvExportWriter and writes the header line
+     *
+     * @param outputStream Stream to write to, left open when the writer is closed
+     * @throws IOException When writing the header line fails
+     */
+    public CsvExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(PartnerUniversity partnerUniversity, List<UniModule> uniModules) throws IOException {
+        if (uniModules.isEmpty()) {
+            writeRow(partnerUniversity, null);
+        }
+
+        for (UniModule uniModule : uniModules) {
+            writeRow(partnerUniversity, uniModule);
+        }
+    }
+
+    //only flushes, as the output stream belongs to the caller
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeRow(PartnerUniversity partnerUniversity, UniModule uniModule) throws IOException {
+        writeField(partnerUniversity.getId());
+        writer.write(',');
+        writeField(partnerUniversity.getName());
+        writer.write(',');
+        writeField(partnerUniversity.getCountry());
+        writer.write(',');
+        writeField(partnerUniversity.getDepartmentName());
+        writer.write(',');
+        writeField(partnerUniversity.getDepartmentUrl());
+        writer.write(',');
+        writeField(partnerUniversity.getContactPerson());
+        writer.write(',');
+        writeField(partnerUniversity.getMaxStudentsIn());
+        writer.write(',');
+        writeField(partnerUniversity.getMaxStudentsOut());
+        writer.write(',');
+        writeField(partnerUniversity.getNextSpringSemester());
+        writer.write(',');
+        writeField(partnerUniversity.getNextSummerSemester());
+        writer.write(',');
+        writeField(uniModule == null ? null : uniModule.getId());
+        writer.write(',');
+        writeField(uniModule == null ? null : uniModule.getName());
+        writer.write(',');
+        writeField(uniModule == null ? null : uniModule.getSemester());
+        writer.write(',');
+        writeField(uniModule == null ? null : uniModule.getEcts());
+        writer.write("\r\n");
+    }
+
+    //quotes a field only if it contains a separator, a quote or a line break, as described in RFC 4180
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,23 @@
+package org.thws.management.server.export;
+
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniModule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes exported PartnerUniversities one after another to an output stream, in a specific format
+ * Nothing is kept after a PartnerUniversity is written, so exports of any size need constant memory
+ */
+public interface ExportWriter extends Closeable {
+    /**
+     * Writes one PartnerUniversity together with its UniModules
+     *
+     * @param partnerUniversity PartnerUniversity to write
+     * @param uniModules        UniModules of the PartnerUniversity, ordered by ID
+     * @throws IOException When writing to the output stream fails
+     */
+    void write(PartnerUniversity partnerUniversity, List<UniModule> uniModules) throws IOException;
+}
@@ -0,0 +1,81 @@
+package org.thws.management.server.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Writes every PartnerUniversity as one JSON object per line, with its UniModules embedded in a modules array
+ * The JSON is generated token by token, so no intermediate objects or documents are built
+ */
+public class NdjsonExportWriter implements ExportWriter {
+    private final JsonGenerator generator;
+
+    /**
+     * Constructs a new NdjsonExportWriter
+     *
+     * @param objectMapper Mapper whose factory is used to create the JSON generator
+     * @param outputStream Stream to write to, left open when the writer is closed
+     * @throws IOException When the JSON generator can't be created
+     */
+    public NdjsonExportWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        //lines are separated by the newline written after every object instead
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(PartnerUniversity partnerUniversity, List<UniModule> uniModules) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", partnerUniversity.getId());
+        generator.writeStringField("name", partnerUniversity.getName());
+        generator.writeStringField("country", partnerUniversity.getCountry());
+        generator.writeStringField("departmentName", partnerUniversity.getDepartmentName());
+        generator.writeStringField("departmentUrl", partnerUniversity.getDepartmentUrl());
+        generator.writeStringField("contactPerson", partnerUniversity.getContactPerson());
+        writeNumberField("maxStudentsIn", partnerUniversity.getMaxStudentsIn());
+        writeNumberField("maxStudentsOut", partnerUniversity.getMaxStudentsOut());
+        writeDateField("nextSpringSemester", partnerUniversity.getNextSpringSemester());
+        writeDateField("nextSummerSemester", partnerUniversity.getNextSummerSemester());
+
+        generator.writeArrayFieldStart("modules");
+        for (UniModule uniModule : uniModules) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", uniModule.getId());
+            generator.writeStringField("name", uniModule.getName());
+            writeNumberField("semester", uniModule.getSemester());
+            writeNumberField("ects", uniModule.getEcts());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeNumberField(String name, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    //same format as the yyyy-MM-dd pattern of the model
+    private void writeDateField(String name, LocalDate value) throws IOException {
+        generator.writeStringField(name, value == null ? null : value.toString());
+    }
+}
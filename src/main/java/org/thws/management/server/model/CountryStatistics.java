@@ -0,0 +1,55 @@
+package org.thws.management.server.model;
+
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Aggregated PartnerUniversities and UniModules of one country, computed by the database
+ */
+public class CountryStatistics extends RepresentationModel<CountryStatistics> {
+    private String country;
+    private Long partnerUniversityCount;
+    private Long moduleCount;
+    private Double averageEcts;
+
+    public CountryStatistics() {
+    }
+
+    public CountryStatistics(String country, Long partnerUniversityCount, Long moduleCount, Double averageEcts) {
+        this.country = country;
+        this.partnerUniversityCount = partnerUniversityCount;
+        this.moduleCount = moduleCount;
+        this.averageEcts = averageEcts;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public Long getPartnerUniversityCount() {
+        return partnerUniversityCount;
+    }
+
+    public void setPartnerUniversityCount(Long partnerUniversityCount) {
+        this.partnerUniversityCount = partnerUniversityCount;
+    }
+
+    public Long getModuleCount() {
+        return moduleCount;
+    }
+
+    public void setModuleCount(Long moduleCount) {
+        this.moduleCount = moduleCount;
+    }
+
+    public Double getAverageEcts() {
+        return averageEcts;
+    }
+
+    public void setAverageEcts(Double averageEcts) {
+        this.averageEcts = averageEcts;
+    }
+}
@@ -0,0 +1,39 @@
+package org.thws.management.server.model;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Direction of a student exchange, seen from the home university
+ */
+public enum ExchangeDirection {
+    //students coming from the PartnerUniversity, bounded by maxStudentsIn
+    INCOMING,
+    //students going to the PartnerUniversity, bounded by maxStudentsOut
+    OUTGOING;
+
+    /**
+     * Parses a direction as written in a URI
+     *
+     * @param value "incoming" or "outgoing", case is ignored
+     * @return The direction, empty if the value is no direction
+     */
+    public static Optional<ExchangeDirection> of(String value) {
+        for (ExchangeDirection direction : values()) {
+            if (direction.name().equalsIgnoreCase(value)) {
+                return Optional.of(direction);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Writes the direction as used in a URI
+     *
+     * @return The direction in lower case
+     */
+    public String toPathSegment() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,66 @@
+package org.thws.management.server.model;
+
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Representation model for the exchange slots of a PartnerUniversity, how many there are and how many are reserved
+ */
+public class ExchangeSlots extends RepresentationModel<ExchangeSlots> {
+    private Long partnerUniversityId;
+    private Integer maxStudentsIn;
+    private Integer reservedStudentsIn;
+    private Integer maxStudentsOut;
+    private Integer reservedStudentsOut;
+
+    public ExchangeSlots() {
+    }
+
+    public ExchangeSlots(Long partnerUniversityId, Integer maxStudentsIn, Integer reservedStudentsIn,
+                         Integer maxStudentsOut, Integer reservedStudentsOut) {
+        this.partnerUniversityId = partnerUniversityId;
+        this.maxStudentsIn = maxStudentsIn;
+        this.reservedStudentsIn = reservedStudentsIn;
+        this.maxStudentsOut = maxStudentsOut;
+        this.reservedStudentsOut = reservedStudentsOut;
+    }
+
+    public Long getPartnerUniversityId() {
+        return partnerUniversityId;
+    }
+
+    public void setPartnerUniversityId(Long partnerUniversityId) {
+        this.partnerUniversityId = partnerUniversityId;
+    }
+
+    public Integer getMaxStudentsIn() {
+        return maxStudentsIn;
+    }
+
+    public void setMaxStudentsIn(Integer maxStudentsIn) {
+        this.maxStudentsIn = maxStudentsIn;
+    }
+
+    public Integer getReservedStudentsIn() {
+        return reservedStudentsIn;
+    }
+
+    public void setReservedStudentsIn(Integer reservedStudentsIn) {
+        this.reservedStudentsIn = reservedStudentsIn;
+    }
+
+    public Integer getMaxStudentsOut() {
+        return maxStudentsOut;
+    }
+
+    public void setMaxStudentsOut(Integer maxStudentsOut) {
+        this.maxStudentsOut = maxStudentsOut;
+    }
+
+    public Integer getReservedStudentsOut() {
+        return reservedStudentsOut;
+    }
+
+    public void setReservedStudentsOut(Integer reservedStudentsOut) {
+        this.reservedStudentsOut = reservedStudentsOut;
+    }
+}
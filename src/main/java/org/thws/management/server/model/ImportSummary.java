@@ -0,0 +1,101 @@
+package org.thws.management.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bulk import of PartnerUniversities, with the outcome of every imported row in the order they were sent
+ */
+public class ImportSummary {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int created;
+    private int rejected;
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * Records a PartnerUniversity that has been created
+     *
+     * @param row     Index of the row, starting at 0
+     * @param id      ID of the created PartnerUniversity
+     * @param modules Number of UniModules created with it
+     */
+    public void addCreated(int row, Long id, int modules) {
+        created++;
+        rows.add(new Row(row, CREATED, id, modules, null));
+    }
+
+    /**
+     * Records a row that has not been imported
+     *
+     * @param row     Index of the row, starting at 0
+     * @param message Reason why the row has been rejected
+     */
+    public void addRejected(int row, String message) {
+        rejected++;
+        rows.add(new Row(row, REJECTED, null, null, message));
+    }
+
+    //Getters
+    public int getCreated() {
+        return created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Outcome of one imported row
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+        private int row;
+        private String status;
+        private Long id;
+        private Integer modules;
+        private String message;
+
+        /**
+         * To make Jackson happy
+         */
+        public Row() {
+        }
+
+        public Row(int row, String status, Long id, Integer modules, String message) {
+            this.row = row;
+            this.status = status;
+            this.id = id;
+            this.modules = modules;
+            this.message = message;
+        }
+
+        //Getters
+        public int getRow() {
+            return row;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Integer getModules() {
+            return modules;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package org.thws.management.server.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Represents a university, called PartnerUniversity
  */
 @Entity
-@Table(name = "PARTNER_UNIVERSITY")
+@Table(name = "PARTNER_UNIVERSITY", indexes = {
+        @Index(name = "IDX_PARTNER_UNIVERSITY_NAME_ID", columnList = "name, id"),
+        @Index(name = "IDX_PARTNER_UNIVERSITY_NORMALIZED_NAME", columnList = "normalized_name"),
+        @Index(name = "IDX_PARTNER_UNIVERSITY_NORMALIZED_COUNTRY", columnList = "normalized_country"),
+        @Index(name = "IDX_PARTNER_UNIVERSITY_NORMALIZED_DEPARTMENT_NAME", columnList = "normalized_department_name"),
+        @Index(name = "IDX_PARTNER_UNIVERSITY_MAX_STUDENTS_IN", columnList = "max_students_in"),
+        @Index(name = "IDX_PARTNER_UNIVERSITY_NEXT_SPRING_SEMESTER", columnList = "next_spring_semester"),
+        @Index(name = "IDX_PARTNER_UNIVERSITY_NEXT_SUMMER_SEMESTER", columnList = "next_summer_semester")
+})
 public class PartnerUniversity {
     @Id
     @SequenceGenerator(
@@ -24,6 +35,11 @@ public class PartnerUniversity {
     )
     private Long id;
 
+    //incremented on every change, including changes to its UniModules, and used as ETag of the PartnerUniversity
+    @Version
+    @JsonIgnore
+    private Long version;
+
     private String name;
     private String country;
     private String departmentName;
@@ -32,12 +48,33 @@ public class PartnerUniversity {
     private Integer maxStudentsIn;
     private Integer maxStudentsOut;
 
+    //taken exchange slots, only ever changed by the conditional updates of the reservations, never by saving the entity
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer reservedStudentsIn = 0;
+
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer reservedStudentsOut = 0;
+
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
     private LocalDate nextSpringSemester;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
     private LocalDate nextSummerSemester;
 
+    //lower case copies of the text columns, so case-insensitive filters can use a plain index
+    @JsonIgnore
+    private String normalizedName;
+
+    @JsonIgnore
+    private String normalizedCountry;
+
+    @JsonIgnore
+    private String normalizedDepartmentName;
+
     @OneToMany(mappedBy = "partnerUniversity", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<UniModule> modules;
 
@@ -63,9 +100,9 @@ public class PartnerUniversity {
     public PartnerUniversity(String name, String country, String departmentName, String departmentUrl,
                              String contactPerson, Integer maxStudentsIn, Integer maxStudentsOut,
                              LocalDate nextSpringSemester, LocalDate nextSummerSemester) {
-        this.name = name;
-        this.country = country;
-        this.departmentName = departmentName;
+        setName(name);
+        setCountry(country);
+        setDepartmentName(departmentName);
         this.departmentUrl = departmentUrl;
         this.contactPerson = contactPerson;
         this.maxStudentsIn = maxStudentsIn;
@@ -74,6 +111,16 @@ public class PartnerUniversity {
         this.nextSummerSemester = nextSummerSemester;
     }
 
+    /**
+     * Normalizes text the way it is stored in the normalized columns
+     *
+     * @param value Text to normalize
+     * @return Lower case text, or null if value is null
+     */
+    public static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
     //Getters and setters
     public Long getId() {
         return id;
@@ -83,12 +130,21 @@ public class PartnerUniversity {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
 
     public void setName(String name) {
         this.name = name;
+        this.normalizedName = normalize(name);
     }
 
     public String getCountry() {
@@ -97,6 +153,7 @@ public class PartnerUniversity {
 
     public void setCountry(String country) {
         this.country = country;
+        this.normalizedCountry = normalize(country);
     }
 
     public String getDepartmentName() {
@@ -105,6 +162,7 @@ public class PartnerUniversity {
 
     public void setDepartmentName(String departmentName) {
         this.departmentName = departmentName;
+        this.normalizedDepartmentName = normalize(departmentName);
     }
 
     public String getDepartmentUrl() {
@@ -139,6 +197,20 @@ public class PartnerUniversity {
         this.maxStudentsOut = maxStudentsOut;
     }
 
+    public Integer getReservedStudentsIn() {
+        return reservedStudentsIn;
+    }
+
+    public Integer getReservedStudentsOut() {
+        return reservedStudentsOut;
+    }
+
+    //the reserved slots are only changed by the queries of the exchange slots, this restores them on a copy
+    void setReservedStudents(Integer reservedStudentsIn, Integer reservedStudentsOut) {
+        this.reservedStudentsIn = reservedStudentsIn;
+        this.reservedStudentsOut = reservedStudentsOut;
+    }
+
     public LocalDate getNextSpringSemester() {
         return nextSpringSemester;
     }
@@ -0,0 +1,157 @@
+package org.thws.management.server.model;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.time.LocalDate;
+
+/**
+ * Any combination of criteria to filter PartnerUniversities by, as the query parameters of a listing
+ * Shared by the clients, which send the criteria, and the server, which binds them to a PartnerUniversityFilter
+ */
+public class PartnerUniversityCriteria {
+    private String name;
+    private String namePrefix;
+    private String country;
+    private String departmentName;
+    private Integer maxStudentsInFrom;
+    private Integer maxStudentsInTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate nextSpringSemesterFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate nextSpringSemesterTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate nextSummerSemesterFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate nextSummerSemesterTo;
+
+    public PartnerUniversityCriteria() {
+    }
+
+    /**
+     * Constructs criteria on the exact, case-insensitive values of the text fields
+     *
+     * @param name           Name of PartnerUniversity to filter by, null to not filter by name
+     * @param country        Country of PartnerUniversity to filter by, null to not filter by country
+     * @param departmentName Department name of PartnerUniversity to filter by, null to not filter by department name
+     */
+    public PartnerUniversityCriteria(String name, String country, String departmentName) {
+        this.name = name;
+        this.country = country;
+        this.departmentName = departmentName;
+    }
+
+    /**
+     * Lists every set criterion as query parameters, to send them with a request or build links that keep the filter
+     *
+     * @return Query parameters of all set criteria
+     */
+    public MultiValueMap<String, String> toQueryParams() {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+
+        addIfSet(queryParams, "name", name);
+        addIfSet(queryParams, "namePrefix", namePrefix);
+        addIfSet(queryParams, "country", country);
+        addIfSet(queryParams, "departmentName", departmentName);
+        addIfSet(queryParams, "maxStudentsInFrom", maxStudentsInFrom);
+        addIfSet(queryParams, "maxStudentsInTo", maxStudentsInTo);
+        addIfSet(queryParams, "nextSpringSemesterFrom", nextSpringSemesterFrom);
+        addIfSet(queryParams, "nextSpringSemesterTo", nextSpringSemesterTo);
+        addIfSet(queryParams, "nextSummerSemesterFrom", nextSummerSemesterFrom);
+        addIfSet(queryParams, "nextSummerSemesterTo", nextSummerSemesterTo);
+
+        return queryParams;
+    }
+
+    private static void addIfSet(MultiValueMap<String, String> queryParams, String key, Object value) {
+        if (value != null) {
+            queryParams.add(key, value.toString());
+        }
+    }
+
+    //Getters and setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public Integer getMaxStudentsInFrom() {
+        return maxStudentsInFrom;
+    }
+
+    public void setMaxStudentsInFrom(Integer maxStudentsInFrom) {
+        this.maxStudentsInFrom = maxStudentsInFrom;
+    }
+
+    public Integer getMaxStudentsInTo() {
+        return maxStudentsInTo;
+    }
+
+    public void setMaxStudentsInTo(Integer maxStudentsInTo) {
+        this.maxStudentsInTo = maxStudentsInTo;
+    }
+
+    public LocalDate getNextSpringSemesterFrom() {
+        return nextSpringSemesterFrom;
+    }
+
+    public void setNextSpringSemesterFrom(LocalDate nextSpringSemesterFrom) {
+        this.nextSpringSemesterFrom = nextSpringSemesterFrom;
+    }
+
+    public LocalDate getNextSpringSemesterTo() {
+        return nextSpringSemesterTo;
+    }
+
+    public void setNextSpringSemesterTo(LocalDate nextSpringSemesterTo) {
+        this.nextSpringSemesterTo = nextSpringSemesterTo;
+    }
+
+    public LocalDate getNextSummerSemesterFrom() {
+        return nextSummerSemesterFrom;
+    }
+
+    public void setNextSummerSemesterFrom(LocalDate nextSummerSemesterFrom) {
+        this.nextSummerSemesterFrom = nextSummerSemesterFrom;
+    }
+
+    public LocalDate getNextSummerSemesterTo() {
+        return nextSummerSemesterTo;
+    }
+
+    public void setNextSummerSemesterTo(LocalDate nextSummerSemesterTo) {
+        this.nextSummerSemesterTo = nextSummerSemesterTo;
+    }
+}
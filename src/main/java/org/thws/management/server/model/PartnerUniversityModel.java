@@ -1,5 +1,6 @@
 package org.thws.management.server.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.hateoas.RepresentationModel;
 
 import java.time.LocalDate;
@@ -7,7 +8,9 @@ import java.util.List;
 
 /**
  * Representation model for a PartnerUniversity, containing only the basic information
+ * Fields left out by the fields query parameter stay null and are not written
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PartnerUniversityModel extends RepresentationModel<PartnerUniversityModel> {
     private Long id;
     private String name;
@@ -0,0 +1,77 @@
+package org.thws.management.server.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of a PartnerUniversity together with its UniModules, as held by the read cache
+ * The cache never hands out the copy itself, every read gets a PartnerUniversity of its own,
+ * so nothing a caller changes ends up in the cache or in the hands of another request
+ */
+public final class PartnerUniversitySnapshot {
+    private final Long id;
+    private final Long version;
+    private final String name;
+    private final String country;
+    private final String departmentName;
+    private final String departmentUrl;
+    private final String contactPerson;
+    private final Integer maxStudentsIn;
+    private final Integer maxStudentsOut;
+    private final Integer reservedStudentsIn;
+    private final Integer reservedStudentsOut;
+    private final LocalDate nextSpringSemester;
+    private final LocalDate nextSummerSemester;
+    private final List<UniModuleSnapshot> modules;
+
+    private PartnerUniversitySnapshot(PartnerUniversity partnerUniversity) {
+        this.id = partnerUniversity.getId();
+        this.version = partnerUniversity.getVersion();
+        this.name = partnerUniversity.getName();
+        this.country = partnerUniversity.getCountry();
+        this.departmentName = partnerUniversity.getDepartmentName();
+        this.departmentUrl = partnerUniversity.getDepartmentUrl();
+        this.contactPerson = partnerUniversity.getContactPerson();
+        this.maxStudentsIn = partnerUniversity.getMaxStudentsIn();
+        this.maxStudentsOut = partnerUniversity.getMaxStudentsOut();
+        this.reservedStudentsIn = partnerUniversity.getReservedStudentsIn();
+        this.reservedStudentsOut = partnerUniversity.getReservedStudentsOut();
+        this.nextSpringSemester = partnerUniversity.getNextSpringSemester();
+        this.nextSummerSemester = partnerUniversity.getNextSummerSemester();
+        this.modules = partnerUniversity.getModules() == null
+                ? null
+                : partnerUniversity.getModules().stream().map(UniModuleSnapshot::of).toList();
+    }
+
+    /**
+     * Copies a PartnerUniversity, its UniModules have to be loaded
+     *
+     * @param partnerUniversity PartnerUniversity to copy
+     * @return Snapshot of the PartnerUniversity
+     */
+    public static PartnerUniversitySnapshot of(PartnerUniversity partnerUniversity) {
+        return new PartnerUniversitySnapshot(partnerUniversity);
+    }
+
+    /**
+     * Creates a new, detached PartnerUniversity from the snapshot, with new UniModules referring to it
+     *
+     * @return Copy of the PartnerUniversity
+     */
+    public PartnerUniversity toPartnerUniversity() {
+        PartnerUniversity partnerUniversity = new PartnerUniversity(name, country, departmentName, departmentUrl,
+                contactPerson, maxStudentsIn, maxStudentsOut, nextSpringSemester, nextSummerSemester);
+        partnerUniversity.setId(id);
+        partnerUniversity.setVersion(version);
+        partnerUniversity.setReservedStudents(reservedStudentsIn, reservedStudentsOut);
+        if (modules != null) {
+            partnerUniversity.setModules(modules.stream()
+                    .map(module -> module.toUniModule(partnerUniversity))
+                    .collect(Collectors.toCollection(ArrayList::new)));
+        }
+
+        return partnerUniversity;
+    }
+}
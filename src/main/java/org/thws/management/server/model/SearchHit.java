@@ -0,0 +1,65 @@
+package org.thws.management.server.model;
+
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Representation model for one result of a full-text search, either a PartnerUniversity or a UniModule
+ */
+public class SearchHit extends RepresentationModel<SearchHit> {
+    private String type;
+    private Long id;
+    private Long partnerUniversityId;
+    private String name;
+    private float score;
+
+    public SearchHit() {
+    }
+
+    public SearchHit(String type, Long id, Long partnerUniversityId, String name, float score) {
+        this.type = type;
+        this.id = id;
+        this.partnerUniversityId = partnerUniversityId;
+        this.name = name;
+        this.score = score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPartnerUniversityId() {
+        return partnerUniversityId;
+    }
+
+    public void setPartnerUniversityId(Long partnerUniversityId) {
+        this.partnerUniversityId = partnerUniversityId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,55 @@
+package org.thws.management.server.model;
+
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Aggregated UniModules offered in one semester, computed by the database
+ */
+public class SemesterStatistics extends RepresentationModel<SemesterStatistics> {
+    private Integer semester;
+    private Long moduleCount;
+    private Long totalEcts;
+    private Double averageEcts;
+
+    public SemesterStatistics() {
+    }
+
+    public SemesterStatistics(Integer semester, Long moduleCount, Long totalEcts, Double averageEcts) {
+        this.semester = semester;
+        this.moduleCount = moduleCount;
+        this.totalEcts = totalEcts;
+        this.averageEcts = averageEcts;
+    }
+
+    public Integer getSemester() {
+        return semester;
+    }
+
+    public void setSemester(Integer semester) {
+        this.semester = semester;
+    }
+
+    public Long getModuleCount() {
+        return moduleCount;
+    }
+
+    public void setModuleCount(Long moduleCount) {
+        this.moduleCount = moduleCount;
+    }
+
+    public Long getTotalEcts() {
+        return totalEcts;
+    }
+
+    public void setTotalEcts(Long totalEcts) {
+        this.totalEcts = totalEcts;
+    }
+
+    public Double getAverageEcts() {
+        return averageEcts;
+    }
+
+    public void setAverageEcts(Double averageEcts) {
+        this.averageEcts = averageEcts;
+    }
+}
@@ -0,0 +1,55 @@
+package org.thws.management.server.model;
+
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Representation model for one completed name, either of a PartnerUniversity or of a UniModule
+ */
+public class Suggestion extends RepresentationModel<Suggestion> {
+    private String type;
+    private Long id;
+    private Long partnerUniversityId;
+    private String name;
+
+    public Suggestion() {
+    }
+
+    public Suggestion(String type, Long id, Long partnerUniversityId, String name) {
+        this.type = type;
+        this.id = id;
+        this.partnerUniversityId = partnerUniversityId;
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPartnerUniversityId() {
+        return partnerUniversityId;
+    }
+
+    public void setPartnerUniversityId(Long partnerUniversityId) {
+        this.partnerUniversityId = partnerUniversityId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -1,18 +1,29 @@
 package org.thws.management.server.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 /**
  * Represents a university module, called UniModule
  */
 @Entity
-@Table(name = "UNI_MODULE")
+@Table(name = "UNI_MODULE", indexes = {
+        @Index(name = "IDX_UNI_MODULE_UNIVERSITY_NAME_ID", columnList = "partner_university_id, name, id"),
+        @Index(name = "IDX_UNI_MODULE_NAME", columnList = "name"),
+        @Index(name = "IDX_UNI_MODULE_UNIVERSITY_ECTS", columnList = "partner_university_id, ects"),
+        @Index(name = "IDX_UNI_MODULE_SEMESTER_ECTS", columnList = "semester, ects")
+})
 public class UniModule {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unimodule_sequence")
     @SequenceGenerator(name = "unimodule_sequence", sequenceName = "unimodule_sequence", allocationSize = 1)
     private Long id;
 
+    //incremented on every change, and used as ETag of the UniModule
+    @Version
+    @JsonIgnore
+    private Long version;
+
     private String name;
     private Integer semester;
     private Integer ects;
@@ -50,6 +61,14 @@ public class UniModule {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
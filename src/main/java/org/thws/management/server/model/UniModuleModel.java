@@ -1,10 +1,13 @@
 package org.thws.management.server.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.hateoas.RepresentationModel;
 
 /**
  * Representation model for a UniModule, containing only the basic information
+ * Fields left out by the fields query parameter stay null and are not written
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UniModuleModel extends RepresentationModel<UniModuleModel> {
     private Long id;
     private String name;
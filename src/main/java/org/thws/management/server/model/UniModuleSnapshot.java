@@ -0,0 +1,67 @@
+package org.thws.management.server.model;
+
+/**
+ * Immutable copy of a UniModule, as held by the read cache
+ * The cache never hands out the copy itself, every read gets a UniModule of its own,
+ * so nothing a caller changes ends up in the cache or in the hands of another request
+ */
+public final class UniModuleSnapshot {
+    private final Long id;
+    private final Long version;
+    private final String name;
+    private final Integer semester;
+    private final Integer ects;
+    private final Long partnerUniversityId;
+
+    private UniModuleSnapshot(UniModule uniModule) {
+        this.id = uniModule.getId();
+        this.version = uniModule.getVersion();
+        this.name = uniModule.getName();
+        this.semester = uniModule.getSemester();
+        this.ects = uniModule.getEcts();
+        //reading the ID does not load the PartnerUniversity
+        this.partnerUniversityId = uniModule.getPartnerUniversity() == null ? null : uniModule.getPartnerUniversity().getId();
+    }
+
+    /**
+     * Copies a UniModule
+     *
+     * @param uniModule UniModule to copy
+     * @return Snapshot of the UniModule
+     */
+    public static UniModuleSnapshot of(UniModule uniModule) {
+        return new UniModuleSnapshot(uniModule);
+    }
+
+    /**
+     * Creates a new, detached UniModule from the snapshot
+     * Its PartnerUniversity only carries the ID, as a lazily loaded PartnerUniversity would
+     *
+     * @return Copy of the UniModule
+     */
+    public UniModule toUniModule() {
+        PartnerUniversity partnerUniversity = null;
+        if (partnerUniversityId != null) {
+            partnerUniversity = new PartnerUniversity();
+            partnerUniversity.setId(partnerUniversityId);
+        }
+
+        return toUniModule(partnerUniversity);
+    }
+
+    //creates the UniModule as a part of the given PartnerUniversity
+    UniModule toUniModule(PartnerUniversity partnerUniversity) {
+        UniModule uniModule = new UniModule();
+        uniModule.setId(id);
+        uniModule.setVersion(version);
+        uniModule.setName(name);
+        if (semester != null) {
+            uniModule.setSemester(semester);
+        }
+        if (ects != null) {
+            uniModule.setEcts(ects);
+        }
+        uniModule.setPartnerUniversity(partnerUniversity);
+        return uniModule;
+    }
+}
@@ -0,0 +1,55 @@
+package org.thws.management.server.model;
+
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Aggregated UniModules of one PartnerUniversity, computed by the database
+ */
+public class UniversityStatistics extends RepresentationModel<UniversityStatistics> {
+    private Long partnerUniversityId;
+    private String name;
+    private Long moduleCount;
+    private Long totalEcts;
+
+    public UniversityStatistics() {
+    }
+
+    public UniversityStatistics(Long partnerUniversityId, String name, Long moduleCount, Long totalEcts) {
+        this.partnerUniversityId = partnerUniversityId;
+        this.name = name;
+        this.moduleCount = moduleCount;
+        this.totalEcts = totalEcts;
+    }
+
+    public Long getPartnerUniversityId() {
+        return partnerUniversityId;
+    }
+
+    public void setPartnerUniversityId(Long partnerUniversityId) {
+        this.partnerUniversityId = partnerUniversityId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getModuleCount() {
+        return moduleCount;
+    }
+
+    public void setModuleCount(Long moduleCount) {
+        this.moduleCount = moduleCount;
+    }
+
+    public Long getTotalEcts() {
+        return totalEcts;
+    }
+
+    public void setTotalEcts(Long totalEcts) {
+        this.totalEcts = totalEcts;
+    }
+}
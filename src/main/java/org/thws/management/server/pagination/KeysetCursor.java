@@ -0,0 +1,95 @@
+package org.thws.management.server.pagination;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset (seek) pagination, pointing at the last row of the previous slice
+ * Encodes the name and ID of that row, which together form the sort key of every listing
+ */
+public class KeysetCursor {
+    private static final char SEPARATOR = ':';
+
+    private final String name;
+    private final Long id;
+
+    /**
+     * Constructs a new KeysetCursor
+     *
+     * @param name Name of the last row of the previous slice
+     * @param id   ID of the last row of the previous slice
+     */
+    public KeysetCursor(String name, Long id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    /**
+     * Decodes a cursor token as received from a client
+     *
+     * @param token Token to decode, an empty token marks the start of the listing
+     * @return The decoded cursor, or null if the listing shall start from the beginning
+     * @throws ResponseStatusException When the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.indexOf(SEPARATOR);
+            Long id = Long.valueOf(decoded.substring(0, separatorIndex));
+
+            return new KeysetCursor(decoded.substring(separatorIndex + 1), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * Encodes this cursor into an opaque, URL safe token
+     *
+     * @return The encoded token
+     */
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Turns this cursor into the condition of a keyset query, matching the rows that come after it
+     * in the order of their name and, for rows of the same name, their ID
+     *
+     * @param nameAttribute Name of the attribute holding the name
+     * @param idAttribute   Name of the attribute holding the ID
+     * @param ascending     Whether the rows are sorted ascending
+     * @param <T>           Type of the entity
+     * @return Specification matching the rows after this cursor
+     */
+    public <T> Specification<T> toSpecification(String nameAttribute, String idAttribute, boolean ascending) {
+        return (root, query, builder) -> {
+            Path<String> namePath = root.get(nameAttribute);
+            Path<Long> idPath = root.get(idAttribute);
+
+            return ascending
+                    ? builder.or(builder.greaterThan(namePath, name),
+                    builder.and(builder.equal(namePath, name), builder.greaterThan(idPath, id)))
+                    : builder.or(builder.lessThan(namePath, name),
+                    builder.and(builder.equal(namePath, name), builder.lessThan(idPath, id)));
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
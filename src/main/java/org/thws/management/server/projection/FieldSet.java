@@ -0,0 +1,98 @@
+package org.thws.management.server.projection;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields of a representation a client has asked for with the fields query parameter, as in "fields=id,name,country"
+ * Narrows both the columns read from the database and the properties written into the response
+ */
+public final class FieldSet {
+    //the only field of a PartnerUniversity that is no column, but its association to the UniModules
+    public static final String UNI_MODULE_MODELS = "uniModuleModels";
+    public static final List<String> PARTNER_UNIVERSITY_FIELDS = List.of("id", "name", "country", "departmentName",
+            "departmentUrl", "contactPerson", "maxStudentsIn", "maxStudentsOut", "nextSpringSemester", "nextSummerSemester",
+            UNI_MODULE_MODELS);
+    public static final List<String> UNI_MODULE_FIELDS = List.of("id", "name", "semester", "ects");
+
+    private static final FieldSet ALL = new FieldSet(null);
+
+    //null if every field is requested
+    private final Set<String> fields;
+
+    private FieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Retrieves the field set of a client that has not restricted the fields
+     *
+     * @return Field set including every field
+     */
+    public static FieldSet all() {
+        return ALL;
+    }
+
+    /**
+     * Parses the value of a fields query parameter
+     *
+     * @param fields    Comma separated names of the requested fields, null or blank for all fields
+     * @param available Names of the fields the representation has
+     * @return The requested fields
+     * @throws ResponseStatusException When a requested field is not one of the available fields
+     */
+    public static FieldSet parse(String fields, List<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(trimmed)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field " + trimmed + ", fields must be some of " + String.join(",", available));
+            }
+            requested.add(trimmed);
+        }
+
+        return requested.isEmpty() ? ALL : new FieldSet(Collections.unmodifiableSet(requested));
+    }
+
+    /**
+     * Tells if the client has not restricted the fields
+     *
+     * @return true if every field is requested
+     */
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * Tells if a field is requested
+     *
+     * @param field Name of the field
+     * @return true if the field is part of the response
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Retrieves the requested fields
+     *
+     * @param available Names of the fields the representation has, returned if every field is requested
+     * @return Names of the requested fields
+     */
+    public Set<String> getFields(List<String> available) {
+        return fields == null ? new LinkedHashSet<>(available) : fields;
+    }
+}
@@ -0,0 +1,143 @@
+package org.thws.management.server.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads only some columns of an entity with one criteria query, and fills them into new instances of the entity
+ * Used for sparse fieldsets, the instances are not managed by the persistence context and must never be saved
+ *
+ * @param <T> Type of the entity
+ */
+class EntityProjection<T> {
+    private final EntityManager entityManager;
+    private final Class<T> type;
+    private final List<String> attributes;
+
+    /**
+     * Constructs a new EntityProjection
+     *
+     * @param entityManager EntityManager to run the queries with
+     * @param type          Type of the entity
+     * @param attributes    Attributes to read, an attribute of an associated entity is written as "association.attribute"
+     */
+    EntityProjection(EntityManager entityManager, Class<T> type, Collection<String> attributes) {
+        this.entityManager = entityManager;
+        this.type = type;
+        this.attributes = List.copyOf(attributes);
+    }
+
+    /**
+     * Reads the entities matching a specification, divided into pages
+     *
+     * @param specification Criteria the entities must fulfill
+     * @param pageable      Paging and sorting information
+     * @return Page of entities having only the projected attributes set
+     */
+    Page<T> findAll(Specification<T> specification, Pageable pageable) {
+        List<T> content = find(specification, pageable.getSort(), pageable.isPaged() ? pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+
+        //counts only when the total can't be told from the page itself
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    /**
+     * Reads the first entities matching a specification
+     *
+     * @param specification Criteria the entities must fulfill
+     * @param sort          Order of the entities
+     * @param offset        Number of entities to skip
+     * @param limit         Maximum number of entities to read
+     * @return Entities having only the projected attributes set
+     */
+    List<T> find(Specification<T> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(pathOf(root, attribute));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit);
+
+        List<T> entities = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            entities.add(toEntity(tuple));
+        }
+        return entities;
+    }
+
+    private long count(Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(type);
+
+        query.select(builder.count(root));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    //an attribute of an associated entity is read from the foreign key column, without joining its table
+    private static Path<?> pathOf(Root<?> root, String attribute) {
+        Path<?> path = root;
+        for (String segment : attribute.split("\\.")) {
+            path = path.get(segment);
+        }
+        return path;
+    }
+
+    //sets the fields directly, as some setters of the entities derive further fields
+    private T toEntity(Tuple tuple) {
+        T entity = instantiate();
+
+        DirectFieldAccessor accessor = new DirectFieldAccessor(entity);
+        accessor.setAutoGrowNestedPaths(true);
+        for (int i = 0; i < attributes.size(); i++) {
+            accessor.setPropertyValue(attributes.get(i), tuple.get(i));
+        }
+
+        return entity;
+    }
+
+    private T instantiate() {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can't instantiate " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.thws.management.server.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.PartnerUniversityCriteria;
+import org.thws.management.server.pagination.KeysetCursor;
+
+/**
+ * Any combination of criteria to filter PartnerUniversities by, bound from the query parameters of a listing,
+ * turned into the specification of the query
+ * Text criteria are case-insensitive and compare against the normalized, indexed columns of PartnerUniversity,
+ * so every criterion stays an index lookup as the table grows
+ */
+public class PartnerUniversityFilter extends PartnerUniversityCriteria {
+
+    public PartnerUniversityFilter() {
+    }
+
+    /**
+     * Constructs a filter on the exact, case-insensitive values of the text columns
+     *
+     * @param name           Name of PartnerUniversity to filter by, null to not filter by name
+     * @param country        Country of PartnerUniversity to filter by, null to not filter by country
+     * @param departmentName Department name of PartnerUniversity to filter by, null to not filter by department name
+     */
+    public PartnerUniversityFilter(String name, String country, String departmentName) {
+        super(name, country, departmentName);
+    }
+
+    /**
+     * Combines every set criterion into one specification
+     *
+     * @return Specification matching PartnerUniversities that fulfill all set criteria
+     */
+    public Specification<PartnerUniversity> toSpecification() {
+        return Specification.allOf(
+                equalTo("normalizedName", PartnerUniversity.normalize(getName())),
+                startsWith("normalizedName", PartnerUniversity.normalize(getNamePrefix())),
+                equalTo("normalizedCountry", PartnerUniversity.normalize(getCountry())),
+                equalTo("normalizedDepartmentName", PartnerUniversity.normalize(getDepartmentName())),
+                between("maxStudentsIn", getMaxStudentsInFrom(), getMaxStudentsInTo()),
+                between("nextSpringSemester", getNextSpringSemesterFrom(), getNextSpringSemesterTo()),
+                between("nextSummerSemester", getNextSummerSemesterFrom(), getNextSummerSemesterTo())
+        );
+    }
+
+    /**
+     * Combines every set criterion with the position of a keyset cursor, ordered by name and ID
+     *
+     * @param cursor    Position of the last PartnerUniversity of the previous slice, null to start from the beginning
+     * @param ascending Whether the PartnerUniversities are sorted ascending
+     * @return Specification matching PartnerUniversities that fulfill all set criteria and come after the cursor
+     */
+    public Specification<PartnerUniversity> toSpecification(KeysetCursor cursor, boolean ascending) {
+        if (cursor == null) {
+            return toSpecification();
+        }
+
+        return toSpecification().and(cursor.toSpecification("name", "id", ascending));
+    }
+
+    private static Specification<PartnerUniversity> equalTo(String attribute, String value) {
+        return value == null ? null : (root, query, builder) -> builder.equal(root.get(attribute), value);
+    }
+
+    private static Specification<PartnerUniversity> startsWith(String attribute, String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, builder) -> builder.like(root.get(attribute), pattern, '\\');
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<PartnerUniversity> between(String attribute, Y from, Y to) {
+        if (from == null && to == null) {
+            return null;
+        } else if (to == null) {
+            return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get(attribute), from);
+        } else if (from == null) {
+            return (root, query, builder) -> builder.lessThanOrEqualTo(root.get(attribute), to);
+        } else {
+            return (root, query, builder) -> builder.between(root.get(attribute), from, to);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.thws.management.server.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.projection.FieldSet;
+
+import java.util.List;
+
+/**
+ * Fragment of the PartnerUniversity repository reading only the columns of requested fields
+ * The ID, version and name are always read, as they are needed for the links, ETags and cursors
+ * The returned PartnerUniversities are not managed and have no UniModules, they must never be saved
+ */
+public interface PartnerUniversityProjectionRepository {
+    /**
+     * Reads the PartnerUniversities matching a specification, divided into pages
+     *
+     * @param specification Criteria the PartnerUniversities must fulfill
+     * @param pageable      Paging and sorting information
+     * @param fields        Fields to read
+     * @return Page of PartnerUniversities having only the requested fields set
+     */
+    Page<PartnerUniversity> findAllProjected(Specification<PartnerUniversity> specification, Pageable pageable, FieldSet fields);
+
+    /**
+     * Reads the first PartnerUniversities matching a specification
+     *
+     * @param specification Criteria the PartnerUniversities must fulfill
+     * @param sort          Order of the PartnerUniversities
+     * @param limit         Maximum number of PartnerUniversities to read
+     * @param fields        Fields to read
+     * @return PartnerUniversities having only the requested fields set
+     */
+    List<PartnerUniversity> findProjected(Specification<PartnerUniversity> specification, Sort sort, int limit, FieldSet fields);
+}
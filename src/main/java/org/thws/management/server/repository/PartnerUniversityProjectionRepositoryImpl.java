@@ -0,0 +1,40 @@
+package org.thws.management.server.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.projection.FieldSet;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of the PartnerUniversityProjectionRepository, picked up by Spring Data by its name
+ */
+class PartnerUniversityProjectionRepositoryImpl implements PartnerUniversityProjectionRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<PartnerUniversity> findAllProjected(Specification<PartnerUniversity> specification, Pageable pageable, FieldSet fields) {
+        return projection(fields).findAll(specification, pageable);
+    }
+
+    @Override
+    public List<PartnerUniversity> findProjected(Specification<PartnerUniversity> specification, Sort sort, int limit, FieldSet fields) {
+        return projection(fields).find(specification, sort, 0, limit);
+    }
+
+    private EntityProjection<PartnerUniversity> projection(FieldSet fields) {
+        Set<String> attributes = new LinkedHashSet<>(List.of("id", "version", "name"));
+        attributes.addAll(fields.getFields(FieldSet.PARTNER_UNIVERSITY_FIELDS));
+        attributes.remove(FieldSet.UNI_MODULE_MODELS);
+
+        return new EntityProjection<>(entityManager, PartnerUniversity.class, attributes);
+    }
+}
@@ -1,38 +1,96 @@
 package org.thws.management.server.repository;
 
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
+import org.thws.management.server.model.CountryStatistics;
+import org.thws.management.server.model.ExchangeSlots;
 import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniversityStatistics;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * PartnerUniversity repository, to interact with the database and retrieve information
  */
 @Repository
-public interface PartnerUniversityRepository extends JpaRepository<PartnerUniversity, Long>, PagingAndSortingRepository<PartnerUniversity, Long> {
+public interface PartnerUniversityRepository extends JpaRepository<PartnerUniversity, Long>, PagingAndSortingRepository<PartnerUniversity, Long>,
+        JpaSpecificationExecutor<PartnerUniversity>, PartnerUniversityProjectionRepository {
     Optional<PartnerUniversity> findPartnerUniversityByName(String name);
 
     @NonNull
     Page<PartnerUniversity> findAll(@NonNull Pageable pageable);
 
-    //the following are responsible for filtering
-    Page<PartnerUniversity> findByNameAndCountryAndDepartmentNameAllIgnoreCase(String name, String country, String departmentName, Pageable pageable);
+    @EntityGraph(attributePaths = "modules")
+    Optional<PartnerUniversity> findWithModulesById(Long id);
 
-    Page<PartnerUniversity> findByNameAndCountryAllIgnoreCase(String name, String country, Pageable pageable);
+    //locks the PartnerUniversity and increments its version right away, as changing its modules changes its representation
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    Optional<PartnerUniversity> findWithVersionIncrementById(Long id);
 
-    Page<PartnerUniversity> findByNameAndDepartmentNameAllIgnoreCase(String name, String departmentName, Pageable pageable);
+    //reads every PartnerUniversity through a cursor, to export all of them without loading them at once
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PartnerUniversity> streamAllByOrderByIdAsc();
 
-    Page<PartnerUniversity> findByCountryAndDepartmentNameAllIgnoreCase(String country, String departmentName, Pageable pageable);
+    //the following aggregate in the database and return only the aggregates, no entity is loaded
+    //walks the PartnerUniversities in the order of the name index and aggregates the UniModules of the page only
+    @Query(value = "SELECT new org.thws.management.server.model.UniversityStatistics(p.id, p.name, " +
+            "(SELECT COUNT(m.id) FROM UniModule m WHERE m.partnerUniversity.id = p.id), " +
+            "(SELECT COALESCE(SUM(m.ects), 0L) FROM UniModule m WHERE m.partnerUniversity.id = p.id)) " +
+            "FROM PartnerUniversity p ORDER BY p.name, p.id",
+            countQuery = "SELECT COUNT(p) FROM PartnerUniversity p")
+    Page<UniversityStatistics> findUniversityStatistics(Pageable pageable);
 
-    Page<PartnerUniversity> findByNameIgnoreCase(String name, Pageable pageable);
+    //sums up the UniModules per PartnerUniversity along the index on both columns first, and only those sums per country
+    @Query("SELECT new org.thws.management.server.model.CountryStatistics(p.country, COUNT(p.id), " +
+            "COALESCE(SUM(s.moduleCount), 0L), CAST(SUM(s.totalEcts) AS Double) / SUM(s.moduleCount)) " +
+            "FROM PartnerUniversity p LEFT JOIN (SELECT m.partnerUniversity.id AS partnerUniversityId, " +
+            "COUNT(m.id) AS moduleCount, SUM(m.ects) AS totalEcts FROM UniModule m GROUP BY m.partnerUniversity.id) s " +
+            "ON s.partnerUniversityId = p.id GROUP BY p.country ORDER BY p.country")
+    List<CountryStatistics> findCountryStatistics();
 
-    Page<PartnerUniversity> findByCountryIgnoreCase(String country, Pageable pageable);
+    //the following take or give back one exchange slot in a single statement, which only matches while the bound holds,
+    //so concurrent reservations of the same PartnerUniversity queue on its row lock and can never oversubscribe it
+    @Modifying
+    @Query("UPDATE PartnerUniversity p SET p.reservedStudentsIn = p.reservedStudentsIn + 1, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.reservedStudentsIn < p.maxStudentsIn")
+    int reserveIncomingSlot(@Param("id") Long id);
 
-    Page<PartnerUniversity> findByDepartmentNameIgnoreCase(String departmentName, Pageable pageable);
+    @Modifying
+    @Query("UPDATE PartnerUniversity p SET p.reservedStudentsOut = p.reservedStudentsOut + 1, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.reservedStudentsOut < p.maxStudentsOut")
+    int reserveOutgoingSlot(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE PartnerUniversity p SET p.reservedStudentsIn = p.reservedStudentsIn - 1, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.reservedStudentsIn > 0")
+    int releaseIncomingSlot(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE PartnerUniversity p SET p.reservedStudentsOut = p.reservedStudentsOut - 1, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.reservedStudentsOut > 0")
+    int releaseOutgoingSlot(@Param("id") Long id);
+
+    @Query("SELECT new org.thws.management.server.model.ExchangeSlots(p.id, p.maxStudentsIn, p.reservedStudentsIn, " +
+            "p.maxStudentsOut, p.reservedStudentsOut) FROM PartnerUniversity p WHERE p.id = :id")
+    Optional<ExchangeSlots> findExchangeSlotsById(@Param("id") Long id);
 }
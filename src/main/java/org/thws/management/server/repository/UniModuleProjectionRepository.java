@@ -0,0 +1,38 @@
+package org.thws.management.server.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.thws.management.server.model.UniModule;
+import org.thws.management.server.projection.FieldSet;
+
+import java.util.List;
+
+/**
+ * Fragment of the UniModule repository reading only the columns of requested fields
+ * The ID, version, name and the ID of the PartnerUniversity are always read, as they are needed for the links,
+ * ETags and cursors. The returned UniModules are not managed, they must never be saved
+ */
+public interface UniModuleProjectionRepository {
+    /**
+     * Reads the UniModules matching a specification, divided into pages
+     *
+     * @param specification Criteria the UniModules must fulfill
+     * @param pageable      Paging and sorting information
+     * @param fields        Fields to read
+     * @return Page of UniModules having only the requested fields set
+     */
+    Page<UniModule> findAllProjected(Specification<UniModule> specification, Pageable pageable, FieldSet fields);
+
+    /**
+     * Reads the first UniModules matching a specification
+     *
+     * @param specification Criteria the UniModules must fulfill
+     * @param sort          Order of the UniModules
+     * @param limit         Maximum number of UniModules to read
+     * @param fields        Fields to read
+     * @return UniModules having only the requested fields set
+     */
+    List<UniModule> findProjected(Specification<UniModule> specification, Sort sort, int limit, FieldSet fields);
+}
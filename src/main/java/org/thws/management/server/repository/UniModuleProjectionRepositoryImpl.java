@@ -0,0 +1,39 @@
+package org.thws.management.server.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.thws.management.server.model.UniModule;
+import org.thws.management.server.projection.FieldSet;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of the UniModuleProjectionRepository, picked up by Spring Data by its name
+ */
+class UniModuleProjectionRepositoryImpl implements UniModuleProjectionRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UniModule> findAllProjected(Specification<UniModule> specification, Pageable pageable, FieldSet fields) {
+        return projection(fields).findAll(specification, pageable);
+    }
+
+    @Override
+    public List<UniModule> findProjected(Specification<UniModule> specification, Sort sort, int limit, FieldSet fields) {
+        return projection(fields).find(specification, sort, 0, limit);
+    }
+
+    private EntityProjection<UniModule> projection(FieldSet fields) {
+        Set<String> attributes = new LinkedHashSet<>(List.of("id", "version", "name", "partnerUniversity.id"));
+        attributes.addAll(fields.getFields(FieldSet.UNI_MODULE_FIELDS));
+
+        return new EntityProjection<>(entityManager, UniModule.class, attributes);
+    }
+}
@@ -1,21 +1,68 @@
 package org.thws.management.server.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.thws.management.server.model.SemesterStatistics;
 import org.thws.management.server.model.UniModule;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * UniModule repository, to interact with the database and retrieve information
  */
 @Repository
-public interface UniModuleRepository extends JpaRepository<UniModule, Long> {
+public interface UniModuleRepository extends JpaRepository<UniModule, Long>, UniModuleProjectionRepository {
     Optional<UniModule> findUniModuleByName(String name);
 
     Optional<UniModule> findByPartnerUniversityIdAndId(Long partnerUniversityId, Long moduleId);
 
     Page<UniModule> findByPartnerUniversityId(Long partnerUniversityId, Pageable pageable);
+
+    //the following are responsible for keyset pagination, they never run a count query
+    Slice<UniModule> findSliceByPartnerUniversityId(Long partnerUniversityId, Pageable pageable);
+
+    @Query("SELECT m FROM UniModule m WHERE m.partnerUniversity.id = :partnerUniversityId " +
+            "AND (m.name > :name OR (m.name = :name AND m.id > :id))")
+    Slice<UniModule> findSliceAfter(@Param("partnerUniversityId") Long partnerUniversityId,
+                                    @Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM UniModule m WHERE m.partnerUniversity.id = :partnerUniversityId " +
+            "AND (m.name < :name OR (m.name = :name AND m.id < :id))")
+    Slice<UniModule> findSliceBefore(@Param("partnerUniversityId") Long partnerUniversityId,
+                                     @Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    //the following load the UniModules of a whole page of PartnerUniversities in a single query, ordered as they are embedded
+    @Query("SELECT m FROM UniModule m WHERE m.partnerUniversity.id IN :partnerUniversityIds " +
+            "ORDER BY m.partnerUniversity.id, m.name, m.id")
+    List<UniModule> findByPartnerUniversityIds(@Param("partnerUniversityIds") Collection<Long> partnerUniversityIds);
+
+    //numbers the UniModules of every PartnerUniversity by name and keeps only the first ones, so no others are loaded
+    @Query("SELECT m FROM UniModule m JOIN (SELECT n.id AS id, ROW_NUMBER() OVER (PARTITION BY n.partnerUniversity.id " +
+            "ORDER BY n.name, n.id) AS position FROM UniModule n WHERE n.partnerUniversity.id IN :partnerUniversityIds) r " +
+            "ON r.id = m.id WHERE r.position <= :limit ORDER BY m.partnerUniversity.id, m.name, m.id")
+    List<UniModule> findFirstByPartnerUniversityIds(@Param("partnerUniversityIds") Collection<Long> partnerUniversityIds,
+                                                    @Param("limit") long limit);
+
+    //reads every UniModule through a cursor, in the same order as the PartnerUniversities they belong to are exported
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UniModule> streamAllByOrderByPartnerUniversityIdAscIdAsc();
+
+    //aggregates in the database and returns only the aggregates, no entity is loaded
+    @Query("SELECT new org.thws.management.server.model.SemesterStatistics(m.semester, COUNT(m.id), COALESCE(SUM(m.ects), 0L), AVG(m.ects)) " +
+            "FROM UniModule m GROUP BY m.semester ORDER BY m.semester")
+    List<SemesterStatistics> findSemesterStatistics();
 }
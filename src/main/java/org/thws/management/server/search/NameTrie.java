@@ -0,0 +1,234 @@
+package org.thws.management.server.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix tree over the names of the PartnerUniversities and UniModules of one schema, held in memory
+ * Every name is reachable from the start of each of its words, ignoring case, so "lear" completes "Machine Learning"
+ * Completions are found by walking down the typed prefix and collecting the names below it in alphabetical order,
+ * which only visits as many nodes as the prefix is long plus those needed for the requested number of names
+ */
+public class NameTrie {
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> modulesByUniversity = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a PartnerUniversity, or replaces the name it has been added with before
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param name                Name of the PartnerUniversity
+     */
+    public void putPartnerUniversity(Long partnerUniversityId, String name) {
+        put(new Entry(SearchIndex.TYPE_PARTNER_UNIVERSITY, partnerUniversityId, partnerUniversityId, name));
+    }
+
+    /**
+     * Removes a PartnerUniversity together with all of its UniModules
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     */
+    public void deletePartnerUniversity(Long partnerUniversityId) {
+        lock.writeLock().lock();
+        try {
+            remove(keyOf(SearchIndex.TYPE_PARTNER_UNIVERSITY, partnerUniversityId));
+            Set<Long> uniModuleIds = modulesByUniversity.remove(partnerUniversityId);
+            if (uniModuleIds != null) {
+                uniModuleIds.forEach(uniModuleId -> remove(keyOf(SearchIndex.TYPE_UNI_MODULE, uniModuleId)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a UniModule, or replaces the name it has been added with before
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity the UniModule belongs to
+     * @param uniModuleId         ID of the UniModule
+     * @param name                Name of the UniModule
+     */
+    public void putUniModule(Long partnerUniversityId, Long uniModuleId, String name) {
+        put(new Entry(SearchIndex.TYPE_UNI_MODULE, uniModuleId, partnerUniversityId, name));
+    }
+
+    /**
+     * Removes a UniModule
+     *
+     * @param uniModuleId ID of the UniModule
+     */
+    public void deleteUniModule(Long uniModuleId) {
+        lock.writeLock().lock();
+        try {
+            Entry removed = remove(keyOf(SearchIndex.TYPE_UNI_MODULE, uniModuleId));
+            if (removed != null) {
+                Set<Long> uniModuleIds = modulesByUniversity.get(removed.partnerUniversityId);
+                if (uniModuleIds != null) {
+                    uniModuleIds.remove(uniModuleId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the names containing a word that starts with the given prefix, in alphabetical order
+     *
+     * @param prefix Beginning of a word of the names, may span several words
+     * @param limit  Maximum number of names to return
+     * @return The matching names, each PartnerUniversity and UniModule at most once
+     */
+    public List<Entry> complete(String prefix, int limit) {
+        String normalized = normalize(prefix);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.children.get(normalized.charAt(i));
+            }
+
+            Set<Entry> completions = new LinkedHashSet<>();
+            if (node != null) {
+                collect(node, completions, limit);
+            }
+            return new ArrayList<>(completions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            remove(entry.key());
+            entries.put(entry.key(), entry);
+            for (String suffix : wordSuffixes(entry.name)) {
+                Node node = root;
+                for (int i = 0; i < suffix.length(); i++) {
+                    node = node.children.computeIfAbsent(suffix.charAt(i), character -> new Node());
+                }
+                node.entries.add(entry);
+            }
+
+            if (SearchIndex.TYPE_UNI_MODULE.equals(entry.type)) {
+                modulesByUniversity.computeIfAbsent(entry.partnerUniversityId, id -> new HashSet<>()).add(entry.id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //removes every path of the entry, and the nodes that lead to nothing else anymore
+    private Entry remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            for (String suffix : wordSuffixes(entry.name)) {
+                remove(root, suffix, 0, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static boolean remove(Node node, String suffix, int depth, Entry entry) {
+        if (depth == suffix.length()) {
+            node.entries.remove(entry);
+        } else {
+            Node child = node.children.get(suffix.charAt(depth));
+            if (child != null && remove(child, suffix, depth + 1, entry)) {
+                node.children.remove(suffix.charAt(depth));
+            }
+        }
+        return node.entries.isEmpty() && node.children.isEmpty();
+    }
+
+    private static void collect(Node node, Set<Entry> completions, int limit) {
+        for (Entry entry : node.entries) {
+            if (completions.size() == limit) {
+                return;
+            }
+            completions.add(entry);
+        }
+
+        for (Node child : node.children.values()) {
+            if (completions.size() == limit) {
+                return;
+            }
+            collect(child, completions, limit);
+        }
+    }
+
+    //the name from the start of each of its words on
+    private static Set<String> wordSuffixes(String name) {
+        String normalized = normalize(name);
+        Set<String> suffixes = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)))) {
+                suffixes.add(normalized.substring(i));
+            }
+        }
+        return suffixes;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String keyOf(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final List<Entry> entries = new ArrayList<>(1);
+    }
+
+    /**
+     * Name of one PartnerUniversity or UniModule
+     */
+    public static class Entry {
+        private final String type;
+        private final Long id;
+        private final Long partnerUniversityId;
+        private final String name;
+
+        Entry(String type, Long id, Long partnerUniversityId, String name) {
+            this.type = type;
+            this.id = id;
+            this.partnerUniversityId = partnerUniversityId;
+            this.name = name;
+        }
+
+        private String key() {
+            return keyOf(type, id);
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getPartnerUniversityId() {
+            return partnerUniversityId;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.thws.management.server.search;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory indexes kept per schema, each of them built from the tables of its schema on first use
+ * The build runs outside of the map, on the thread that needs the index first, while other threads asking for it
+ * wait for the same build instead of starting one of their own
+ * Changes committed while an index is built wait for it, and are applied to it afterwards
+ *
+ * @param <T> Type of the index, which has to accept changes from several threads at once
+ */
+public class SchemaIndexes<T> {
+    private static final String DEFAULT_SCHEMA = "PUBLIC";
+
+    private final Map<String, FutureTask<T>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the index of a schema, building it on first use
+     * A failed build is discarded, so the next call starts a new one
+     *
+     * @param schema  Name of the schema, null for the default schema
+     * @param builder Builds the index from the tables, called on the current thread and thus in its schema
+     * @return The index of the schema
+     */
+    public T get(String schema, Supplier<T> builder) {
+        String key = keyOf(schema);
+        FutureTask<T> index = indexes.get(key);
+        if (index == null) {
+            FutureTask<T> build = new FutureTask<>(builder::get);
+            index = indexes.putIfAbsent(key, build);
+            if (index == null) {
+                index = build;
+                build.run();
+            }
+        }
+
+        try {
+            return await(index);
+        } catch (ExecutionException e) {
+            indexes.remove(key, index);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Index of schema " + key + " could not be built", e.getCause());
+        }
+    }
+
+    /**
+     * Applies a change to the index of a schema, if that has been built or is being built
+     *
+     * @param schema Name of the schema, null for the default schema
+     * @param change Change to apply
+     */
+    public void update(String schema, Consumer<T> change) {
+        FutureTask<T> index = indexes.get(keyOf(schema));
+        if (index == null) {
+            return;
+        }
+
+        try {
+            change.accept(await(index));
+        } catch (ExecutionException e) {
+            //the failed build is discarded, the next one reads the change from the tables
+        }
+    }
+
+    /**
+     * Discards the index of a schema, it is built again on its next use
+     *
+     * @param schema Name of the schema, null for the default schema
+     */
+    public void remove(String schema) {
+        indexes.remove(keyOf(schema));
+    }
+
+    private static <T> T await(FutureTask<T> index) throws ExecutionException {
+        try {
+            return index.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an index to be built", e);
+        }
+    }
+
+    private static String keyOf(String schema) {
+        return schema == null ? DEFAULT_SCHEMA : schema;
+    }
+}
@@ -0,0 +1,324 @@
+package org.thws.management.server.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over the PartnerUniversities and UniModules of one schema, held in memory
+ * Every UniModule is indexed together with the name, department and country of its PartnerUniversity,
+ * so a query combining words of both, as "machine learning italy", finds the UniModule itself
+ * Writes are applied one after another and are visible to the next search right away
+ */
+public class SearchIndex {
+    public static final String TYPE_PARTNER_UNIVERSITY = "partner-university";
+    public static final String TYPE_UNI_MODULE = "uni-module";
+
+    public static final String NAME = "name";
+    public static final String UNIVERSITY_NAME = "universityName";
+    public static final String DEPARTMENT_NAME = "departmentName";
+    public static final String COUNTRY = "country";
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String PARTNER_UNIVERSITY_ID = "partnerUniversityId";
+    //indexed ID of the PartnerUniversity of a UniModule, kept apart from the stored one as Lucene needs one type per field
+    private static final String MODULE_OF = "moduleOf";
+
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    /**
+     * Creates an empty index
+     *
+     * @param analyzer Analyzer splitting the indexed values into terms, the same as used for the queries
+     */
+    public SearchIndex(Analyzer analyzer) {
+        try {
+            this.indexWriter = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(indexWriter, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds or replaces a PartnerUniversity, and updates the university values of its indexed UniModules
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param name                Name of the PartnerUniversity
+     * @param departmentName      Name of its department
+     * @param country             Country it is located in
+     */
+    public synchronized void putPartnerUniversity(Long partnerUniversityId, String name, String departmentName, String country) {
+        try {
+            Document university = universityDocument(partnerUniversityId, name, departmentName, country);
+            indexWriter.updateDocument(keyOf(TYPE_PARTNER_UNIVERSITY, partnerUniversityId), university);
+
+            for (Document uniModule : find(new TermQuery(new Term(MODULE_OF, partnerUniversityId.toString())))) {
+                Long uniModuleId = uniModule.getField(ID).numericValue().longValue();
+                indexWriter.updateDocument(keyOf(TYPE_UNI_MODULE, uniModuleId),
+                        moduleDocument(uniModuleId, uniModule.get(NAME), university));
+            }
+
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes a PartnerUniversity together with all of its UniModules
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     */
+    public synchronized void deletePartnerUniversity(Long partnerUniversityId) {
+        try {
+            indexWriter.deleteDocuments(keyOf(TYPE_PARTNER_UNIVERSITY, partnerUniversityId),
+                    new Term(MODULE_OF, partnerUniversityId.toString()));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds or replaces a UniModule, with the values of its PartnerUniversity taken from the index
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity the UniModule belongs to
+     * @param uniModuleId         ID of the UniModule
+     * @param name                Name of the UniModule
+     */
+    public synchronized void putUniModule(Long partnerUniversityId, Long uniModuleId, String name) {
+        try {
+            List<Document> universities = find(new TermQuery(keyOf(TYPE_PARTNER_UNIVERSITY, partnerUniversityId)));
+            Document university = universities.isEmpty()
+                    ? universityDocument(partnerUniversityId, null, null, null)
+                    : universities.get(0);
+
+            indexWriter.updateDocument(keyOf(TYPE_UNI_MODULE, uniModuleId), moduleDocument(uniModuleId, name, university));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes a UniModule
+     *
+     * @param uniModuleId ID of the UniModule
+     */
+    public synchronized void deleteUniModule(Long uniModuleId) {
+        try {
+            indexWriter.deleteDocuments(keyOf(TYPE_UNI_MODULE, uniModuleId));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts filling a new index from the tables, without looking up or refreshing anything per document
+     *
+     * @return Loader taking all PartnerUniversities first and all UniModules afterwards
+     */
+    public Loader load() {
+        return new Loader();
+    }
+
+    /**
+     * Retrieves one page of the documents matching a query, ordered by relevance
+     *
+     * @param query  Query to match the documents with
+     * @param offset Number of best matching documents to skip
+     * @param limit  Maximum number of documents to return
+     * @return The matching documents of the page, and the number of all matching documents
+     */
+    public Result search(Query query, int offset, int limit) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int total = searcher.count(query);
+                List<Hit> hits = new ArrayList<>();
+                if (offset < total) {
+                    TopDocs topDocs = searcher.search(query, offset + limit);
+                    for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                        ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                        hits.add(new Hit(searcher.storedFields().document(scoreDoc.doc), scoreDoc.score));
+                    }
+                }
+
+                return new Result(hits, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Document> find(Query query) throws IOException {
+        searcherManager.maybeRefreshBlocking();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            List<Document> documents = new ArrayList<>();
+            for (ScoreDoc scoreDoc : searcher.search(query, Math.max(1, searcher.count(query))).scoreDocs) {
+                documents.add(searcher.storedFields().document(scoreDoc.doc));
+            }
+            return documents;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private static Term keyOf(String type, Long id) {
+        return new Term(KEY, type + ":" + id);
+    }
+
+    private static Document universityDocument(Long partnerUniversityId, String name, String departmentName, String country) {
+        Document document = new Document();
+        document.add(new StringField(KEY, keyOf(TYPE_PARTNER_UNIVERSITY, partnerUniversityId).text(), Field.Store.NO));
+        document.add(new StoredField(TYPE, TYPE_PARTNER_UNIVERSITY));
+        document.add(new StoredField(ID, partnerUniversityId));
+        document.add(new StoredField(PARTNER_UNIVERSITY_ID, partnerUniversityId));
+        addText(document, NAME, name);
+        addText(document, DEPARTMENT_NAME, departmentName);
+        addText(document, COUNTRY, country);
+        return document;
+    }
+
+    private static Document moduleDocument(Long uniModuleId, String name, Document university) {
+        Long partnerUniversityId = university.getField(ID).numericValue().longValue();
+
+        Document document = new Document();
+        document.add(new StringField(KEY, keyOf(TYPE_UNI_MODULE, uniModuleId).text(), Field.Store.NO));
+        document.add(new StringField(MODULE_OF, partnerUniversityId.toString(), Field.Store.NO));
+        document.add(new StoredField(TYPE, TYPE_UNI_MODULE));
+        document.add(new StoredField(ID, uniModuleId));
+        document.add(new StoredField(PARTNER_UNIVERSITY_ID, partnerUniversityId));
+        addText(document, NAME, name);
+        addText(document, UNIVERSITY_NAME, university.get(NAME));
+        addText(document, DEPARTMENT_NAME, university.get(DEPARTMENT_NAME));
+        addText(document, COUNTRY, university.get(COUNTRY));
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    /**
+     * Adds the documents of a new index in bulk, and makes them visible at once when finished
+     */
+    public class Loader {
+        private final Map<Long, Document> universities = new HashMap<>();
+
+        private Loader() {
+        }
+
+        public void addPartnerUniversity(Long partnerUniversityId, String name, String departmentName, String country) {
+            Document university = universityDocument(partnerUniversityId, name, departmentName, country);
+            universities.put(partnerUniversityId, university);
+            add(university);
+        }
+
+        public void addUniModule(Long partnerUniversityId, Long uniModuleId, String name) {
+            Document university = universities.computeIfAbsent(partnerUniversityId,
+                    id -> universityDocument(id, null, null, null));
+            add(moduleDocument(uniModuleId, name, university));
+        }
+
+        public void finish() {
+            try {
+                searcherManager.maybeRefreshBlocking();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void add(Document document) {
+            try {
+                indexWriter.addDocument(document);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Matching documents of one page, together with the number of all matching documents
+     */
+    public static class Result {
+        private final List<Hit> hits;
+        private final int total;
+
+        Result(List<Hit> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * One matching document with its relevance
+     */
+    public static class Hit {
+        private final Document document;
+        private final float score;
+
+        Hit(Document document, float score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        public String getType() {
+            return document.get(TYPE);
+        }
+
+        public Long getId() {
+            return document.getField(ID).numericValue().longValue();
+        }
+
+        public Long getPartnerUniversityId() {
+            return document.getField(PARTNER_UNIVERSITY_ID).numericValue().longValue();
+        }
+
+        public String getName() {
+            return document.get(NAME);
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+}
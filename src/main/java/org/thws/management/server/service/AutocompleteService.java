@@ -0,0 +1,111 @@
+package org.thws.management.server.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thws.management.server.config.MetricsConfig;
+import org.thws.management.server.event.CatalogReplacedEvent;
+import org.thws.management.server.event.PartnerUniversityChangedEvent;
+import org.thws.management.server.event.UniModuleChangedEvent;
+import org.thws.management.server.search.NameTrie;
+import org.thws.management.server.search.SchemaIndexes;
+import org.thws.management.server.session.SessionContext;
+
+import java.util.List;
+
+/**
+ * Service class completing typed prefixes to the names of PartnerUniversities and UniModules
+ * Keeps one prefix tree per schema in memory, so completing a prefix never queries the database
+ * A tree is built from the tables when its schema is completed for the first time,
+ * afterwards it is kept up to date by the change events of the services, applied once their transaction has committed
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
+public class AutocompleteService {
+    private final JdbcTemplate jdbcTemplate;
+    private final SchemaIndexes<NameTrie> tries = new SchemaIndexes<>();
+
+    /**
+     * Constructs a new AutocompleteService
+     *
+     * @param jdbcTemplate JdbcTemplate to read the names with, when a tree is built
+     */
+    @Autowired
+    public AutocompleteService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Retrieves the names of PartnerUniversities and UniModules having a word that starts with the given prefix
+     *
+     * @param prefix Typed beginning of a word, case is ignored
+     * @param limit  Maximum number of names to return
+     * @return The matching names in alphabetical order of the completed words
+     */
+    public List<NameTrie.Entry> complete(String prefix, int limit) {
+        return tries.get(SessionContext.currentSchema(), this::buildTrie).complete(prefix, limit);
+    }
+
+    /**
+     * Applies a created, updated or deleted PartnerUniversity to the tree of its schema, if that has been built yet
+     *
+     * @param event The change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartnerUniversityChanged(PartnerUniversityChangedEvent event) {
+        tries.update(event.getSchema(), trie -> {
+            if (event.isDeleted()) {
+                trie.deletePartnerUniversity(event.getPartnerUniversityId());
+            } else {
+                trie.putPartnerUniversity(event.getPartnerUniversityId(), event.getName());
+            }
+        });
+    }
+
+    /**
+     * Applies a created, updated or deleted UniModule to the tree of its schema, if that has been built yet
+     *
+     * @param event The change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUniModuleChanged(UniModuleChangedEvent event) {
+        tries.update(event.getSchema(), trie -> {
+            if (event.isDeleted()) {
+                trie.deleteUniModule(event.getUniModuleId());
+            } else {
+                trie.putUniModule(event.getPartnerUniversityId(), event.getUniModuleId(), event.getName());
+            }
+        });
+    }
+
+    /**
+     * Discards the tree of a schema whose content has been replaced, it is built again by the next completion
+     *
+     * @param event The replacement
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReplaced(CatalogReplacedEvent event) {
+        tries.remove(event.getSchema());
+    }
+
+    /**
+     * Builds the tree of the current schema from the tables, called by the first completion in the schema
+     * Changes committed while it is built wait for it, and are applied to it afterwards
+     *
+     * @return The tree of the current schema
+     */
+    private NameTrie buildTrie() {
+        NameTrie trie = new NameTrie();
+
+        jdbcTemplate.query("SELECT ID, NAME FROM PARTNER_UNIVERSITY", resultSet -> {
+            trie.putPartnerUniversity(resultSet.getLong(1), resultSet.getString(2));
+        });
+        jdbcTemplate.query("SELECT PARTNER_UNIVERSITY_ID, ID, NAME FROM UNI_MODULE", resultSet -> {
+            trie.putUniModule(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3));
+        });
+
+        return trie;
+    }
+}
@@ -0,0 +1,53 @@
+package org.thws.management.server.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service class for reading the statistics of the read caches, used to size them
+ */
+@Service
+public class CacheStatisticsService {
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructs a new CacheStatisticsService
+     *
+     * @param cacheManager Manager holding the read caches
+     */
+    @Autowired
+    public CacheStatisticsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Collects hits, misses, evictions and the current size of every cache
+     *
+     * @return Statistics per cache name
+     */
+    public Map<String, Map<String, Object>> getCacheStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+
+                Map<String, Object> cacheStatistics = new LinkedHashMap<>();
+                cacheStatistics.put("size", caffeineCache.getNativeCache().estimatedSize());
+                cacheStatistics.put("hits", stats.hitCount());
+                cacheStatistics.put("misses", stats.missCount());
+                cacheStatistics.put("hitRate", stats.hitRate());
+                cacheStatistics.put("evictions", stats.evictionCount());
+                statistics.put(cacheName, cacheStatistics);
+            }
+        }
+
+        return statistics;
+    }
+}
@@ -1,83 +1,248 @@
 package org.thws.management.server.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.thws.management.server.config.PartnerUniversityConfig;
-import org.thws.management.server.config.UniModuleConfig;
-import org.thws.management.server.model.PartnerUniversity;
-import org.thws.management.server.repository.PartnerUniversityRepository;
-import org.thws.management.server.repository.UniModuleRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thws.management.server.config.CacheConfig;
+import org.thws.management.server.event.CatalogReplacedEvent;
+import org.thws.management.server.session.SessionContext;
 
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service class used for resetting the database to initial state
+ * Captures the seeded rows and sequence values once at startup, and restores exactly that snapshot on every reset,
+ * so the seeders do not have to run through JPA again
+ * With management.reset.capture-snapshot=false, as for the persistent database, no snapshot is read at startup,
+ * and a reset restarts the sequences at their start values and runs the two seeders again instead
+ * The rows are replaced in one transaction, which is rolled back as a whole if the reset fails.
+ * H2 commits ALTER SEQUENCE on its own, so the sequences are set outside of that transaction,
+ * and set back to their previous values if it fails
  */
 @Service
 public class DatabaseResetService {
+    //parents before children, so inserting the snapshot never violates a foreign key
+    private static final List<String> TABLES = List.of("PARTNER_UNIVERSITY", "UNI_MODULE");
+    private static final List<String> SEQUENCES = List.of("PARTNER_UNIVERSITY_SEQUENCE", "UNIMODULE_SEQUENCE");
+    private static final String DEFAULT_SCHEMA = "PUBLIC";
 
-    private final PartnerUniversityRepository partnerUniversityRepository;
-    private final UniModuleRepository uniModuleRepository;
-    private final PartnerUniversityConfig partnerUniversityConfig;
-    private final UniModuleConfig uniModuleConfig;
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<CommandLineRunner> seeders;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean captureSnapshot;
+    //one lock per schema, so resetting one session never waits for another
+    private final Map<String, Object> resetLocks = new ConcurrentHashMap<>();
 
-    //constructor
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+
+    //constructor, the seeders of the PartnerUniversities and the UniModules are run in that order
     @Autowired
-    public DatabaseResetService(PartnerUniversityRepository partnerUniversityRepository,
-                                UniModuleRepository uniModuleRepository,
-                                PartnerUniversityConfig partnerUniversityConfig,
-                                UniModuleConfig uniModuleConfig,
-                                JdbcTemplate jdbcTemplate) {
-        this.partnerUniversityRepository = partnerUniversityRepository;
-        this.uniModuleRepository = uniModuleRepository;
-        this.partnerUniversityConfig = partnerUniversityConfig;
-        this.uniModuleConfig = uniModuleConfig;
+    public DatabaseResetService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                @Qualifier("commandLineRunner") CommandLineRunner partnerUniversitySeeder,
+                                @Qualifier("uniModuleCommandLineRunner") CommandLineRunner uniModuleSeeder,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${management.reset.capture-snapshot:true}") boolean captureSnapshot) {
         this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seeders = List.of(partnerUniversitySeeder, uniModuleSeeder);
+        this.eventPublisher = eventPublisher;
+        this.captureSnapshot = captureSnapshot;
+    }
+
+    /**
+     * Captures the current content of the database as the state every reset returns to
+     * Runs once the application is ready, so after the initial data has been seeded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void captureSnapshot() {
+        if (!captureSnapshot) {
+            return;
+        }
+
+        Map<String, TableSnapshot> tables = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            tables.put(table, jdbcTemplate.query("SELECT * FROM " + table, resultSet -> {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                List<String> columns = new ArrayList<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add(metaData.getColumnName(i));
+                }
+
+                List<Object[]> rows = new ArrayList<>();
+                while (resultSet.next()) {
+                    Object[] row = new Object[columns.size()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = resultSet.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }
+
+                return new TableSnapshot(table, columns, rows);
+            }));
+        }
+
+        this.snapshot = new Snapshot(tables, sequenceValues("BASE_VALUE"));
     }
 
     /**
      * Method used for resetting the database
+     * Only resets the schema of the current session, or the default schema when no session is used
+     * Empties the read caches and drops the search index too, as the tables are cleared without going through the services
+     * Concurrent calls for the same schema are executed one after another, so every call ends with the complete snapshot
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.UNI_MODULES, allEntries = true)
+    })
+    public void resetDatabase() {
+        seedDatabase();
+        eventPublisher.publishEvent(new CatalogReplacedEvent());
+    }
+
+    /**
+     * Fills the schema of the current session with the initial data, the same way as a reset
+     * Used for a schema that has just been created, so the read caches and the search index are left alone,
+     * nothing has been read from that schema yet and the entries of the other sessions stay valid
+     */
+    public void seedDatabase() {
+        String schema = SessionContext.currentSchema();
+        synchronized (resetLocks.computeIfAbsent(schema == null ? DEFAULT_SCHEMA : schema, key -> new Object())) {
+            if (captureSnapshot) {
+                Snapshot current = snapshot;
+                transactionTemplate.executeWithoutResult(status -> {
+                    deleteRows();
+                    restoreTables(current.tables);
+                });
+                restartSequences(current.sequences);
+            } else {
+                //the seeders take their IDs from the sequences, which therefore have to be restarted first
+                Map<String, Long> previousValues = sequenceValues("BASE_VALUE");
+                restartSequences(sequenceValues("START_VALUE"));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        deleteRows();
+                        seedTables();
+                    });
+                } catch (RuntimeException e) {
+                    restartSequences(previousValues);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets the lock of a schema that has been dropped
      *
-     * @throws Exception when something goes wrong
+     * @param schema Name of the dropped schema
+     */
+    public void releaseSchema(String schema) {
+        resetLocks.remove(schema);
+    }
+
+    /**
+     * Deletes the rows of all tables, children before parents, so no foreign key is violated
+     * Unlike TRUNCATE, which H2 commits on its own, the deletion is rolled back with the transaction
      */
-    @Transactional
-    public void resetDatabase() throws Exception {
-        deleteTables();
-        resetSequences();
-        reinitializeData();
+    private void deleteRows() {
+        for (int i = TABLES.size() - 1; i >= 0; i--) {
+            jdbcTemplate.update("DELETE FROM " + TABLES.get(i));
+        }
     }
 
     /**
-     * Deletes first the UniModule table, then the PartnerUniversity table
-     * IGNORE ERRORS
+     * Inserts the rows of the snapshot again, as one JDBC batch per table
+     *
+     * @param tableSnapshots Rows of each table, parents before children
      */
-    private void deleteTables() {
-        jdbcTemplate.execute("DELETE FROM UNI_MODULE");
-        jdbcTemplate.execute("DELETE FROM PARTNER_UNIVERSITY");
+    private void restoreTables(Map<String, TableSnapshot> tableSnapshots) {
+        for (TableSnapshot snapshot : tableSnapshots.values()) {
+            if (!snapshot.rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(snapshot.insertStatement, snapshot.rows);
+            }
+        }
     }
 
     /**
-     * Resets sequences, making IDs start from 1 again after resetting the database
-     * IGNORE ERRORS
+     * Restarts the sequences at the given values, so IDs are handed out the same way again
+     *
+     * @param values Value each sequence hands out next, by the name of the sequence
      */
-    private void resetSequences() {
-        jdbcTemplate.execute("ALTER SEQUENCE UNIMODULE_SEQUENCE RESTART WITH 1");
-        jdbcTemplate.execute("ALTER SEQUENCE PARTNER_UNIVERSITY_SEQUENCE RESTART WITH 1");
+    private void restartSequences(Map<String, Long> values) {
+        values.forEach((sequence, value) ->
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value));
     }
 
     /**
-     * Reinitializes database, using existing config classes
+     * Reads a column of the sequences in the schema of the current session
      *
-     * @throws Exception when something goes wrong
+     * @param column START_VALUE for the values the sequences have been created with, BASE_VALUE for their next values
+     * @return Value of each sequence, by the name of the sequence
+     */
+    private Map<String, Long> sequenceValues(String column) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (String sequence : SEQUENCES) {
+            values.put(sequence, jdbcTemplate.queryForObject(
+                    "SELECT " + column + " FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = ?",
+                    Long.class, sequence));
+        }
+        return values;
+    }
+
+    /**
+     * Runs the seeders again in their order, which fill the emptied tables with the initial data
+     */
+    private void seedTables() {
+        seeders.forEach(seeder -> {
+            try {
+                seeder.run();
+            } catch (Exception e) {
+                throw new IllegalStateException("Seeding the database failed", e);
+            }
+        });
+    }
+
+    /**
+     * Rows and sequence values captured at startup, replaced as a whole so a reset never sees half of them
+     */
+    private static class Snapshot {
+        private final Map<String, TableSnapshot> tables;
+        private final Map<String, Long> sequences;
+
+        Snapshot(Map<String, TableSnapshot> tables, Map<String, Long> sequences) {
+            this.tables = tables;
+            this.sequences = sequences;
+        }
+    }
+
+    /**
+     * Column names and rows of one table, as captured at startup
      */
-    private void reinitializeData() throws Exception {
-        PartnerUniversity thws = partnerUniversityConfig.thws();
-        PartnerUniversity otherUniversity = partnerUniversityConfig.otherUniversity();
-        partnerUniversityRepository.saveAll(List.of(thws, otherUniversity));
+    private static class TableSnapshot {
+        private final String insertStatement;
+        private final List<Object[]> rows;
 
-        uniModuleConfig.uniModuleCommandLineRunner(partnerUniversityRepository, uniModuleRepository).run();
+        TableSnapshot(String table, List<String> columns, List<Object[]> rows) {
+            this.insertStatement = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            this.rows = rows;
+        }
     }
 }
@@ -0,0 +1,94 @@
+package org.thws.management.server.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.config.CacheConfig;
+import org.thws.management.server.config.MetricsConfig;
+import org.thws.management.server.model.ExchangeDirection;
+import org.thws.management.server.model.ExchangeSlots;
+import org.thws.management.server.repository.PartnerUniversityRepository;
+
+/**
+ * Service class reserving and releasing the exchange slots of PartnerUniversities
+ * Every reservation is one conditional update of the row of its PartnerUniversity, which only takes a slot while one
+ * is left, so concurrent reservations never oversubscribe a PartnerUniversity and need no lock of their own
+ * A reservation increments the version of the PartnerUniversity as well, as its ETag has to change with it
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
+public class ExchangeSlotService {
+    private final PartnerUniversityRepository partnerUniversityRepository;
+
+    /**
+     * Constructs a new ExchangeSlotService
+     *
+     * @param partnerUniversityRepository Repository of PartnerUniversity entities
+     */
+    @Autowired
+    public ExchangeSlotService(PartnerUniversityRepository partnerUniversityRepository) {
+        this.partnerUniversityRepository = partnerUniversityRepository;
+    }
+
+    /**
+     * Retrieves the exchange slots of one specific PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @return The exchange slots, or null if the PartnerUniversity does not exist
+     */
+    public ExchangeSlots getExchangeSlots(Long partnerUniversityId) {
+        return partnerUniversityRepository.findExchangeSlotsById(partnerUniversityId).orElse(null);
+    }
+
+    /**
+     * Reserves one exchange slot of one specific PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param direction           Direction of the exchange
+     * @return The exchange slots after the reservation
+     * @throws ResponseStatusException When the PartnerUniversity does not exist, or all of its slots are reserved
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId")
+    public ExchangeSlots reserveSlot(Long partnerUniversityId, ExchangeDirection direction) {
+        int updated = direction == ExchangeDirection.INCOMING
+                ? partnerUniversityRepository.reserveIncomingSlot(partnerUniversityId)
+                : partnerUniversityRepository.reserveOutgoingSlot(partnerUniversityId);
+
+        return afterUpdate(partnerUniversityId, updated, "No " + direction.toPathSegment() + " slot left");
+    }
+
+    /**
+     * Releases one reserved exchange slot of one specific PartnerUniversity
+     *
+     * @param partnerUniversityId ID of the PartnerUniversity
+     * @param direction           Direction of the exchange
+     * @return The exchange slots after the release
+     * @throws ResponseStatusException When the PartnerUniversity does not exist, or none of its slots is reserved
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId")
+    public ExchangeSlots releaseSlot(Long partnerUniversityId, ExchangeDirection direction) {
+        int updated = direction == ExchangeDirection.INCOMING
+                ? partnerUniversityRepository.releaseIncomingSlot(partnerUniversityId)
+                : partnerUniversityRepository.releaseOutgoingSlot(partnerUniversityId);
+
+        return afterUpdate(partnerUniversityId, updated, "No " + direction.toPathSegment() + " slot reserved");
+    }
+
+    //reads the slots in the same transaction, so they include the update, and tells why nothing has been updated
+    private ExchangeSlots afterUpdate(Long partnerUniversityId, int updated, String conflictReason) {
+        ExchangeSlots exchangeSlots = partnerUniversityRepository.findExchangeSlotsById(partnerUniversityId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partner university not found"));
+
+        if (updated == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, conflictReason);
+        }
+
+        return exchangeSlots;
+    }
+}
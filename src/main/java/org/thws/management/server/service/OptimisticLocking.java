@@ -0,0 +1,49 @@
+package org.thws.management.server.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Checks the versions of entities before and while they are written, for conditional updates and deletions
+ */
+final class OptimisticLocking {
+    private OptimisticLocking() {
+    }
+
+    /**
+     * Checks the version of an entity against the version the client expects it to have
+     * The entity is loaded only once for the whole request, so the check runs right after loading it
+     *
+     * @param currentVersion Version of the entity as loaded from the database
+     * @param precondition   Condition the version must fulfil, taken from the If-Match header, null if the request is unconditional
+     * @throws ResponseStatusException When the entity has been changed since the client has read it
+     */
+    static void checkVersion(Long currentVersion, Predicate<Long> precondition) {
+        if (precondition != null && !precondition.test(currentVersion)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Resource has been modified");
+        }
+    }
+
+    /**
+     * Executes a write that is flushed right away, so a concurrent change of the same entity is detected
+     * by its version column before the method returns
+     *
+     * @param precondition Condition taken from the If-Match header, null if the request is unconditional
+     * @param write        Write to execute
+     * @param <T>          Type of the written entity
+     * @return The written entity, with its incremented version
+     * @throws ResponseStatusException When the entity has been changed concurrently
+     */
+    static <T> T write(Predicate<Long> precondition, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(precondition == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED,
+                    "Resource has been modified concurrently", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.thws.management.server.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.thws.management.server.export.ExportWriter;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniModule;
+import org.thws.management.server.repository.PartnerUniversityRepository;
+import org.thws.management.server.repository.UniModuleRepository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting every PartnerUniversity together with its UniModules
+ */
+@Service
+public class PartnerUniversityExportService {
+    private final PartnerUniversityRepository partnerUniversityRepository;
+    private final UniModuleRepository uniModuleRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Constructs a new PartnerUniversityExportService
+     *
+     * @param partnerUniversityRepository Repository of PartnerUniversity entities
+     * @param uniModuleRepository         Repository of UniModule entities
+     * @param entityManager               Entity manager, used to detach exported entities
+     */
+    @Autowired
+    public PartnerUniversityExportService(PartnerUniversityRepository partnerUniversityRepository,
+                                          UniModuleRepository uniModuleRepository,
+                                          EntityManager entityManager) {
+        this.partnerUniversityRepository = partnerUniversityRepository;
+        this.uniModuleRepository = uniModuleRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Exports every PartnerUniversity, ordered by ID, together with its UniModules
+     * Reads PartnerUniversities and UniModules through two cursors ordered the same way and merges them,
+     * so the export needs two queries and holds only one PartnerUniversity in memory at a time
+     *
+     * @param exportWriter Writer that receives the PartnerUniversities one after another
+     * @throws IOException When the writer fails to write
+     */
+    @Transactional
+    public void exportPartnerUniversities(ExportWriter exportWriter) throws IOException {
+        try (Stream<PartnerUniversity> partnerUniversities = partnerUniversityRepository.streamAllByOrderByIdAsc();
+             Stream<UniModule> uniModules = uniModuleRepository.streamAllByOrderByPartnerUniversityIdAscIdAsc()) {
+
+            Iterator<UniModule> uniModuleIterator = uniModules.iterator();
+            UniModule nextUniModule = uniModuleIterator.hasNext() ? uniModuleIterator.next() : null;
+
+            for (Iterator<PartnerUniversity> iterator = partnerUniversities.iterator(); iterator.hasNext(); ) {
+                PartnerUniversity partnerUniversity = iterator.next();
+                List<UniModule> partnerUniversityModules = new ArrayList<>();
+
+                while (nextUniModule != null && nextUniModule.getPartnerUniversity().getId().equals(partnerUniversity.getId())) {
+                    partnerUniversityModules.add(nextUniModule);
+                    nextUniModule = uniModuleIterator.hasNext() ? uniModuleIterator.next() : null;
+                }
+
+                exportWriter.write(partnerUniversity, partnerUniversityModules);
+
+                //keeps the persistence context from growing with every exported entity
+                partnerUniversityModules.forEach(entityManager::detach);
+                entityManager.detach(partnerUniversity);
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package org.thws.management.server.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thws.management.server.event.CatalogReplacedEvent;
+import org.thws.management.server.model.ImportSummary;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Service class for importing many PartnerUniversities with their UniModules at once
+ * Rows are read one by one from the request and written in chunks, each chunk in its own transaction,
+ * with the IDs of a whole chunk reserved in one query and all rows inserted as JDBC batches
+ */
+@Service
+public class PartnerUniversityImportService {
+    private static final String INSERT_PARTNER_UNIVERSITY = "INSERT INTO PARTNER_UNIVERSITY (ID, VERSION, NAME, COUNTRY, " +
+            "DEPARTMENT_NAME, DEPARTMENT_URL, CONTACT_PERSON, MAX_STUDENTS_IN, MAX_STUDENTS_OUT, NEXT_SPRING_SEMESTER, " +
+            "NEXT_SUMMER_SEMESTER, NORMALIZED_NAME, NORMALIZED_COUNTRY, NORMALIZED_DEPARTMENT_NAME) " +
+            "VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_UNI_MODULE = "INSERT INTO UNI_MODULE (ID, VERSION, NAME, SEMESTER, ECTS, " +
+            "PARTNER_UNIVERSITY_ID) VALUES (?, 0, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader partnerUniversityReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new PartnerUniversityImportService
+     *
+     * @param namedParameterJdbcTemplate Template used to query and insert rows
+     * @param transactionManager         Transaction manager used to write every chunk in its own transaction
+     * @param objectMapper               Mapper used to read the imported PartnerUniversities
+     * @param eventPublisher             Publisher announcing the imported rows, to rebuild the search index
+     * @param chunkSize                  Number of PartnerUniversities written per transaction and JDBC batch
+     */
+    @Autowired
+    public PartnerUniversityImportService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          ObjectMapper objectMapper,
+                                          ApplicationEventPublisher eventPublisher,
+                                          @Value("${management.import.chunk-size:500}") int chunkSize) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.jdbcTemplate = namedParameterJdbcTemplate.getJdbcTemplate();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partnerUniversityReader = objectMapper.readerFor(PartnerUniversity.class);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports PartnerUniversities with nested UniModules, read either from a JSON array or from newline delimited JSON
+     * Every row is validated on its own, invalid rows are reported and skipped, the others are created
+     * Reading stops at malformed JSON, rows before it stay imported
+     * The rows are written without the services, so the search index is rebuilt once afterwards instead of row by row
+     *
+     * @param inputStream Stream to read the PartnerUniversities from
+     * @return Summary with the outcome of every row
+     * @throws IOException When reading the stream fails
+     */
+    public ImportSummary importPartnerUniversities(InputStream inputStream) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        try {
+            return importPartnerUniversities(inputStream, summary);
+        } finally {
+            if (summary.getCreated() > 0) {
+                eventPublisher.publishEvent(new CatalogReplacedEvent());
+            }
+        }
+    }
+
+    private ImportSummary importPartnerUniversities(InputStream inputStream, ImportSummary summary) throws IOException {
+        List<PartnerUniversity> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+
+        try (MappingIterator<PartnerUniversity> partnerUniversities = partnerUniversityReader.readValues(inputStream)) {
+            while (true) {
+                try {
+                    if (!partnerUniversities.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(partnerUniversities.nextValue());
+                } catch (JsonMappingException e) {
+                    //the row is well-formed JSON with wrong values, so reading goes on with the next row
+                    importChunk(chunk, row - chunk.size(), summary);
+                    chunk.clear();
+                    summary.addRejected(row, "Invalid value: " + e.getOriginalMessage());
+                } catch (JsonParseException e) {
+                    importChunk(chunk, row - chunk.size(), summary);
+                    chunk.clear();
+                    summary.addRejected(row, "Malformed JSON: " + e.getOriginalMessage());
+                    return summary;
+                }
+                row++;
+
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, row - chunk.size(), summary);
+                    chunk.clear();
+                }
+            }
+        }
+
+        importChunk(chunk, row - chunk.size(), summary);
+        return summary;
+    }
+
+    /**
+     * Validates and writes one chunk of PartnerUniversities in a single transaction
+     *
+     * @param chunk    PartnerUniversities to write
+     * @param firstRow Index of the first PartnerUniversity of the chunk
+     * @param summary  Summary the outcome of every row is added to
+     */
+    private void importChunk(List<PartnerUniversity> chunk, int firstRow, ImportSummary summary) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> partnerUniversityNames = existingNames("PARTNER_UNIVERSITY", chunk.stream()
+                    .filter(Objects::nonNull)
+                    .map(PartnerUniversity::getName)
+                    .toList());
+            Set<String> uniModuleNames = existingNames("UNI_MODULE", chunk.stream()
+                    .filter(Objects::nonNull)
+                    .flatMap(partnerUniversity -> modulesOf(partnerUniversity).stream())
+                    .filter(Objects::nonNull)
+                    .map(UniModule::getName)
+                    .toList());
+
+            List<PartnerUniversity> validPartnerUniversities = new ArrayList<>();
+            List<String> problems = new ArrayList<>();
+            int moduleCount = 0;
+
+            for (PartnerUniversity partnerUniversity : chunk) {
+                String problem = validate(partnerUniversity, partnerUniversityNames, uniModuleNames);
+                problems.add(problem);
+
+                if (problem == null) {
+                    validPartnerUniversities.add(partnerUniversity);
+                    moduleCount += modulesOf(partnerUniversity).size();
+                }
+            }
+
+            List<Long> partnerUniversityIds = nextIds("PARTNER_UNIVERSITY_SEQUENCE", validPartnerUniversities.size());
+            List<Long> uniModuleIds = nextIds("UNIMODULE_SEQUENCE", moduleCount);
+
+            List<Object[]> partnerUniversityRows = new ArrayList<>(validPartnerUniversities.size());
+            List<Object[]> uniModuleRows = new ArrayList<>(moduleCount);
+
+            for (int i = 0, moduleIndex = 0; i < validPartnerUniversities.size(); i++) {
+                PartnerUniversity partnerUniversity = validPartnerUniversities.get(i);
+                partnerUniversity.setId(partnerUniversityIds.get(i));
+                partnerUniversityRows.add(toRow(partnerUniversity));
+
+                for (UniModule uniModule : modulesOf(partnerUniversity)) {
+                    uniModule.setId(uniModuleIds.get(moduleIndex++));
+                    uniModuleRows.add(new Object[]{uniModule.getId(), uniModule.getName(), uniModule.getSemester(),
+                            uniModule.getEcts(), partnerUniversity.getId()});
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_PARTNER_UNIVERSITY, partnerUniversityRows);
+            jdbcTemplate.batchUpdate(INSERT_UNI_MODULE, uniModuleRows);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                if (problems.get(i) == null) {
+                    summary.addCreated(firstRow + i, chunk.get(i).getId(), modulesOf(chunk.get(i)).size());
+                } else {
+                    summary.addRejected(firstRow + i, problems.get(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks a PartnerUniversity with the same rules as creating a single one
+     * Names of valid rows are added to the known names, so duplicates within the import are rejected too
+     *
+     * @param partnerUniversity      PartnerUniversity to check
+     * @param partnerUniversityNames Names of PartnerUniversities that already exist
+     * @param uniModuleNames         Names of UniModules that already exist
+     * @return Reason why the PartnerUniversity can't be imported, null if it is valid
+     */
+    private static String validate(PartnerUniversity partnerUniversity, Set<String> partnerUniversityNames,
+                                   Set<String> uniModuleNames) {
+        if (partnerUniversity == null ||
+                isEmpty(partnerUniversity.getName()) ||
+                isEmpty(partnerUniversity.getCountry()) ||
+                isEmpty(partnerUniversity.getDepartmentName()) ||
+                isEmpty(partnerUniversity.getDepartmentUrl()) ||
+                isEmpty(partnerUniversity.getContactPerson()) ||
+                partnerUniversity.getMaxStudentsIn() == null ||
+                partnerUniversity.getMaxStudentsOut() == null ||
+                partnerUniversity.getNextSpringSemester() == null ||
+                partnerUniversity.getNextSummerSemester() == null) {
+            return "Partner university is missing required fields";
+        }
+
+        if (partnerUniversityNames.contains(partnerUniversity.getName())) {
+            return "Partner university already exists";
+        }
+
+        Set<String> rowModuleNames = new HashSet<>();
+        for (UniModule uniModule : modulesOf(partnerUniversity)) {
+            if (uniModule == null || isEmpty(uniModule.getName()) || uniModule.getSemester() == null || uniModule.getEcts() == null) {
+                return "UniModule is missing required fields";
+            }
+            if (uniModuleNames.contains(uniModule.getName()) || !rowModuleNames.add(uniModule.getName())) {
+                return "UniModule " + uniModule.getName() + " already exists";
+            }
+        }
+
+        partnerUniversityNames.add(partnerUniversity.getName());
+        uniModuleNames.addAll(rowModuleNames);
+        return null;
+    }
+
+    /**
+     * Looks up which of the given names are already taken, with one query for the whole chunk
+     *
+     * @param table Table to look the names up in
+     * @param names Names to look up
+     * @return The names that already exist, as a modifiable set
+     */
+    private Set<String> existingNames(String table, List<String> names) {
+        List<String> lookup = names.stream().filter(Objects::nonNull).distinct().toList();
+        if (lookup.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT NAME FROM " + table + " WHERE NAME IN (:names)", Map.of("names", lookup), String.class));
+    }
+
+    /**
+     * Reserves the given number of IDs of a sequence in one round trip
+     *
+     * @param sequence Name of the sequence
+     * @param count    Number of IDs to reserve
+     * @return The reserved IDs
+     */
+    private List<Long> nextIds(String sequence, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+
+        return jdbcTemplate.queryForList("SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)", Long.class, count);
+    }
+
+    private static Object[] toRow(PartnerUniversity partnerUniversity) {
+        return new Object[]{
+                partnerUniversity.getId(),
+                partnerUniversity.getName(),
+                partnerUniversity.getCountry(),
+                partnerUniversity.getDepartmentName(),
+                partnerUniversity.getDepartmentUrl(),
+                partnerUniversity.getContactPerson(),
+                partnerUniversity.getMaxStudentsIn(),
+                partnerUniversity.getMaxStudentsOut(),
+                Date.valueOf(partnerUniversity.getNextSpringSemester()),
+                Date.valueOf(partnerUniversity.getNextSummerSemester()),
+                PartnerUniversity.normalize(partnerUniversity.getName()),
+                PartnerUniversity.normalize(partnerUniversity.getCountry()),
+                PartnerUniversity.normalize(partnerUniversity.getDepartmentName())
+        };
+    }
+
+    private static List<UniModule> modulesOf(PartnerUniversity partnerUniversity) {
+        return partnerUniversity.getModules() == null ? List.of() : partnerUniversity.getModules();
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -1,30 +1,58 @@
 package org.thws.management.server.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.config.CacheConfig;
+import org.thws.management.server.config.MetricsConfig;
+import org.thws.management.server.event.PartnerUniversityChangedEvent;
 import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.PartnerUniversitySnapshot;
+import org.thws.management.server.pagination.KeysetCursor;
+import org.thws.management.server.projection.FieldSet;
+import org.thws.management.server.repository.PartnerUniversityFilter;
 import org.thws.management.server.repository.PartnerUniversityRepository;
 
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Service class for managing PartnerUniversities
  */
 @Service
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
 public class PartnerUniversityService {
     private final PartnerUniversityRepository partnerUniversityRepository;
+    private final SnapshotCacheService snapshotCacheService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a PartnerUniversityService
      *
      * @param partnerUniversityRepository Repository of PartnerUniversity entities
+     * @param snapshotCacheService        Service reading PartnerUniversities through the read cache
+     * @param eventPublisher              Publisher announcing every change, to keep the search index up to date
      */
     @Autowired
-    public PartnerUniversityService(PartnerUniversityRepository partnerUniversityRepository) {
+    public PartnerUniversityService(PartnerUniversityRepository partnerUniversityRepository,
+                                    SnapshotCacheService snapshotCacheService,
+                                    ApplicationEventPublisher eventPublisher) {
         this.partnerUniversityRepository = partnerUniversityRepository;
+        this.snapshotCacheService = snapshotCacheService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -39,11 +67,14 @@ public class PartnerUniversityService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Partner university already exists");
         }
 
-        return partnerUniversityRepository.save(partnerUniversity);
+        PartnerUniversity savedPartnerUniversity = partnerUniversityRepository.save(partnerUniversity);
+        eventPublisher.publishEvent(PartnerUniversityChangedEvent.saved(savedPartnerUniversity));
+        return savedPartnerUniversity;
     }
 
     /**
      * Retrieves all available PartnerUniversities, divided into pages
+     * Their UniModules are not loaded, they are fetched for a whole page at once if they are to be embedded
      *
      * @param pageable Paging information
      * @return Page of PartnerUniversities
@@ -53,62 +84,139 @@ public class PartnerUniversityService {
     }
 
     /**
-     * Retrieves all available PartnerUniversities, divided into pages
-     * With optional filtering by name, country, and departmentName
+     * Retrieves a slice of PartnerUniversities ordered by name and ID, starting right after the given cursor
+     * Uses keyset pagination, so every slice costs the same no matter how deep it is, and skips the count query
+     * Their UniModules are not loaded, they are fetched for a whole slice at once if they are to be embedded
+     *
+     * @param filter    Criteria to filter the PartnerUniversities by
+     * @param cursor    Position of the last PartnerUniversity of the previous slice, null to start from the beginning
+     * @param size      Number of PartnerUniversities per slice
+     * @param direction Direction to sort the PartnerUniversities by name
+     * @return Slice of PartnerUniversities
+     */
+    public Slice<PartnerUniversity> getPartnerUniversitiesAfter(PartnerUniversityFilter filter, KeysetCursor cursor,
+                                                                int size, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, "name", "id");
+
+        //fetches one more than requested, to know if there is a next slice
+        List<PartnerUniversity> partnerUniversities = partnerUniversityRepository.findBy(
+                filter.toSpecification(cursor, direction.isAscending()),
+                query -> query.sortBy(sort).limit(size + 1).all());
+
+        boolean hasNext = partnerUniversities.size() > size;
+        List<PartnerUniversity> content = hasNext ? partnerUniversities.subList(0, size) : partnerUniversities;
+
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * Retrieves a slice of PartnerUniversities ordered by name and ID, starting right after the given cursor,
+     * reading only the columns of the given fields
+     *
+     * @param filter    Criteria to filter the PartnerUniversities by
+     * @param cursor    Position of the last PartnerUniversity of the previous slice, null to start from the beginning
+     * @param size      Number of PartnerUniversities per slice
+     * @param direction Direction to sort the PartnerUniversities by name
+     * @param fields    Fields requested by the client
+     * @return Slice of PartnerUniversities, having at least the requested fields set
+     */
+    public Slice<PartnerUniversity> getPartnerUniversitiesAfter(PartnerUniversityFilter filter, KeysetCursor cursor,
+                                                                int size, Sort.Direction direction, FieldSet fields) {
+        if (fields.isAll()) {
+            return getPartnerUniversitiesAfter(filter, cursor, size, direction);
+        }
+
+        Sort sort = Sort.by(direction, "name", "id");
+
+        //fetches one more than requested, to know if there is a next slice
+        List<PartnerUniversity> partnerUniversities = partnerUniversityRepository.findProjected(
+                filter.toSpecification(cursor, direction.isAscending()), sort, size + 1, fields);
+
+        boolean hasNext = partnerUniversities.size() > size;
+        List<PartnerUniversity> content = hasNext ? partnerUniversities.subList(0, size) : partnerUniversities;
+
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * Retrieves all available PartnerUniversities matching the given filter, divided into pages
+     * Any combination of criteria is translated into one single query
+     * Their UniModules are not loaded, they are fetched for a whole page at once if they are to be embedded
      *
-     * @param name           Name of PartnerUniversity to filter by
-     * @param country        Country of PartnerUniversity to filter by
-     * @param departmentName Department name of PartnerUniversity to filter by
-     * @param pageable       Paging information
+     * @param filter   Criteria to filter the PartnerUniversities by
+     * @param pageable Paging information
      * @return A page of PartnerUniversity with the applied filters. Returns an empty page if nothing is found
      */
-    public Page<PartnerUniversity> getAllPartnerUniversitiesWithFilters(String name, String country, String departmentName, Pageable pageable) {
-        if (name != null && country != null && departmentName != null) {
-            return partnerUniversityRepository.findByNameAndCountryAndDepartmentNameAllIgnoreCase(
-                    name.toLowerCase(), country.toLowerCase(), departmentName.toLowerCase(), pageable);
-        } else if (name != null && country != null) {
-            return partnerUniversityRepository.findByNameAndCountryAllIgnoreCase(
-                    name.toLowerCase(), country.toLowerCase(), pageable);
-        } else if (name != null && departmentName != null) {
-            return partnerUniversityRepository.findByNameAndDepartmentNameAllIgnoreCase(
-                    name.toLowerCase(), departmentName.toLowerCase(), pageable);
-        } else if (country != null && departmentName != null) {
-            return partnerUniversityRepository.findByCountryAndDepartmentNameAllIgnoreCase(
-                    country.toLowerCase(), departmentName.toLowerCase(), pageable);
-        } else if (name != null) {
-            return partnerUniversityRepository.findByNameIgnoreCase(
-                    name.toLowerCase(), pageable);
-        } else if (country != null) {
-            return partnerUniversityRepository.findByCountryIgnoreCase(
-                    country.toLowerCase(), pageable);
-        } else if (departmentName != null) {
-            return partnerUniversityRepository.findByDepartmentNameIgnoreCase(
-                    departmentName.toLowerCase(), pageable);
-        } else {
-            return Page.empty();
+    public Page<PartnerUniversity> getAllPartnerUniversitiesWithFilters(PartnerUniversityFilter filter, Pageable pageable) {
+        return partnerUniversityRepository.findAll(filter.toSpecification(), pageable);
+    }
+
+    /**
+     * Retrieves all available PartnerUniversities matching the given filter, divided into pages,
+     * reading only the columns of the given fields
+     *
+     * @param filter   Criteria to filter the PartnerUniversities by
+     * @param pageable Paging information
+     * @param fields   Fields requested by the client
+     * @return A page of PartnerUniversity having at least the requested fields set. Returns an empty page if nothing is found
+     */
+    public Page<PartnerUniversity> getAllPartnerUniversitiesWithFilters(PartnerUniversityFilter filter, Pageable pageable,
+                                                                        FieldSet fields) {
+        if (fields.isAll()) {
+            return getAllPartnerUniversitiesWithFilters(filter, pageable);
         }
+
+        return partnerUniversityRepository.findAllProjected(filter.toSpecification(), pageable, fields);
     }
 
     /**
-     * Retrieves one specific PartnerUniversity
+     * Retrieves one specific PartnerUniversity, together with its UniModules
+     * Served from the cache if possible, every call gets a detached copy of its own
      *
      * @param partnerUniversityId ID of PartnerUniversity to be retrieved
      * @return The requested PartnerUniversity
      */
     public PartnerUniversity getPartnerUniversityById(Long partnerUniversityId) {
-        return partnerUniversityRepository.findById(partnerUniversityId).orElse(null);
+        PartnerUniversitySnapshot snapshot = snapshotCacheService.getPartnerUniversity(partnerUniversityId);
+        return snapshot == null ? null : snapshot.toPartnerUniversity();
+    }
+
+    /**
+     * Retrieves one specific PartnerUniversity, reading only the columns of the given fields and no UniModules
+     * Not served from the cache, which holds complete PartnerUniversities only
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to be retrieved
+     * @param fields              Fields requested by the client, not including the UniModules
+     * @return The requested PartnerUniversity having at least the requested fields set, or null if it does not exist
+     */
+    public PartnerUniversity getPartnerUniversityProjection(Long partnerUniversityId, FieldSet fields) {
+        Specification<PartnerUniversity> specification = (root, query, builder) -> builder.equal(root.get("id"), partnerUniversityId);
+
+        return partnerUniversityRepository.findProjected(specification, Sort.unsorted(), 1, fields).stream()
+                .findFirst()
+                .orElse(null);
     }
 
     /**
      * Updates one specific PartnerUniversity
+     * Loads it together with its UniModules only once, as they are part of the returned representation
      *
      * @param partnerUniversityId ID of PartnerUniversity to be updated
      * @param updateRequest       Contains the content for the PartnerUniversity be updated with
-     * @return The updated PartnerUniversity
+     * @param precondition        Condition its current version must fulfil, null to update it unconditionally
+     * @return The updated PartnerUniversity, with its incremented version, or null if it does not exist
+     * @throws ResponseStatusException When the PartnerUniversity has been modified since the client has read it,
+     *                                 or a capacity would drop below its reserved slots
      */
     @Transactional
-    public PartnerUniversity updatePartnerUniversity(Long partnerUniversityId, PartnerUniversity updateRequest) {
-        PartnerUniversity partnerUniversity = partnerUniversityRepository.findById(partnerUniversityId).orElse(null);
+    @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId")
+    public PartnerUniversity updatePartnerUniversity(Long partnerUniversityId, PartnerUniversity updateRequest,
+                                                     Predicate<Long> precondition) {
+        PartnerUniversity partnerUniversity = partnerUniversityRepository.findWithModulesById(partnerUniversityId).orElse(null);
+        if (partnerUniversity == null) {
+            return null;
+        }
+        OptimisticLocking.checkVersion(partnerUniversity.getVersion(), precondition);
 
         if (updateRequest.getName() != null && !updateRequest.getName().isEmpty()) {
             partnerUniversity.setName(updateRequest.getName());
@@ -126,11 +234,19 @@ public class PartnerUniversityService {
             partnerUniversity.setDepartmentUrl(updateRequest.getDepartmentUrl());
         }
 
+        //the capacities must not drop below the slots already reserved, a reservation made after this check
+        //increments the version, so saving the stale PartnerUniversity fails instead
         if (updateRequest.getMaxStudentsIn() != null && updateRequest.getMaxStudentsIn() >= 0) {
+            if (updateRequest.getMaxStudentsIn() < partnerUniversity.getReservedStudentsIn()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Max students in is below the reserved slots");
+            }
             partnerUniversity.setMaxStudentsIn(updateRequest.getMaxStudentsIn());
         }
 
         if (updateRequest.getMaxStudentsOut() != null && updateRequest.getMaxStudentsOut() >= 0) {
+            if (updateRequest.getMaxStudentsOut() < partnerUniversity.getReservedStudentsOut()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Max students out is below the reserved slots");
+            }
             partnerUniversity.setMaxStudentsOut(updateRequest.getMaxStudentsOut());
         }
 
@@ -142,15 +258,39 @@ public class PartnerUniversityService {
             partnerUniversity.setNextSummerSemester(updateRequest.getNextSummerSemester());
         }
 
-        return partnerUniversityRepository.save(partnerUniversity);
+        PartnerUniversity savedPartnerUniversity = OptimisticLocking.write(precondition,
+                () -> partnerUniversityRepository.saveAndFlush(partnerUniversity));
+        eventPublisher.publishEvent(PartnerUniversityChangedEvent.saved(savedPartnerUniversity));
+        return savedPartnerUniversity;
     }
 
     /**
      * Deletes one specific PartnerUniversity
+     * Its UniModules are deleted with it, so they are loaded in the same query and evicted from the cache as well
      *
      * @param partnerUniversityId ID of PartnerUniversity to be deleted
+     * @param precondition        Condition its current version must fulfil, null to delete it unconditionally
+     * @return true if it has been deleted, false if it does not exist
+     * @throws ResponseStatusException When the PartnerUniversity has been modified since the client has read it
      */
-    public void deletePartnerUniversity(Long partnerUniversityId) {
-        partnerUniversityRepository.deleteById(partnerUniversityId);
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId"),
+            @CacheEvict(cacheNames = CacheConfig.UNI_MODULES, allEntries = true)
+    })
+    public boolean deletePartnerUniversity(Long partnerUniversityId, Predicate<Long> precondition) {
+        PartnerUniversity partnerUniversity = partnerUniversityRepository.findWithModulesById(partnerUniversityId).orElse(null);
+        if (partnerUniversity == null) {
+            return false;
+        }
+        OptimisticLocking.checkVersion(partnerUniversity.getVersion(), precondition);
+
+        OptimisticLocking.write(precondition, () -> {
+            partnerUniversityRepository.delete(partnerUniversity);
+            partnerUniversityRepository.flush();
+            return partnerUniversity;
+        });
+        eventPublisher.publishEvent(PartnerUniversityChangedEvent.deleted(partnerUniversityId));
+        return true;
     }
 }
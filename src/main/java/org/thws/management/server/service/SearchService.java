@@ -0,0 +1,223 @@
+package org.thws.management.server.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.config.MetricsConfig;
+import org.thws.management.server.event.CatalogReplacedEvent;
+import org.thws.management.server.event.PartnerUniversityChangedEvent;
+import org.thws.management.server.event.UniModuleChangedEvent;
+import org.thws.management.server.model.SearchHit;
+import org.thws.management.server.search.SchemaIndexes;
+import org.thws.management.server.search.SearchIndex;
+import org.thws.management.server.session.SessionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for the full-text search over PartnerUniversities and UniModules
+ * Keeps one in-memory inverted index per schema, so searching never scans the tables
+ * An index is built from the tables when its schema is searched for the first time,
+ * afterwards it is kept up to date by the change events of the services, applied once their transaction has committed
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
+public class SearchService {
+    //bounds the terms a query is expanded to, which is words times fields times similar terms per word
+    private static final int MAX_WORDS = 8;
+    private static final int MAX_SIMILAR_TERMS = 10;
+
+    //fields every word is looked up in, with the weight of a match
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+
+    static {
+        FIELD_BOOSTS.put(SearchIndex.NAME, 3f);
+        FIELD_BOOSTS.put(SearchIndex.COUNTRY, 2f);
+        FIELD_BOOSTS.put(SearchIndex.UNIVERSITY_NAME, 1.5f);
+        FIELD_BOOSTS.put(SearchIndex.DEPARTMENT_NAME, 1f);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final SchemaIndexes<SearchIndex> indexes = new SchemaIndexes<>();
+
+    /**
+     * Constructs a new SearchService
+     *
+     * @param jdbcTemplate JdbcTemplate to read the tables with, when an index is built
+     */
+    @Autowired
+    public SearchService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Searches PartnerUniversities and UniModules by the words of their names, department names and countries
+     * Every word may contain typos, one edit for words of three to five characters and two for longer ones,
+     * results matching more of the words and matching them exactly are ranked higher
+     *
+     * @param text     Words to search for
+     * @param pageable Paging information, sorting is ignored as results are ordered by relevance
+     * @return Page of results, ordered by relevance
+     * @throws ResponseStatusException When the text contains no word or too many words to search for
+     */
+    public Page<SearchHit> search(String text, Pageable pageable) {
+        Query query = toQuery(text);
+
+        SearchIndex.Result result = indexes.get(SessionContext.currentSchema(), this::buildIndex)
+                .search(query, (int) pageable.getOffset(), pageable.getPageSize());
+
+        List<SearchHit> searchHits = result.getHits().stream()
+                .map(hit -> new SearchHit(hit.getType(), hit.getId(), hit.getPartnerUniversityId(), hit.getName(), hit.getScore()))
+                .toList();
+
+        return new PageImpl<>(searchHits, pageable, result.getTotal());
+    }
+
+    /**
+     * Applies a created, updated or deleted PartnerUniversity to the index of its schema, if that has been built yet
+     *
+     * @param event The change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartnerUniversityChanged(PartnerUniversityChangedEvent event) {
+        indexes.update(event.getSchema(), index -> {
+            if (event.isDeleted()) {
+                index.deletePartnerUniversity(event.getPartnerUniversityId());
+            } else {
+                index.putPartnerUniversity(event.getPartnerUniversityId(), event.getName(),
+                        event.getDepartmentName(), event.getCountry());
+            }
+        });
+    }
+
+    /**
+     * Applies a created, updated or deleted UniModule to the index of its schema, if that has been built yet
+     *
+     * @param event The change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUniModuleChanged(UniModuleChangedEvent event) {
+        indexes.update(event.getSchema(), index -> {
+            if (event.isDeleted()) {
+                index.deleteUniModule(event.getUniModuleId());
+            } else {
+                index.putUniModule(event.getPartnerUniversityId(), event.getUniModuleId(), event.getName());
+            }
+        });
+    }
+
+    /**
+     * Discards the index of a schema whose content has been replaced, it is built again by the next search
+     * A search still running on the discarded index finishes on it, as it lives in memory only
+     *
+     * @param event The replacement
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReplaced(CatalogReplacedEvent event) {
+        indexes.remove(event.getSchema());
+    }
+
+    /**
+     * Builds the index of the current schema from the tables, called by the first search of the schema
+     * Changes committed while it is built wait for it, and are applied to it afterwards
+     *
+     * @return The index of the current schema
+     */
+    private SearchIndex buildIndex() {
+        SearchIndex index = new SearchIndex(analyzer);
+        SearchIndex.Loader loader = index.load();
+
+        jdbcTemplate.query("SELECT ID, NAME, DEPARTMENT_NAME, COUNTRY FROM PARTNER_UNIVERSITY", resultSet -> {
+            loader.addPartnerUniversity(resultSet.getLong(1), resultSet.getString(2),
+                    resultSet.getString(3), resultSet.getString(4));
+        });
+        jdbcTemplate.query("SELECT PARTNER_UNIVERSITY_ID, ID, NAME FROM UNI_MODULE", resultSet -> {
+            loader.addUniModule(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3));
+        });
+
+        loader.finish();
+        return index;
+    }
+
+    /**
+     * Turns the words of a search text into a query
+     * Every word is looked up in every field, the best matching field counts, and every word adds to the relevance
+     *
+     * @param text Words to search for
+     * @return Query matching documents that contain at least one of the words
+     * @throws ResponseStatusException When the text contains no word or too many words to search for
+     */
+    private Query toQuery(String text) {
+        List<String> words = analyze(text);
+        if (words.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search text must contain at least one word");
+        }
+        if (words.size() > MAX_WORDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search text must not contain more than " + MAX_WORDS + " words");
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            List<Query> fieldQueries = new ArrayList<>();
+            FIELD_BOOSTS.forEach((field, boost) -> fieldQueries.add(new BoostQuery(wordQuery(field, word), boost)));
+            query.add(new DisjunctionMaxQuery(fieldQueries, 0.1f), BooleanClause.Occur.SHOULD);
+        }
+
+        return query.build();
+    }
+
+    private static Query wordQuery(String field, String word) {
+        Term term = new Term(field, word);
+        if (word.length() < 3) {
+            return new TermQuery(term);
+        }
+
+        return new FuzzyQuery(term, word.length() < 6 ? 1 : 2, 1, MAX_SIMILAR_TERMS, true);
+    }
+
+    //splits the text into the same lowercase terms the indexed values have been split into
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+
+        try (TokenStream tokenStream = analyzer.tokenStream(SearchIndex.NAME, text)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokenStream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return words;
+    }
+}
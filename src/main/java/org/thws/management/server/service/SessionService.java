@@ -0,0 +1,154 @@
+package org.thws.management.server.service;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.event.CatalogReplacedEvent;
+import org.thws.management.server.session.SessionContext;
+import org.thws.management.server.session.SessionScopedCache;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class managing the isolated sessions, each of them working in a schema of its own
+ * A new schema gets the tables from the Flyway migrations and the data from the seed snapshot of the database reset
+ * Only available with management.sessions.enabled=true, as for running the tests against one backend in parallel.
+ * At most management.sessions.max-open sessions are open at once, sessions not used for management.sessions.idle-timeout
+ * are closed before a new one is opened
+ */
+@Service
+@ConditionalOnProperty(name = "management.sessions.enabled", havingValue = "true")
+public class SessionService {
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseResetService databaseResetService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxOpenSessions;
+    private final long idleTimeoutNanos;
+    //last time each open schema has been used, as System.nanoTime()
+    private final Map<String, Long> openSchemas = new ConcurrentHashMap<>();
+    private final Object sessionLock = new Object();
+
+    /**
+     * Constructs a new SessionService
+     *
+     * @param dataSource           DataSource to create the schemas with
+     * @param jdbcTemplate         JdbcTemplate to look up and drop the schemas with
+     * @param databaseResetService Service filling new schemas with the seed data, and holding a lock per schema
+     * @param cacheManager         Manager holding the read caches, whose entries of a closed session are removed
+     * @param eventPublisher       Publisher announcing dropped schemas, so their search index is discarded
+     * @param maxOpenSessions      Number of sessions that may be open at once
+     * @param idleTimeout          Time after its last request a session may be closed
+     */
+    @Autowired
+    public SessionService(DataSource dataSource, JdbcTemplate jdbcTemplate, DatabaseResetService databaseResetService,
+                          CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+                          @Value("${management.sessions.max-open:50}") int maxOpenSessions,
+                          @Value("${management.sessions.idle-timeout:30m}") Duration idleTimeout) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseResetService = databaseResetService;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.maxOpenSessions = maxOpenSessions;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Makes sure the schema of a session exists, creating and seeding it if it is used for the first time
+     * Schemas kept by a persistent database are only migrated, so their data survives a restart
+     *
+     * @param schema Name of the schema of the session
+     * @throws ResponseStatusException When the session is new and the maximum number of sessions is open
+     */
+    public void openSession(String schema) {
+        if (openSchemas.computeIfPresent(schema, (openSchema, lastUsed) -> System.nanoTime()) != null) {
+            return;
+        }
+
+        synchronized (sessionLock) {
+            if (openSchemas.computeIfPresent(schema, (openSchema, lastUsed) -> System.nanoTime()) != null) {
+                return;
+            }
+
+            closeIdleSessions();
+            if (openSchemas.size() >= maxOpenSessions) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "No more than " + maxOpenSessions + " sessions can be open at once");
+            }
+
+            boolean exists = schemaExists(schema);
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .schemas(schema)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+
+            if (!exists) {
+                SessionContext.callInSchema(schema, () -> {
+                    databaseResetService.seedDatabase();
+                    return null;
+                });
+            }
+
+            openSchemas.put(schema, System.nanoTime());
+        }
+    }
+
+    /**
+     * Drops the schema of a session together with all of its data, and removes its entries from the read caches
+     *
+     * @param schema Name of the schema of the session
+     * @return true if the session has existed, otherwise false
+     */
+    public boolean closeSession(String schema) {
+        synchronized (sessionLock) {
+            openSchemas.remove(schema);
+            if (!schemaExists(schema)) {
+                return false;
+            }
+
+            jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+            databaseResetService.releaseSchema(schema);
+            for (String cacheName : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    new SessionScopedCache(cache, schema).clear();
+                }
+            }
+            eventPublisher.publishEvent(new CatalogReplacedEvent(schema));
+            return true;
+        }
+    }
+
+    //closes the sessions that have not been used for the idle timeout, called while holding the session lock
+    private void closeIdleSessions() {
+        long now = System.nanoTime();
+        List<String> idleSchemas = openSchemas.entrySet().stream()
+                .filter(entry -> now - entry.getValue() > idleTimeoutNanos)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        idleSchemas.forEach(this::closeSession);
+    }
+
+    private boolean schemaExists(String schema) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SCHEMATA WHERE SCHEMA_NAME = ?", Integer.class, schema);
+        return count != null && count > 0;
+    }
+}
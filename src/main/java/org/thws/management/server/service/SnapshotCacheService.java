@@ -0,0 +1,62 @@
+package org.thws.management.server.service;
+
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.thws.management.server.config.CacheConfig;
+import org.thws.management.server.model.PartnerUniversitySnapshot;
+import org.thws.management.server.model.UniModuleSnapshot;
+import org.thws.management.server.repository.PartnerUniversityRepository;
+import org.thws.management.server.repository.UniModuleRepository;
+
+/**
+ * Service class filling the read caches with immutable snapshots instead of the entities read by JPA
+ * The services turn every snapshot into entities of their own, so a cached value is never shared or changed
+ * The entries are evicted by the writing methods of the services, under the same cache names and keys
+ */
+@Service
+public class SnapshotCacheService {
+    private final PartnerUniversityRepository partnerUniversityRepository;
+    private final UniModuleRepository uniModuleRepository;
+
+    /**
+     * Constructs a new SnapshotCacheService
+     *
+     * @param partnerUniversityRepository Repository of PartnerUniversity entities
+     * @param uniModuleRepository         Repository of UniModule entities
+     */
+    @Autowired
+    public SnapshotCacheService(PartnerUniversityRepository partnerUniversityRepository,
+                                UniModuleRepository uniModuleRepository) {
+        this.partnerUniversityRepository = partnerUniversityRepository;
+        this.uniModuleRepository = uniModuleRepository;
+    }
+
+    /**
+     * Retrieves the snapshot of one specific PartnerUniversity, together with its UniModules
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to be retrieved
+     * @return Snapshot of the requested PartnerUniversity, or null if it does not exist
+     */
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId", unless = "#result == null")
+    public PartnerUniversitySnapshot getPartnerUniversity(Long partnerUniversityId) {
+        return partnerUniversityRepository.findWithModulesById(partnerUniversityId)
+                .map(PartnerUniversitySnapshot::of)
+                .orElse(null);
+    }
+
+    /**
+     * Retrieves the snapshot of one specific UniModule
+     *
+     * @param uniModuleId ID of UniModule
+     * @return Snapshot of the requested UniModule, or null if it does not exist
+     */
+    @Cacheable(cacheNames = CacheConfig.UNI_MODULES, key = "#uniModuleId", unless = "#result == null")
+    public UniModuleSnapshot getUniModule(Long uniModuleId) {
+        return uniModuleRepository.findById(uniModuleId)
+                .map(UniModuleSnapshot::of)
+                .orElse(null);
+    }
+}
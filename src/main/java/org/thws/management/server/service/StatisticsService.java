@@ -0,0 +1,66 @@
+package org.thws.management.server.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.thws.management.server.config.MetricsConfig;
+import org.thws.management.server.model.CountryStatistics;
+import org.thws.management.server.model.SemesterStatistics;
+import org.thws.management.server.model.UniversityStatistics;
+import org.thws.management.server.repository.PartnerUniversityRepository;
+import org.thws.management.server.repository.UniModuleRepository;
+
+import java.util.List;
+
+/**
+ * Service class for statistics over PartnerUniversities and UniModules
+ * Every statistic is computed by one grouping query, so only the aggregates leave the database
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
+public class StatisticsService {
+    private final PartnerUniversityRepository partnerUniversityRepository;
+    private final UniModuleRepository uniModuleRepository;
+
+    /**
+     * Constructs a new StatisticsService
+     *
+     * @param partnerUniversityRepository Repository of PartnerUniversity entities
+     * @param uniModuleRepository         Repository of UniModule entities
+     */
+    @Autowired
+    public StatisticsService(PartnerUniversityRepository partnerUniversityRepository, UniModuleRepository uniModuleRepository) {
+        this.partnerUniversityRepository = partnerUniversityRepository;
+        this.uniModuleRepository = uniModuleRepository;
+    }
+
+    /**
+     * Retrieves the number of UniModules and their total ECTS per PartnerUniversity, ordered by name
+     *
+     * @param pageable Paging information, sorting is ignored
+     * @return Page of statistics, PartnerUniversities without UniModules are included with zero values
+     */
+    public Page<UniversityStatistics> getUniversityStatistics(Pageable pageable) {
+        return partnerUniversityRepository.findUniversityStatistics(pageable);
+    }
+
+    /**
+     * Retrieves the number of UniModules, their total and their average ECTS per semester
+     *
+     * @return Statistics ordered by semester
+     */
+    public List<SemesterStatistics> getSemesterStatistics() {
+        return uniModuleRepository.findSemesterStatistics();
+    }
+
+    /**
+     * Retrieves the number of PartnerUniversities and UniModules and the average ECTS of the UniModules per country
+     *
+     * @return Statistics ordered by country
+     */
+    public List<CountryStatistics> getCountryStatistics() {
+        return partnerUniversityRepository.findCountryStatistics();
+    }
+}
@@ -1,37 +1,65 @@
 package org.thws.management.server.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.config.CacheConfig;
+import org.thws.management.server.config.MetricsConfig;
+import org.thws.management.server.event.UniModuleChangedEvent;
 import org.thws.management.server.model.PartnerUniversity;
 import org.thws.management.server.model.UniModule;
+import org.thws.management.server.model.UniModuleSnapshot;
+import org.thws.management.server.pagination.KeysetCursor;
+import org.thws.management.server.projection.FieldSet;
 import org.thws.management.server.repository.PartnerUniversityRepository;
 import org.thws.management.server.repository.UniModuleRepository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing UniModules in relation to PartnerUniversities
  */
 @Service
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
 public class UniModuleService {
     private final PartnerUniversityRepository partnerUniversityRepository;
     private final UniModuleRepository uniModuleRepository;
+    private final SnapshotCacheService snapshotCacheService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new UniModuleService
      *
      * @param partnerUniversityRepository Repository of PartnerUniversity entities
      * @param uniModuleRepository         Repository of UniModule entities
+     * @param snapshotCacheService        Service reading UniModules through the read cache
+     * @param eventPublisher              Publisher announcing every change, to keep the search index up to date
      */
     @Autowired
-    public UniModuleService(PartnerUniversityRepository partnerUniversityRepository, UniModuleRepository uniModuleRepository) {
+    public UniModuleService(PartnerUniversityRepository partnerUniversityRepository, UniModuleRepository uniModuleRepository,
+                            SnapshotCacheService snapshotCacheService, ApplicationEventPublisher eventPublisher) {
         this.partnerUniversityRepository = partnerUniversityRepository;
         this.uniModuleRepository = uniModuleRepository;
+        this.snapshotCacheService = snapshotCacheService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -39,28 +67,45 @@ public class UniModuleService {
      *
      * @param partnerUniversityId ID of the PartnerUniversity to add the UniModule to
      * @param uniModule           UniModule to be added to PartnerUniversity under given ID
-     * @return The added UniModule
-     * @throws ResponseStatusException When UniModule with requested name already exists
+     * @return The added UniModule, or null if the PartnerUniversity does not exist
+     * @throws ResponseStatusException When the UniModule of an existing PartnerUniversity is incomplete,
+     *                                 or when UniModule with requested name already exists
      */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId")
     public UniModule addNewUniModule(Long partnerUniversityId, UniModule uniModule) {
-        PartnerUniversity partnerUniversity = partnerUniversityRepository.findById(partnerUniversityId).orElse(null);
+        PartnerUniversity partnerUniversity = partnerUniversityRepository.findWithVersionIncrementById(partnerUniversityId).orElse(null);
+        if (partnerUniversity == null) {
+            return null;
+        }
+
+        //checked only once the PartnerUniversity is found, so a missing PartnerUniversity is reported first
+        if (uniModule.getName() == null || uniModule.getName().isEmpty() ||
+                uniModule.getSemester() == null ||
+                uniModule.getEcts() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "UniModule is incomplete");
+        }
 
         if (uniModuleRepository.findUniModuleByName(uniModule.getName()).isPresent()) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "UniModule already exists");
         }
 
         uniModule.setPartnerUniversity(partnerUniversity);
-        return uniModuleRepository.save(uniModule);
+        UniModule savedUniModule = uniModuleRepository.save(uniModule);
+        eventPublisher.publishEvent(UniModuleChangedEvent.saved(partnerUniversityId, savedUniModule));
+        return savedUniModule;
     }
 
     /**
      * Fetches an UniModule by its ID
+     * Served from the cache if possible, every call gets a detached copy of its own
      *
      * @param uniModuleId ID of UniModule
      * @return UniModule of requested ID
      */
     public UniModule getUniModuleById(Long uniModuleId) {
-        return uniModuleRepository.findById(uniModuleId).orElse(null);
+        UniModuleSnapshot snapshot = snapshotCacheService.getUniModule(uniModuleId);
+        return snapshot == null ? null : snapshot.toUniModule();
     }
 
     /**
@@ -74,6 +119,98 @@ public class UniModuleService {
         return uniModuleRepository.findByPartnerUniversityId(partnerUniversityId, pageable);
     }
 
+    /**
+     * Retrieves a slice of UniModules of requested PartnerUniversity, ordered by name and ID,
+     * starting right after the given cursor
+     * Uses keyset pagination, so every slice costs the same no matter how deep it is, and skips the count query
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to get UniModules from
+     * @param cursor              Position of the last UniModule of the previous slice, null to start from the beginning
+     * @param size                Number of UniModules per slice
+     * @param direction           Direction to sort the UniModules by name
+     * @return Slice of UniModules
+     */
+    public Slice<UniModule> getUniModulesByPartnerUniversityAfter(Long partnerUniversityId, KeysetCursor cursor,
+                                                                  int size, Sort.Direction direction) {
+        Pageable pageable = PageRequest.of(0, size, Sort.by(direction, "name", "id"));
+
+        if (cursor == null) {
+            return uniModuleRepository.findSliceByPartnerUniversityId(partnerUniversityId, pageable);
+        } else if (direction.isAscending()) {
+            return uniModuleRepository.findSliceAfter(partnerUniversityId, cursor.getName(), cursor.getId(), pageable);
+        } else {
+            return uniModuleRepository.findSliceBefore(partnerUniversityId, cursor.getName(), cursor.getId(), pageable);
+        }
+    }
+
+    /**
+     * Retrieves a page containing UniModules for requested PartnerUniversity, reading only the columns of the given fields
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to get UniModules from
+     * @param pageable            Paging information
+     * @param fields              Fields requested by the client
+     * @return Every available UniModule divided into pages, having at least the requested fields set
+     */
+    public Page<UniModule> getAllUniModulesByPartnerUniversity(Long partnerUniversityId, Pageable pageable, FieldSet fields) {
+        if (fields.isAll()) {
+            return getAllUniModulesByPartnerUniversity(partnerUniversityId, pageable);
+        }
+
+        return uniModuleRepository.findAllProjected(ofPartnerUniversity(partnerUniversityId), pageable, fields);
+    }
+
+    /**
+     * Retrieves a slice of UniModules of requested PartnerUniversity, ordered by name and ID,
+     * starting right after the given cursor and reading only the columns of the given fields
+     *
+     * @param partnerUniversityId ID of PartnerUniversity to get UniModules from
+     * @param cursor              Position of the last UniModule of the previous slice, null to start from the beginning
+     * @param size                Number of UniModules per slice
+     * @param direction           Direction to sort the UniModules by name
+     * @param fields              Fields requested by the client
+     * @return Slice of UniModules, having at least the requested fields set
+     */
+    public Slice<UniModule> getUniModulesByPartnerUniversityAfter(Long partnerUniversityId, KeysetCursor cursor,
+                                                                  int size, Sort.Direction direction, FieldSet fields) {
+        if (fields.isAll()) {
+            return getUniModulesByPartnerUniversityAfter(partnerUniversityId, cursor, size, direction);
+        }
+
+        Sort sort = Sort.by(direction, "name", "id");
+        Specification<UniModule> specification = ofPartnerUniversity(partnerUniversityId);
+        if (cursor != null) {
+            specification = specification.and(cursor.toSpecification("name", "id", direction.isAscending()));
+        }
+
+        //fetches one more than requested, to know if there is a next slice
+        List<UniModule> uniModules = uniModuleRepository.findProjected(specification, sort, size + 1, fields);
+
+        boolean hasNext = uniModules.size() > size;
+        List<UniModule> content = hasNext ? uniModules.subList(0, size) : uniModules;
+
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * Retrieves the UniModules of many PartnerUniversities with one single query, to embed them into a listing
+     *
+     * @param partnerUniversityIds IDs of the PartnerUniversities, usually those of one page
+     * @param limit                Maximum number of UniModules per PartnerUniversity, null for all of them
+     * @return The UniModules of every PartnerUniversity ordered by name, PartnerUniversities without UniModules are left out
+     */
+    public Map<Long, List<UniModule>> getUniModulesOfPartnerUniversities(Collection<Long> partnerUniversityIds, Integer limit) {
+        if (partnerUniversityIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UniModule> uniModules = limit == null
+                ? uniModuleRepository.findByPartnerUniversityIds(partnerUniversityIds)
+                : uniModuleRepository.findFirstByPartnerUniversityIds(partnerUniversityIds, limit);
+
+        //reading the ID of the PartnerUniversity does not load it
+        return uniModules.stream().collect(Collectors.groupingBy(uniModule -> uniModule.getPartnerUniversity().getId()));
+    }
+
     /**
      * Retrieve one specific UniModule in relation to a PartnerUniversity
      *
@@ -87,16 +224,30 @@ public class UniModuleService {
 
     /**
      * Updates one specific UniModule
+     * The UniModule is loaded first, so nothing is locked when it does not belong to the PartnerUniversity
      *
      * @param partnerUniversityId ID of PartnerUniversity that has the UniModule to update
      * @param uniModuleId         ID of UniModule to update
      * @param updateRequest       Requested changes to make to UniModule
-     * @return The updated UniModule
+     * @param precondition        Condition its current version must fulfil, null to update it unconditionally
+     * @return The updated UniModule, with its incremented version, or null if it does not exist
+     * @throws ResponseStatusException When the UniModule has been modified since the client has read it
      */
     @Transactional
-    public UniModule updateUniModuleByPartnerUniversity(Long partnerUniversityId, Long uniModuleId, UniModule updateRequest) {
-        Optional<UniModule> optionalModule = uniModuleRepository.findByPartnerUniversityIdAndId(partnerUniversityId, uniModuleId);
-        UniModule uniModule = optionalModule.orElseThrow();
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.UNI_MODULES, key = "#uniModuleId"),
+            @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId")
+    })
+    public UniModule updateUniModuleByPartnerUniversity(Long partnerUniversityId, Long uniModuleId, UniModule updateRequest,
+                                                        Predicate<Long> precondition) {
+        UniModule uniModule = uniModuleRepository.findByPartnerUniversityIdAndId(partnerUniversityId, uniModuleId).orElse(null);
+        if (uniModule == null) {
+            return null;
+        }
+        OptimisticLocking.checkVersion(uniModule.getVersion(), precondition);
+
+        //the representation of the PartnerUniversity contains its UniModules, so its version changes as well
+        partnerUniversityRepository.findWithVersionIncrementById(partnerUniversityId);
 
         if (updateRequest.getName() != null && !updateRequest.getName().isEmpty()) {
             uniModule.setName(updateRequest.getName());
@@ -110,15 +261,50 @@ public class UniModuleService {
             uniModule.setEcts(updateRequest.getEcts());
         }
 
-        return uniModuleRepository.save(uniModule);
+        UniModule savedUniModule = OptimisticLocking.write(precondition, () -> uniModuleRepository.saveAndFlush(uniModule));
+        eventPublisher.publishEvent(UniModuleChangedEvent.saved(partnerUniversityId, savedUniModule));
+        return savedUniModule;
     }
 
     /**
      * Deletes one specific UniModule
+     * Removes it from the UniModules of its PartnerUniversity as well if they have been loaded,
+     * so the loaded PartnerUniversity does not save it again
      *
-     * @param uniModuleId ID of UniModule to delete
+     * @param partnerUniversityId ID of PartnerUniversity the UniModule belongs to
+     * @param uniModuleId         ID of UniModule to delete
+     * @param precondition        Condition its current version must fulfil, null to delete it unconditionally
+     * @return true if it has been deleted, false if it does not exist
+     * @throws ResponseStatusException When the UniModule has been modified since the client has read it
      */
-    public void deleteUniModuleByPartnerUniversity(Long uniModuleId) {
-        uniModuleRepository.deleteById(uniModuleId);
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.UNI_MODULES, key = "#uniModuleId"),
+            @CacheEvict(cacheNames = CacheConfig.PARTNER_UNIVERSITIES, key = "#partnerUniversityId")
+    })
+    public boolean deleteUniModuleByPartnerUniversity(Long partnerUniversityId, Long uniModuleId, Predicate<Long> precondition) {
+        UniModule uniModule = uniModuleRepository.findByPartnerUniversityIdAndId(partnerUniversityId, uniModuleId).orElse(null);
+        if (uniModule == null) {
+            return false;
+        }
+        OptimisticLocking.checkVersion(uniModule.getVersion(), precondition);
+
+        //the representation of the PartnerUniversity contains its UniModules, so its version changes as well
+        partnerUniversityRepository.findWithVersionIncrementById(partnerUniversityId);
+
+        OptimisticLocking.write(precondition, () -> {
+            if (Hibernate.isInitialized(uniModule.getPartnerUniversity().getModules())) {
+                uniModule.getPartnerUniversity().getModules().remove(uniModule);
+            }
+            uniModuleRepository.delete(uniModule);
+            uniModuleRepository.flush();
+            return uniModule;
+        });
+        eventPublisher.publishEvent(UniModuleChangedEvent.deleted(partnerUniversityId, uniModuleId));
+        return true;
+    }
+
+    private static Specification<UniModule> ofPartnerUniversity(Long partnerUniversityId) {
+        return (root, query, builder) -> builder.equal(root.get("partnerUniversity").get("id"), partnerUniversityId);
     }
 }
@@ -0,0 +1,38 @@
+package org.thws.management.server.session;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+
+/**
+ * Resolves the read caches for the session of the current thread, so sessions never see each other's entries
+ * The caches are transaction aware, a write running in a transaction only puts and evicts entries once it has committed,
+ * so a concurrent read can not cache the state from before the commit again, and a rolled back write evicts nothing
+ */
+public class SessionCacheResolver extends SimpleCacheResolver {
+
+    /**
+     * Constructs a new SessionCacheResolver
+     *
+     * @param cacheManager Manager holding the read caches
+     */
+    public SessionCacheResolver(CacheManager cacheManager) {
+        super(cacheManager);
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        Collection<? extends Cache> caches = super.resolveCaches(context);
+
+        String schema = SessionContext.currentSchema();
+
+        return caches.stream()
+                .map(cache -> schema == null ? cache : new SessionScopedCache(cache, schema))
+                .map(TransactionAwareCacheDecorator::new)
+                .toList();
+    }
+}
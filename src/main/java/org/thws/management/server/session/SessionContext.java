@@ -0,0 +1,79 @@
+package org.thws.management.server.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the isolated session the current thread works in, selected by the session header of a request
+ * Every session has its own database schema, requests without the header work in the shared default schema
+ */
+public final class SessionContext {
+    public static final String HEADER = "X-Session-Id";
+
+    private static final Pattern SESSION_ID = Pattern.compile("[a-z0-9]{1,32}");
+    private static final String SCHEMA_PREFIX = "SESSION_";
+    private static final ThreadLocal<String> CURRENT_SCHEMA = new ThreadLocal<>();
+
+    private SessionContext() {
+    }
+
+    /**
+     * Maps a session ID to the name of its schema
+     *
+     * @param sessionId ID of the session, 1 to 32 lowercase letters and digits
+     * @return Name of the schema of the session
+     * @throws ResponseStatusException When the session ID is malformed
+     */
+    public static String schemaOf(String sessionId) {
+        if (sessionId == null || !SESSION_ID.matcher(sessionId).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Session ID must consist of 1 to 32 lowercase letters and digits");
+        }
+
+        return SCHEMA_PREFIX + sessionId.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Retrieves the schema of the session the current thread works in
+     *
+     * @return Name of the schema, null when working in the default schema
+     */
+    public static String currentSchema() {
+        return CURRENT_SCHEMA.get();
+    }
+
+    //binds the schema of a request to its thread, until the request has been handled
+    static void enter(String schema) {
+        CURRENT_SCHEMA.set(schema);
+    }
+
+    static void leave() {
+        CURRENT_SCHEMA.remove();
+    }
+
+    /**
+     * Runs an action in the schema of a session, the previous schema of the thread is restored afterwards
+     *
+     * @param schema Name of the schema to work in, null for the default schema
+     * @param action Action to run
+     * @param <T>    Type of the result of the action
+     * @return Result of the action
+     */
+    public static <T> T callInSchema(String schema, Supplier<T> action) {
+        String previous = CURRENT_SCHEMA.get();
+        CURRENT_SCHEMA.set(schema);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SCHEMA.remove();
+            } else {
+                CURRENT_SCHEMA.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.thws.management.server.session;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+import org.thws.management.server.service.SessionService;
+
+import java.io.IOException;
+
+/**
+ * Filter running every request carrying the session header in the schema of that session
+ * The schema is created from the seed snapshot when the session is used for the first time
+ * Only registered with management.sessions.enabled=true, otherwise the header is ignored
+ */
+@Component
+@ConditionalOnProperty(name = "management.sessions.enabled", havingValue = "true")
+public class SessionFilter extends OncePerRequestFilter {
+    private final SessionService sessionService;
+
+    /**
+     * Constructs a new SessionFilter
+     *
+     * @param sessionService Service used to create the schemas of new sessions
+     */
+    @Autowired
+    public SessionFilter(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String sessionId = request.getHeader(SessionContext.HEADER);
+        if (sessionId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String schema;
+        try {
+            schema = SessionContext.schemaOf(sessionId);
+            sessionService.openSession(schema);
+        } catch (ResponseStatusException e) {
+            response.sendError(e.getStatusCode().value(), e.getReason());
+            return;
+        }
+
+        SessionContext.enter(schema);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SessionContext.leave();
+        }
+    }
+}
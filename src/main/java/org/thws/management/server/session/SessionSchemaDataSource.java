@@ -0,0 +1,48 @@
+package org.thws.management.server.session;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource handing out connections that work in the schema of the current session
+ * Covers JPA and plain JDBC alike, as the SQL of the application never names a schema
+ * The pool restores the default schema when a connection is returned
+ */
+public class SessionSchemaDataSource extends DelegatingDataSource {
+
+    /**
+     * Constructs a new SessionSchemaDataSource
+     *
+     * @param targetDataSource Pooled DataSource to take the connections from
+     */
+    public SessionSchemaDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return inSessionSchema(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return inSessionSchema(super.getConnection(username, password));
+    }
+
+    private static Connection inSessionSchema(Connection connection) throws SQLException {
+        String schema = SessionContext.currentSchema();
+        if (schema != null) {
+            try {
+                connection.setSchema(schema);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+
+        return connection;
+    }
+}
@@ -0,0 +1,122 @@
+package org.thws.management.server.session;
+
+import org.springframework.cache.Cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * View of a read cache restricted to one session, by adding the schema of the session to every key
+ * Clearing it only removes the entries of that session, the entries of the other sessions are kept
+ */
+public class SessionScopedCache implements Cache {
+    private final Cache target;
+    private final String schema;
+
+    /**
+     * Constructs a new SessionScopedCache
+     *
+     * @param target Read cache shared by all sessions
+     * @param schema Name of the schema of the session
+     */
+    public SessionScopedCache(Cache target, String schema) {
+        this.target = target;
+        this.schema = schema;
+    }
+
+    private Object scoped(Object key) {
+        return new SessionKey(schema, key);
+    }
+
+    //removes the entries of the session from the underlying Caffeine or map based cache, other caches are cleared entirely
+    private boolean clearSession() {
+        Object nativeCache = target.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return caffeineCache.asMap().keySet().removeIf(this::ofSession);
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return map.keySet().removeIf(this::ofSession);
+        }
+
+        return target.invalidate();
+    }
+
+    private boolean ofSession(Object key) {
+        return key instanceof SessionKey sessionKey && sessionKey.schema.equals(schema);
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(scoped(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(scoped(key), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(scoped(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(scoped(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(scoped(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return target.evictIfPresent(scoped(key));
+    }
+
+    @Override
+    public void clear() {
+        clearSession();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return clearSession();
+    }
+
+    /**
+     * Key of an entry in the shared cache, made of the schema of the session and the key within the session
+     */
+    private static class SessionKey {
+        private final String schema;
+        private final Object key;
+
+        SessionKey(String schema, Object key) {
+            this.schema = schema;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SessionKey sessionKey
+                    && schema.equals(sessionKey.schema) && Objects.equals(key, sessionKey.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * schema.hashCode() + Objects.hashCode(key);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+create sequence partner_university_sequence start with 1 increment by 1;
+create sequence unimodule_sequence start with 1 increment by 1;
+
+create table partner_university (
+    id bigint not null,
+    version bigint,
+    name varchar(255),
+    country varchar(255),
+    department_name varchar(255),
+    department_url varchar(255),
+    contact_person varchar(255),
+    max_students_in integer,
+    max_students_out integer,
+    next_spring_semester date,
+    next_summer_semester date,
+    normalized_name varchar(255),
+    normalized_country varchar(255),
+    normalized_department_name varchar(255),
+    primary key (id)
+);
+
+create table uni_module (
+    id bigint not null,
+    version bigint,
+    name varchar(255),
+    semester integer,
+    ects integer,
+    partner_university_id bigint,
+    primary key (id),
+    constraint fk_uni_module_partner_university foreign key (partner_university_id) references partner_university
+);
+
+create index idx_partner_university_name_id on partner_university (name, id);
+create index idx_partner_university_normalized_name on partner_university (normalized_name);
+create index idx_partner_university_normalized_country on partner_university (normalized_country);
+create index idx_partner_university_normalized_department_name on partner_university (normalized_department_name);
+create index idx_partner_university_max_students_in on partner_university (max_students_in);
+create index idx_partner_university_next_spring_semester on partner_university (next_spring_semester);
+create index idx_partner_university_next_summer_semester on partner_university (next_summer_semester);
+create index idx_uni_module_university_name_id on uni_module (partner_university_id, name, id);
+create index idx_uni_module_name on uni_module (name);
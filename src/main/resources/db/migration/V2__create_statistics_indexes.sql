@@ -0,0 +1,3 @@
+-- cover the columns aggregated by the statistics, so grouping reads the indexes only
+create index idx_uni_module_university_ects on uni_module (partner_university_id, ects);
+create index idx_uni_module_semester_ects on uni_module (semester, ects);
@@ -0,0 +1,3 @@
+-- exchange slots taken at a partner university, bounded by max_students_in and max_students_out
+alter table partner_university add column reserved_students_in integer default 0 not null;
+alter table partner_university add column reserved_students_out integer default 0 not null;
@@ -4,43 +4,97 @@ import org.junit.Assert;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.thws.management.client.AsyncPartnerUniversityClient;
+import org.thws.management.client.ClientResponseCache;
+import org.thws.management.client.ClientSessions;
 import org.thws.management.client.PartnerUniversityClient;
+import org.thws.management.client.UniModuleClient;
+import org.thws.management.server.model.ImportSummary;
 import org.thws.management.server.model.PartnerUniversity;
-
+import org.thws.management.server.model.PartnerUniversityCriteria;
+import org.thws.management.server.model.PartnerUniversityModel;
+import org.thws.management.server.model.SearchHit;
+import org.thws.management.server.model.Suggestion;
+import org.thws.management.server.model.UniModule;
+import org.thws.management.server.pagination.KeysetCursor;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Integration tests for the PartnerUniversity part of the backend
  */
 @RunWith(SpringRunner.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.sessions.enabled=true")
+@Execution(ExecutionMode.CONCURRENT)
 class PartnerUniversityApplicationTests {
     @Autowired
     private TestRestTemplate testRestTemplate;
 
+    @Autowired
+    private RestTemplate clientRestTemplate;
+
+    @Autowired
+    private HttpClient httpClient;
+
+    private String sessionId;
+    private RestTemplate restTemplate;
     private PartnerUniversityClient partnerUniversityClient;
+    private AsyncPartnerUniversityClient asyncPartnerUniversityClient;
 
-    //sets up a new client before a test is run
+    //sets up a new client working in a session of its own before a test is run
     @BeforeEach
     void setUp() {
-        partnerUniversityClient = new PartnerUniversityClient(testRestTemplate.getRestTemplate());
+        sessionId = ClientSessions.newSessionId();
+        restTemplate = ClientSessions.withSession(testRestTemplate.getRestTemplate(), sessionId);
+        partnerUniversityClient = new PartnerUniversityClient(restTemplate);
+        asyncPartnerUniversityClient = new AsyncPartnerUniversityClient(httpClient, sessionId);
     }
 
-    //resets the database to initial state after a test is run
+    //drops the data of the session after a test is run
     @AfterEach
     void tearDown() {
-        partnerUniversityClient.resetDatabase();
+        ClientSessions.closeSession(restTemplate, sessionId);
     }
 
     /**
@@ -197,6 +251,38 @@ class PartnerUniversityApplicationTests {
         assertEquals(HttpStatus.NOT_FOUND, response8.getStatusCode());
     }
 
+    /**
+     * Tests fetching universities with the prefix, range and date filters, also combined with each other.
+     * Expected: status code 200 when fetching something, 404 when fetching nothing
+     */
+    @Test
+    void testGetPartnerUniversityByExtendedFilters() {
+        PartnerUniversityCriteria namePrefix = new PartnerUniversityCriteria();
+        namePrefix.setNamePrefix("oth");
+        ResponseEntity<PagedModel<PartnerUniversity>> response1 = partnerUniversityClient.getAllPartnerUniversitiesByFilter(namePrefix);
+        assertEquals(HttpStatus.OK, response1.getStatusCode());
+        assertEquals(1, response1.getBody().getContent().size());
+
+        PartnerUniversityCriteria studentsRange = new PartnerUniversityCriteria();
+        studentsRange.setMaxStudentsInFrom(20);
+        studentsRange.setMaxStudentsInTo(40);
+        ResponseEntity<PagedModel<PartnerUniversity>> response2 = partnerUniversityClient.getAllPartnerUniversitiesByFilter(studentsRange);
+        assertEquals(HttpStatus.OK, response2.getStatusCode());
+        assertEquals(1, response2.getBody().getContent().size());
+
+        PartnerUniversityCriteria semesterRange = new PartnerUniversityCriteria();
+        semesterRange.setNextSpringSemesterFrom(LocalDate.of(1980, 1, 1));
+        semesterRange.setNextSpringSemesterTo(LocalDate.of(2010, 1, 1));
+        semesterRange.setCountry("GERMANY");
+        ResponseEntity<PagedModel<PartnerUniversity>> response3 = partnerUniversityClient.getAllPartnerUniversitiesByFilter(semesterRange);
+        assertEquals(HttpStatus.OK, response3.getStatusCode());
+        assertEquals(1, response3.getBody().getContent().size());
+
+        PartnerUniversityCriteria noMatch = new PartnerUniversityCriteria();
+        noMatch.setNamePrefix("%");
+        assertEquals(HttpStatus.NOT_FOUND, partnerUniversityClient.getAllPartnerUniversitiesByFilter(noMatch).getStatusCode());
+    }
+
     /**
      * Tests updating values of partner universities.
      * Expected: status code 200 when successfully updating, 404 works correctly in e.g. Postman, hard to reproduce here
@@ -227,6 +313,460 @@ class PartnerUniversityApplicationTests {
         assertNotEquals(oldName, updatedName);
     }
 
+    /**
+     * Tests conditional requests with the ETag of a partner university.
+     * Expected: status code 304 while it is unchanged, 412 when updating or deleting it with an outdated ETag,
+     * 200 and 204 with the current one
+     */
+    @Test
+    void testConditionalRequests() {
+        ResponseEntity<PartnerUniversity> response1 = partnerUniversityClient.getSinglePartnerUniversity(2L);
+        String eTag = response1.getHeaders().getETag();
+        assertNotNull(eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, partnerUniversityClient.getSinglePartnerUniversity(2L, eTag).getStatusCode());
+
+        PartnerUniversity partnerUniversity = response1.getBody();
+        partnerUniversity.setName("conditional name");
+        ResponseEntity<PartnerUniversity> response2 = partnerUniversityClient.updatePartnerUniversity(partnerUniversity, eTag);
+        assertEquals(HttpStatus.OK, response2.getStatusCode());
+
+        String updatedETag = response2.getHeaders().getETag();
+        assertNotEquals(eTag, updatedETag);
+
+        //the first ETag is outdated after the update
+        assertEquals(HttpStatus.OK, partnerUniversityClient.getSinglePartnerUniversity(2L, eTag).getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, partnerUniversityClient.updatePartnerUniversity(partnerUniversity, eTag).getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, partnerUniversityClient.deletePartnerUniversity(2L, eTag).getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, partnerUniversityClient.deletePartnerUniversity(2L, updatedETag).getStatusCode());
+    }
+
+    /**
+     * Tests exporting all partner universities with their modules.
+     * Expected: both universities with their modules as NDJSON, and a CSV with a header and one row per module
+     */
+    @Test
+    void testExportPartnerUniversities() {
+        List<PartnerUniversity> exported = new ArrayList<>();
+        assertEquals(2, partnerUniversityClient.exportPartnerUniversities(exported::add));
+        assertEquals("THWS", exported.get(0).getName());
+        assertEquals(2, exported.get(0).getModules().size());
+        assertEquals(1, exported.get(1).getModules().size());
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        partnerUniversityClient.exportPartnerUniversitiesAsCsv(csv);
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("id,name,country"));
+    }
+
+    /**
+     * Tests importing several partner universities with their modules at once.
+     * Expected: valid rows are created with their modules, rows with duplicate names or missing fields are rejected
+     */
+    @Test
+    void testImportPartnerUniversities() {
+        PartnerUniversity imported = new PartnerUniversity("imported university", "test country", "test department name",
+                "test department url", "test contact person", 10, 10, LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20));
+        imported.setModules(List.of(new UniModule("imported module 1", 1, 5, null), new UniModule("imported module 2", 2, 5, null)));
+
+        PartnerUniversity duplicate = new PartnerUniversity("THWS", "test country", "test department name",
+                "test department url", "test contact person", 10, 10, LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20));
+
+        PartnerUniversity incomplete = new PartnerUniversity("incomplete university", null, "test department name",
+                "test department url", "test contact person", 10, 10, LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20));
+
+        ResponseEntity<ImportSummary> response = partnerUniversityClient.importPartnerUniversities(List.of(imported, duplicate, incomplete));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getCreated());
+        assertEquals(2, response.getBody().getRejected());
+
+        ImportSummary.Row created = response.getBody().getRows().get(0);
+        assertEquals(ImportSummary.CREATED, created.getStatus());
+        assertEquals(ImportSummary.REJECTED, response.getBody().getRows().get(1).getStatus());
+        assertEquals(ImportSummary.REJECTED, response.getBody().getRows().get(2).getStatus());
+
+        ResponseEntity<PartnerUniversity> importedResponse = partnerUniversityClient.getSinglePartnerUniversity(created.getId());
+        assertEquals(HttpStatus.OK, importedResponse.getStatusCode());
+        assertEquals("imported university", importedResponse.getBody().getName());
+    }
+
+    /**
+     * Tests fetching partner universities without blocking.
+     * Expected: with initial setup university 1 and both universities in the listing, 404 for a university that is not found,
+     * with the same bodies as fetched by the blocking client
+     */
+    @Test
+    void testAsyncPartnerUniversities() {
+        CompletableFuture<ResponseEntity<PartnerUniversity>> single = asyncPartnerUniversityClient.getSinglePartnerUniversity(1L);
+        CompletableFuture<ResponseEntity<PartnerUniversity>> missing = asyncPartnerUniversityClient.getSinglePartnerUniversity(99L);
+        CompletableFuture<ResponseEntity<PagedModel<PartnerUniversity>>> all = asyncPartnerUniversityClient.getAllPartnerUniversities();
+
+        assertEquals(HttpStatus.OK, single.join().getStatusCode());
+        assertEquals(partnerUniversityClient.getSinglePartnerUniversity(1L).getBody().getName(), single.join().getBody().getName());
+        assertEquals(HttpStatus.NOT_FOUND, missing.join().getStatusCode());
+        assertEquals(HttpStatus.OK, all.join().getStatusCode());
+        assertEquals(2, all.join().getBody().getContent().size());
+    }
+
+    /**
+     * Tests streaming partner universities page by page.
+     * Expected: every university exactly once and sorted by name, also when the filter leaves part of them,
+     * from the async as well as from the blocking client
+     */
+    @Test
+    void testStreamPartnerUniversities() {
+        List<PartnerUniversity> imported = IntStream.range(0, 5)
+                .mapToObj(i -> new PartnerUniversity("streamed university " + i, "streamed country", "test department name",
+                        "test department url", "test contact person", 10, 10, LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20)))
+                .toList();
+        assertEquals(5, partnerUniversityClient.importPartnerUniversities(imported).getBody().getCreated());
+
+        try (Stream<PartnerUniversity> all = asyncPartnerUniversityClient.streamPartnerUniversities(new PartnerUniversityCriteria(), 2)) {
+            List<String> names = all.map(PartnerUniversity::getName).toList();
+            assertEquals(7, names.size());
+            assertEquals(names.stream().sorted().toList(), names);
+        }
+
+        PartnerUniversityCriteria country = new PartnerUniversityCriteria();
+        country.setCountry("streamed country");
+        try (Stream<PartnerUniversity> filtered = asyncPartnerUniversityClient.streamPartnerUniversities(country, 3)) {
+            assertEquals(5, filtered.count());
+        }
+
+        //the blocking client streams the same listing, also with a RestTemplate throwing on the 404 ending it
+        PartnerUniversityClient blockingClient = new PartnerUniversityClient(ClientSessions.withSession(clientRestTemplate, sessionId));
+        try (Stream<PartnerUniversity> all = blockingClient.streamPartnerUniversities(new PartnerUniversityCriteria(), 2)) {
+            List<String> names = all.map(PartnerUniversity::getName).toList();
+            assertEquals(7, names.size());
+            assertEquals(names.stream().sorted().toList(), names);
+        }
+        try (Stream<PartnerUniversity> filtered = partnerUniversityClient.streamPartnerUniversities(country, 3)) {
+            assertEquals(5, filtered.count());
+        }
+    }
+
+    /**
+     * Tests keyset pagination of partner universities.
+     * Expected: the next links carry the cursor of the last university of their page and lead through every university
+     * sorted by name, in reverse for descending order, a tie on the name is broken by the ID,
+     * 400 for a size outside of 1 to 100 and for a malformed cursor
+     */
+    @Test
+    void testKeysetPagination() {
+        List<PartnerUniversity> imported = IntStream.range(0, 5)
+                .mapToObj(i -> new PartnerUniversity("keyset university " + i, "keyset country", "test department name",
+                        "test department url", "test contact person", 10, 10, LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20)))
+                .toList();
+        assertEquals(5, partnerUniversityClient.importPartnerUniversities(imported).getBody().getCreated());
+
+        List<String> ascending = followKeysetPages("asc");
+        assertEquals(7, ascending.size());
+        assertEquals(ascending.stream().sorted().toList(), ascending);
+
+        List<String> descending = followKeysetPages("desc");
+        Collections.reverse(descending);
+        assertEquals(ascending, descending);
+
+        //a cursor with the same name only skips the university if its ID is not smaller, in either order
+        ResponseEntity<CollectionModel<PartnerUniversity>> response1 = keysetPage(
+                new KeysetCursor("keyset university 2", 0L).encode(), 1, "asc");
+        assertEquals("keyset university 2", response1.getBody().getContent().iterator().next().getName());
+
+        ResponseEntity<CollectionModel<PartnerUniversity>> response2 = keysetPage(
+                new KeysetCursor("keyset university 2", Long.MAX_VALUE).encode(), 1, "asc");
+        assertEquals("keyset university 3", response2.getBody().getContent().iterator().next().getName());
+
+        ResponseEntity<CollectionModel<PartnerUniversity>> response3 = keysetPage(
+                new KeysetCursor("keyset university 2", Long.MAX_VALUE).encode(), 1, "desc");
+        assertEquals("keyset university 2", response3.getBody().getContent().iterator().next().getName());
+
+        ResponseEntity<CollectionModel<PartnerUniversity>> response4 = keysetPage(
+                new KeysetCursor("keyset university 2", 0L).encode(), 1, "desc");
+        assertEquals("keyset university 1", response4.getBody().getContent().iterator().next().getName());
+
+        //slices hold from 1 to 100 universities, the size of the offset listing of the clients is too large
+        assertEquals(HttpStatus.OK, keysetPage("", 1, "asc").getStatusCode());
+        assertEquals(HttpStatus.OK, keysetPage("", 100, "asc").getStatusCode());
+        for (int size : new int[]{0, -1, 101, Integer.MAX_VALUE}) {
+            assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(keysetUri("", size, "asc"),
+                    HttpMethod.GET, null, String.class).getStatusCode());
+        }
+
+        //neither valid Base64 nor an ID followed by a name
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(keysetUri("!!!", 2, "asc"),
+                HttpMethod.GET, null, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(keysetUri("NDI", 2, "asc"),
+                HttpMethod.GET, null, String.class).getStatusCode());
+    }
+
+    /**
+     * Tests fetching partner universities through a client side response cache.
+     * Expected: repeated requests are revalidated with 304, writes through the client invalidate the entry,
+     * fresh entries are served without a request and stale ones while they are revalidated
+     */
+    @Test
+    void testClientResponseCache() {
+        ClientResponseCache responseCache = new ClientResponseCache(100);
+        PartnerUniversityClient cachingClient = new PartnerUniversityClient(restTemplate, responseCache);
+
+        PartnerUniversity partnerUniversity = cachingClient.getSinglePartnerUniversity(1L).getBody();
+        assertEquals(HttpStatus.OK, cachingClient.getSinglePartnerUniversity(1L).getStatusCode());
+        assertEquals(partnerUniversity.getName(), cachingClient.getSinglePartnerUniversity(1L).getBody().getName());
+
+        partnerUniversity.setName("cached university");
+        assertEquals(HttpStatus.OK, cachingClient.updatePartnerUniversity(partnerUniversity).getStatusCode());
+        assertEquals("cached university", cachingClient.getSinglePartnerUniversity(1L).getBody().getName());
+
+        ClientResponseCache.Stats stats = responseCache.stats();
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getNotModified());
+        assertEquals(0.5, stats.getHitRate());
+
+        ClientResponseCache freshCache = new ClientResponseCache(100, Duration.ofMinutes(10), Duration.ZERO, Runnable::run);
+        PartnerUniversityClient freshClient = new PartnerUniversityClient(restTemplate, freshCache);
+        freshClient.getAllPartnerUniversities();
+        assertEquals(2, freshClient.getAllPartnerUniversities().getBody().getContent().size());
+        assertEquals(1, freshCache.stats().getFreshHits());
+
+        ClientResponseCache staleCache = new ClientResponseCache(100, Duration.ZERO, Duration.ofMinutes(10), Runnable::run);
+        PartnerUniversityClient staleClient = new PartnerUniversityClient(restTemplate, staleCache);
+        staleClient.getSinglePartnerUniversity(2L);
+        assertEquals(HttpStatus.OK, staleClient.getSinglePartnerUniversity(2L).getStatusCode());
+        assertEquals(1, staleCache.stats().getStaleHits());
+        assertEquals(1, staleCache.stats().getNotModified());
+    }
+
+    /**
+     * Tests working in isolated sessions.
+     * Expected: changes in one session are neither visible in another session nor in the shared data,
+     * resetting a session only resets its own data
+     */
+    @Test
+    void testSessionIsolation() {
+        String otherSessionId = ClientSessions.newSessionId();
+        RestTemplate otherRestTemplate = ClientSessions.withSession(testRestTemplate.getRestTemplate(), otherSessionId);
+        PartnerUniversityClient otherClient = new PartnerUniversityClient(otherRestTemplate);
+        PartnerUniversityClient sharedClient = new PartnerUniversityClient(testRestTemplate.getRestTemplate());
+
+        try {
+            assertEquals(HttpStatus.NO_CONTENT, partnerUniversityClient.deletePartnerUniversity(1L).getStatusCode());
+            assertEquals(HttpStatus.NOT_FOUND, partnerUniversityClient.getSinglePartnerUniversity(1L).getStatusCode());
+            assertEquals(HttpStatus.OK, otherClient.getSinglePartnerUniversity(1L).getStatusCode());
+            assertEquals(HttpStatus.OK, sharedClient.getSinglePartnerUniversity(1L).getStatusCode());
+
+            otherClient.resetDatabase();
+            assertEquals(HttpStatus.NOT_FOUND, partnerUniversityClient.getSinglePartnerUniversity(1L).getStatusCode());
+
+            partnerUniversityClient.resetDatabase();
+            assertEquals(HttpStatus.OK, partnerUniversityClient.getSinglePartnerUniversity(1L).getStatusCode());
+        } finally {
+            ClientSessions.closeSession(otherRestTemplate, otherSessionId);
+        }
+
+        assertEquals(HttpStatus.NOT_FOUND, testRestTemplate.exchange("http://localhost:8080/api/v1/sessions/" + otherSessionId,
+                HttpMethod.DELETE, null, Void.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, testRestTemplate.exchange("http://localhost:8080/api/v1/sessions/Not-Valid",
+                HttpMethod.DELETE, null, Void.class).getStatusCode());
+    }
+
+    /**
+     * Tests the full-text search over partner universities and modules.
+     * Expected: words with typos are found, the index follows creations, updates and deletions,
+     * a module matching all words is ranked first, 404 when nothing is found, 400 for invalid paging
+     */
+    @Test
+    void testSearch() {
+        ResponseEntity<PagedModel<SearchHit>> response = partnerUniversityClient.search("itly", 0, 10);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Other University", response.getBody().getContent().iterator().next().getName());
+
+        PartnerUniversity created = partnerUniversityClient.addNewPartnerUniversity(new PartnerUniversity("Politecnico di Milano",
+                "Italy", "Computer Science", "test department url", "test contact person", 10, 10,
+                LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20))).getBody();
+        new UniModuleClient(restTemplate).addNewUniModuleToPartnerUniversity(created.getId(),
+                new UniModule("Machine Learning", 1, 5, null));
+
+        response = partnerUniversityClient.search("machine lerning itly", 0, 10);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        SearchHit best = response.getBody().getContent().iterator().next();
+        assertEquals("uni-module", best.getType());
+        assertEquals("Machine Learning", best.getName());
+        assertEquals(created.getId(), best.getPartnerUniversityId());
+        assertTrue(best.getLink("self").get().getHref().endsWith("/" + created.getId() + "/modules/" + best.getId()));
+
+        response = partnerUniversityClient.search("politecnico", 0, 1);
+        assertEquals(2, response.getBody().getMetadata().getTotalElements());
+        assertNotNull(response.getHeaders().getFirst("next-page"));
+
+        created.setCountry("Spain");
+        partnerUniversityClient.updatePartnerUniversity(created);
+        assertEquals("Machine Learning", partnerUniversityClient.search("machine spain", 0, 10)
+                .getBody().getContent().iterator().next().getName());
+
+        assertEquals(HttpStatus.NO_CONTENT, partnerUniversityClient.deletePartnerUniversity(created.getId()).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, partnerUniversityClient.search("politecnico machine", 0, 10).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, partnerUniversityClient.search("italy", 0, 0).getStatusCode());
+    }
+
+    /**
+     * Tests completing typed prefixes to names.
+     * Expected: any word of a name can be completed, ignoring case, the names follow creations, renames and deletions,
+     * 404 when nothing matches, 400 for an invalid limit
+     */
+    @Test
+    void testAutocomplete() {
+        ResponseEntity<CollectionModel<Suggestion>> response = partnerUniversityClient.autocomplete("UNIV", 10);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Other University", response.getBody().getContent().iterator().next().getName());
+
+        PartnerUniversity created = partnerUniversityClient.addNewPartnerUniversity(new PartnerUniversity("Politecnico di Milano",
+                "Italy", "Computer Science", "test department url", "test contact person", 10, 10,
+                LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20))).getBody();
+        new UniModuleClient(restTemplate).addNewUniModuleToPartnerUniversity(created.getId(),
+                new UniModule("Machine Learning", 1, 5, null));
+
+        assertEquals("Politecnico di Milano", partnerUniversityClient.autocomplete("mil", 10)
+                .getBody().getContent().iterator().next().getName());
+        Suggestion module = partnerUniversityClient.autocomplete("machine le", 10).getBody().getContent().iterator().next();
+        assertEquals("Machine Learning", module.getName());
+        assertTrue(module.getLink("self").get().getHref().endsWith("/" + created.getId() + "/modules/" + module.getId()));
+
+        created.setName("Politecnico di Torino");
+        partnerUniversityClient.updatePartnerUniversity(created);
+        assertEquals(HttpStatus.NOT_FOUND, partnerUniversityClient.autocomplete("mil", 10).getStatusCode());
+        assertEquals(HttpStatus.OK, partnerUniversityClient.autocomplete("tor", 10).getStatusCode());
+
+        assertEquals(HttpStatus.NO_CONTENT, partnerUniversityClient.deletePartnerUniversity(created.getId()).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, partnerUniversityClient.autocomplete("learn", 10).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, partnerUniversityClient.autocomplete("other", 0).getStatusCode());
+    }
+
+    /**
+     * Tests embedding the modules into the listing of partner universities.
+     * Expected: only links to the modules by default, all or only the first modules of every university on request,
+     * with initial setup 2 modules in university 1, 400 for anything else to embed and for a module limit without embedding
+     */
+    @Test
+    void testEmbedModules() {
+        ResponseEntity<PagedModel<PartnerUniversityModel>> response = partnerUniversityClient.getAllPartnerUniversityModels(null, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        for (PartnerUniversityModel partnerUniversityModel : response.getBody().getContent()) {
+            assertNull(partnerUniversityModel.getUniModuleModels());
+            assertTrue(partnerUniversityModel.getLink("modules").isPresent());
+        }
+
+        assertEquals(2, modelOf(partnerUniversityClient.getAllPartnerUniversityModels("modules", null), 1L).getUniModuleModels().size());
+        assertEquals(1, modelOf(partnerUniversityClient.getAllPartnerUniversityModels("modules", 1), 1L).getUniModuleModels().size());
+
+        assertEquals(HttpStatus.BAD_REQUEST, partnerUniversityClient.getAllPartnerUniversityModels("everything", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, partnerUniversityClient.getAllPartnerUniversityModels("modules", 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, partnerUniversityClient.getAllPartnerUniversityModels(null, 1).getStatusCode());
+    }
+
+    /**
+     * Tests fetching partner universities encoded as CBOR instead of JSON.
+     * Expected: status code 200 with content type application/cbor, the same universities, links and embedded modules as with JSON,
+     * responses varying by the Accept header with ETags differing by the format
+     */
+    @Test
+    void testCborContentNegotiation() {
+        PartnerUniversityClient cborPartnerUniversityClient = new PartnerUniversityClient(restTemplate, null, MediaType.APPLICATION_CBOR);
+
+        ResponseEntity<PagedModel<PartnerUniversity>> json = partnerUniversityClient.getAllPartnerUniversities();
+        ResponseEntity<PagedModel<PartnerUniversity>> cbor = cborPartnerUniversityClient.getAllPartnerUniversities();
+        assertEquals(HttpStatus.OK, cbor.getStatusCode());
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertEquals(json.getBody().getContent().stream().map(PartnerUniversity::getName).toList(),
+                cbor.getBody().getContent().stream().map(PartnerUniversity::getName).toList());
+        assertEquals(json.getBody().getLinks(), cbor.getBody().getLinks());
+        assertEquals(json.getBody().getMetadata(), cbor.getBody().getMetadata());
+
+        assertEquals("THWS", cborPartnerUniversityClient.getSinglePartnerUniversity(1L).getBody().getName());
+        assertEquals(2, modelOf(cborPartnerUniversityClient.getAllPartnerUniversityModels("modules", null), 1L).getUniModuleModels().size());
+        assertEquals(HttpStatus.NOT_FOUND, cborPartnerUniversityClient.getSinglePartnerUniversity(99L).getStatusCode());
+
+        ResponseEntity<PartnerUniversity> jsonUniversity = partnerUniversityClient.getSinglePartnerUniversity(1L);
+        ResponseEntity<PartnerUniversity> cborUniversity = cborPartnerUniversityClient.getSinglePartnerUniversity(1L);
+        assertTrue(variesByAccept(jsonUniversity));
+        assertTrue(variesByAccept(cborUniversity));
+        assertTrue(variesByAccept(cbor));
+        assertNotEquals(jsonUniversity.getHeaders().getETag(), cborUniversity.getHeaders().getETag());
+        assertNotEquals(json.getHeaders().getETag(), cbor.getHeaders().getETag());
+
+        //a cached JSON representation is not revalidated for a CBOR request, the ETag of either format matches on updates
+        assertEquals(HttpStatus.OK, cborPartnerUniversityClient
+                .getSinglePartnerUniversity(1L, jsonUniversity.getHeaders().getETag()).getStatusCode());
+        assertEquals(HttpStatus.OK, partnerUniversityClient
+                .updatePartnerUniversity(jsonUniversity.getBody(), cborUniversity.getHeaders().getETag()).getStatusCode());
+    }
+
+    /**
+     * Tests the compression of responses for clients accepting gzip.
+     * Expected: responses of at least 1KB are gzip compressed, smaller ones are sent as they are with their length
+     */
+    @Test
+    void testCompressedResponses() throws Exception {
+        HttpResponse<byte[]> listing = httpClient.send(gzipRequest("?embed=modules"), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, listing.statusCode());
+        assertEquals(Optional.of("gzip"), listing.headers().firstValue("Content-Encoding"));
+
+        HttpResponse<byte[]> slots = httpClient.send(gzipRequest("/1/slots"), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, slots.statusCode());
+        assertEquals(Optional.empty(), slots.headers().firstValue("Content-Encoding"));
+        assertEquals(slots.body().length, slots.headers().firstValueAsLong("Content-Length").orElse(-1));
+
+        //the rest template of the clients decompresses the same listing on its own
+        PartnerUniversityClient gzipPartnerUniversityClient =
+                new PartnerUniversityClient(ClientSessions.withSession(clientRestTemplate, sessionId));
+        assertEquals(2, modelOf(gzipPartnerUniversityClient.getAllPartnerUniversityModels("modules", null), 1L).getUniModuleModels().size());
+    }
+
+    /**
+     * Tests fetching only some fields of partner universities.
+     * Expected: only the requested fields are set, the others are left out of the response, 400 for an unknown field
+     */
+    @Test
+    void testSparseFieldsets() {
+        ResponseEntity<PagedModel<PartnerUniversity>> response = partnerUniversityClient.getSparsePartnerUniversities(
+                new PartnerUniversityCriteria(), "id,name,country");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        for (PartnerUniversity partnerUniversity : response.getBody().getContent()) {
+            assertNotNull(partnerUniversity.getId());
+            assertNotNull(partnerUniversity.getName());
+            assertNotNull(partnerUniversity.getCountry());
+            assertNull(partnerUniversity.getDepartmentName());
+            assertNull(partnerUniversity.getMaxStudentsIn());
+            assertNull(partnerUniversity.getNextSpringSemester());
+        }
+
+        PartnerUniversity first = response.getBody().getContent().iterator().next();
+        PartnerUniversity sparse = partnerUniversityClient.getSparsePartnerUniversity(first.getId(), "name,maxStudentsOut").getBody();
+        assertEquals(first.getName(), sparse.getName());
+        assertNotNull(sparse.getMaxStudentsOut());
+        assertNull(sparse.getId());
+        assertNull(sparse.getCountry());
+
+        assertEquals(HttpStatus.BAD_REQUEST, partnerUniversityClient.getSparsePartnerUniversity(first.getId(), "name,password").getStatusCode());
+    }
+
+    /**
+     * Tests the metrics exposed in Prometheus format.
+     * Expected: percentiles of the request handler, service method and repository query, and connection pool gauges
+     */
+    @Test
+    void testPrometheusMetrics() {
+        assertEquals(HttpStatus.OK, testRestTemplate.getForEntity("/api/v1/partner-universities/1", String.class).getStatusCode());
+
+        ResponseEntity<String> response = testRestTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        String metrics = response.getBody();
+        assertTrue(metrics.contains("uri=\"/api/v1/partner-universities/{partnerUniversityId}\",quantile=\"0.99\""));
+        assertTrue(metrics.contains("method=\"getPartnerUniversityById\",quantile=\"0.95\""));
+        assertTrue(metrics.contains("repository=\"PartnerUniversityRepository\""));
+        assertTrue(metrics.contains("hikaricp_connections_active"));
+    }
+
     /**
      * Tests deleting partner universities.
      * Expected: status code 204 upon successful deletion, 404 when university is not found
@@ -236,4 +776,64 @@ class PartnerUniversityApplicationTests {
         assertEquals(HttpStatus.NO_CONTENT, partnerUniversityClient.deletePartnerUniversity(1L).getStatusCode());
         assertEquals(HttpStatus.NOT_FOUND, partnerUniversityClient.deletePartnerUniversity(1L).getStatusCode());
     }
+
+    //follows the next links of a keyset listing from its beginning, checking the cursor of every link
+    private List<String> followKeysetPages(String sort) {
+        List<String> names = new ArrayList<>();
+        ResponseEntity<CollectionModel<PartnerUniversity>> response = keysetPage("", 2, sort);
+
+        while (true) {
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            List<PartnerUniversity> page = List.copyOf(response.getBody().getContent());
+            page.forEach(partnerUniversity -> names.add(partnerUniversity.getName()));
+
+            Optional<Link> next = response.getBody().getLink(IanaLinkRelations.NEXT);
+            if (next.isEmpty()) {
+                return names;
+            }
+
+            String after = UriComponentsBuilder.fromUriString(next.get().getHref()).build().getQueryParams().getFirst("after");
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            assertEquals(page.get(page.size() - 1).getName(), cursor.getName());
+            assertEquals(page.get(page.size() - 1).getId(), cursor.getId());
+
+            response = keysetPage(after, 2, sort);
+        }
+    }
+
+    private ResponseEntity<CollectionModel<PartnerUniversity>> keysetPage(String after, int size, String sort) {
+        return restTemplate.exchange(keysetUri(after, size, sort), HttpMethod.GET, null,
+                new ParameterizedTypeReference<CollectionModel<PartnerUniversity>>() {
+                });
+    }
+
+    private static URI keysetUri(String after, int size, String sort) {
+        return UriComponentsBuilder.fromUriString("http://localhost:8080/api/v1/partner-universities")
+                .queryParam("after", after)
+                .queryParam("size", size)
+                .queryParam("sort", sort)
+                .build().toUri();
+    }
+
+    //builds a request in the session of the test which accepts a gzip compressed response
+    private HttpRequest gzipRequest(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:8080/api/v1/partner-universities" + path))
+                .header(ClientSessions.HEADER, sessionId)
+                .header("Accept-Encoding", "gzip")
+                .build();
+    }
+
+    //compression adds Accept-Encoding to the Vary header of larger responses
+    private static boolean variesByAccept(ResponseEntity<?> response) {
+        return response.getHeaders().getVary().stream().anyMatch(HttpHeaders.ACCEPT::equalsIgnoreCase);
+    }
+
+    //picks the representation of one university out of a listing
+
+    private static PartnerUniversityModel modelOf(ResponseEntity<PagedModel<PartnerUniversityModel>> response, Long partnerUniversityId) {
+        return response.getBody().getContent().stream()
+                .filter(partnerUniversityModel -> partnerUniversityModel.getId().equals(partnerUniversityId))
+                .findFirst()
+                .orElseThrow();
+    }
 }
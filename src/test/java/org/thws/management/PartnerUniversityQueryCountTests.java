@@ -0,0 +1,141 @@
+package org.thws.management;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.UniModule;
+import org.thws.management.server.repository.PartnerUniversityRepository;
+import org.thws.management.server.repository.UniModuleRepository;
+import org.thws.management.server.service.PartnerUniversityService;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Checks that listing PartnerUniversities does not lazily load the UniModules of every university one by one,
+ * whether they are embedded or not
+ * Runs against its own in-memory database, so the seeded data of the other tests stays untouched
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycountdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class PartnerUniversityQueryCountTests {
+    private static final int UNIVERSITIES = 30;
+    private static final int MODULES_PER_UNIVERSITY = 3;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private PartnerUniversityRepository partnerUniversityRepository;
+
+    @Autowired
+    private UniModuleRepository uniModuleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PartnerUniversityService partnerUniversityService;
+
+    private StatementCounter statementCounter;
+
+    //fills the database with enough universities to fill large pages, only once per context
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter(testRestTemplate, entityManagerFactory);
+
+        if (partnerUniversityRepository.count() >= UNIVERSITIES) {
+            return;
+        }
+
+        for (int i = 0; i < UNIVERSITIES; i++) {
+            PartnerUniversity partnerUniversity = partnerUniversityRepository.save(new PartnerUniversity(
+                    "query count university " + i,
+                    "test country",
+                    "test department name",
+                    "test department url",
+                    "test contact person",
+                    1,
+                    1,
+                    LocalDate.of(2024, 5, 20),
+                    LocalDate.of(2024, 5, 20).plusMonths(1)
+            ));
+
+            for (int j = 0; j < MODULES_PER_UNIVERSITY; j++) {
+                uniModuleRepository.save(new UniModule("query count module " + i + "-" + j, 1, 5, partnerUniversity));
+            }
+        }
+    }
+
+    /**
+     * Tests that the number of statements for one listing does not grow with the page size.
+     * Expected: the same statement count for a page of 2 and a page of 25 universities
+     */
+    @Test
+    void testListingStatementCountIndependentOfPageSize() {
+        long smallPage = countStatements("/api/v1/partner-universities?page=0&size=2");
+        long largePage = countStatements("/api/v1/partner-universities?page=0&size=25");
+
+        assertEquals(smallPage, largePage);
+    }
+
+    /**
+     * Tests the same with the modules embedded, with and without a limit per university.
+     * Expected: the same statement count for a page of 2 and a page of 25 universities
+     */
+    @Test
+    void testEmbeddedModulesStatementCountIndependentOfPageSize() {
+        assertEquals(countStatements("/api/v1/partner-universities?page=0&size=2&embed=modules"),
+                countStatements("/api/v1/partner-universities?page=0&size=25&embed=modules"));
+        assertEquals(countStatements("/api/v1/partner-universities?after=&size=2&embed=modules&moduleLimit=2"),
+                countStatements("/api/v1/partner-universities?after=&size=25&embed=modules&moduleLimit=2"));
+    }
+
+    /**
+     * Tests the same for the keyset paginated listing.
+     * Expected: the same statement count for a slice of 2 and a slice of 25 universities
+     */
+    @Test
+    void testKeysetListingStatementCountIndependentOfPageSize() {
+        long smallSlice = countStatements("/api/v1/partner-universities?after=&size=2");
+        long largeSlice = countStatements("/api/v1/partner-universities?after=&size=25");
+
+        assertEquals(smallSlice, largeSlice);
+    }
+
+    /**
+     * Tests that a cached university is handed out as a copy of its own on every read.
+     * Expected: the second read executes no statement, changes to a read university do not reach the cache
+     */
+    @Test
+    void testCachedUniversityIsCopiedOnRead() {
+        Long partnerUniversityId = partnerUniversityRepository.findPartnerUniversityByName("query count university 0")
+                .orElseThrow().getId();
+        countStatements("/api/v1/partner-universities/" + partnerUniversityId);
+        assertEquals(0, countStatements("/api/v1/partner-universities/" + partnerUniversityId));
+
+        PartnerUniversity first = partnerUniversityService.getPartnerUniversityById(partnerUniversityId);
+        first.setName("changed by a caller");
+        first.getModules().clear();
+
+        PartnerUniversity second = partnerUniversityService.getPartnerUniversityById(partnerUniversityId);
+        assertNotSame(first, second);
+        assertEquals("query count university 0", second.getName());
+        assertEquals(MODULES_PER_UNIVERSITY, second.getModules().size());
+    }
+
+    //executes one GET request and returns the number of statements prepared while serving it
+    private long countStatements(String url) {
+        return statementCounter.count(HttpMethod.GET, url, null, HttpStatus.OK);
+    }
+}
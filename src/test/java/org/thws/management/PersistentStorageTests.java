@@ -0,0 +1,90 @@
+package org.thws.management;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.repository.PartnerUniversityRepository;
+import org.thws.management.server.repository.UniModuleRepository;
+import org.thws.management.server.service.DatabaseResetService;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the persistent profile against a file based database in a temporary directory
+ * Starting the context already checks that the Flyway migrations match the entities
+ */
+@ActiveProfiles("persistent")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PersistentStorageTests {
+    @TempDir
+    static Path storageDirectory;
+
+    @Autowired
+    private PartnerUniversityRepository partnerUniversityRepository;
+
+    @Autowired
+    private UniModuleRepository uniModuleRepository;
+
+    @Autowired
+    private List<CommandLineRunner> seeders;
+
+    @Autowired
+    private DatabaseResetService databaseResetService;
+
+    @DynamicPropertySource
+    static void storageProperties(DynamicPropertyRegistry registry) {
+        registry.add("management.storage.directory", () -> storageDirectory.toString());
+    }
+
+    //resets the database to initial state after a test is run
+    @AfterEach
+    void tearDown() {
+        databaseResetService.resetDatabase();
+    }
+
+    /**
+     * Tests seeding a database which already holds data, as after a restart.
+     * Expected: the seeding runners add nothing, the stored data stays untouched
+     */
+    @Test
+    void testSeedingSkippedWhenDataExists() throws Exception {
+        assertEquals(2, partnerUniversityRepository.count());
+        assertEquals(3, uniModuleRepository.count());
+
+        for (CommandLineRunner seeder : seeders) {
+            seeder.run();
+        }
+
+        assertEquals(2, partnerUniversityRepository.count());
+        assertEquals(3, uniModuleRepository.count());
+    }
+
+    /**
+     * Tests resetting the persistent database without a snapshot.
+     * Expected: the seeded data only, and IDs are handed out from the start again
+     */
+    @Test
+    void testResetDatabase() {
+        PartnerUniversity created = partnerUniversityRepository.save(new PartnerUniversity("persisted university", "test country",
+                "test department name", "test department url", "test contact person", 10, 10,
+                LocalDate.of(2024, 5, 20), LocalDate.of(2024, 6, 20)));
+        assertEquals(3L, created.getId());
+
+        databaseResetService.resetDatabase();
+
+        assertEquals(2, partnerUniversityRepository.count());
+        assertEquals(3, uniModuleRepository.count());
+        assertEquals("THWS", partnerUniversityRepository.findById(1L).orElseThrow().getName());
+    }
+}
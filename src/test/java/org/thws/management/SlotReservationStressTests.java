@@ -0,0 +1,164 @@
+package org.thws.management;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.thws.management.server.model.ExchangeSlots;
+import org.thws.management.server.model.PartnerUniversity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Reserves and releases the exchange slots of one PartnerUniversity from many threads at once,
+ * to check that its capacities hold under concurrent load
+ * Runs against its own in-memory database, which is reset after every test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:slotreservationdb"
+})
+class SlotReservationStressTests {
+    private static final String PARTNER_UNIVERSITIES = "/api/v1/partner-universities";
+    private static final int CAPACITY = 25;
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 100;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    //resets the database to initial state after a test is run
+    @AfterEach
+    void tearDown() {
+        testRestTemplate.postForEntity("/api/v1/reset-database", null, Void.class);
+    }
+
+    /**
+     * Tests reserving far more slots than there are, all at the same time.
+     * Expected: exactly as many reservations succeed as there are slots, all others are rejected with 409,
+     * and the other direction is left untouched
+     */
+    @Test
+    void testConcurrentReservationsNeverOversubscribe() throws Exception {
+        Long partnerUniversityId = createPartnerUniversity("stress reserve university");
+        String slots = PARTNER_UNIVERSITIES + "/" + partnerUniversityId + "/slots";
+
+        List<HttpStatusCode> statusCodes = concurrently(HttpMethod.POST, slots + "/incoming");
+
+        assertEquals(CAPACITY, statusCodes.stream().filter(HttpStatus.OK::equals).count());
+        assertEquals(REQUESTS - CAPACITY, statusCodes.stream().filter(HttpStatus.CONFLICT::equals).count());
+
+        ExchangeSlots exchangeSlots = testRestTemplate.getForObject(slots, ExchangeSlots.class);
+        assertEquals(CAPACITY, exchangeSlots.getReservedStudentsIn());
+        assertEquals(0, exchangeSlots.getReservedStudentsOut());
+    }
+
+    /**
+     * Tests releasing far more slots than are reserved, all at the same time.
+     * Expected: exactly as many releases succeed as slots were reserved, and the count never drops below zero
+     */
+    @Test
+    void testConcurrentReleasesNeverUnderflow() throws Exception {
+        Long partnerUniversityId = createPartnerUniversity("stress release university");
+        String slots = PARTNER_UNIVERSITIES + "/" + partnerUniversityId + "/slots";
+        for (int i = 0; i < CAPACITY; i++) {
+            testRestTemplate.postForEntity(slots + "/outgoing", null, ExchangeSlots.class);
+        }
+
+        List<HttpStatusCode> statusCodes = concurrently(HttpMethod.DELETE, slots + "/outgoing");
+
+        assertEquals(CAPACITY, statusCodes.stream().filter(HttpStatus.OK::equals).count());
+        assertEquals(REQUESTS - CAPACITY, statusCodes.stream().filter(HttpStatus.CONFLICT::equals).count());
+        assertEquals(0, testRestTemplate.getForObject(slots, ExchangeSlots.class).getReservedStudentsOut());
+    }
+
+    /**
+     * Tests the capacity, reservations and updates of a PartnerUniversity interacting.
+     * Expected: a capacity can't be lowered below the reserved slots, a stale ETag is rejected after a reservation,
+     * unknown universities and directions are rejected
+     */
+    @Test
+    void testReservationConstraints() {
+        Long partnerUniversityId = createPartnerUniversity("constrained university");
+        String partnerUniversity = PARTNER_UNIVERSITIES + "/" + partnerUniversityId;
+        String eTag = testRestTemplate.getForEntity(partnerUniversity, PartnerUniversity.class).getHeaders().getETag();
+
+        ResponseEntity<ExchangeSlots> reserved = testRestTemplate.postForEntity(partnerUniversity + "/slots/incoming", null, ExchangeSlots.class);
+        assertEquals(HttpStatus.OK, reserved.getStatusCode());
+        assertEquals(1, reserved.getBody().getReservedStudentsIn());
+        assertNotNull(reserved.getBody().getLink("reserve incoming").orElse(null));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, update(partnerUniversity, eTag, Map.of("name", "stale name")));
+        assertEquals(HttpStatus.CONFLICT, update(partnerUniversity, null, Map.of("maxStudentsIn", 0)));
+        assertEquals(HttpStatus.OK, update(partnerUniversity, null, Map.of("maxStudentsIn", 1)));
+
+        assertEquals(HttpStatus.CONFLICT, testRestTemplate.postForEntity(partnerUniversity + "/slots/incoming", null, Void.class).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, testRestTemplate.postForEntity(PARTNER_UNIVERSITIES + "/999/slots/incoming", null, Void.class).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, testRestTemplate.getForEntity(PARTNER_UNIVERSITIES + "/999/slots", Void.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, testRestTemplate.postForEntity(partnerUniversity + "/slots/sideways", null, Void.class).getStatusCode());
+    }
+
+    //sends all requests from a pool of threads, released together by a latch, and collects their status codes
+    private List<HttpStatusCode> concurrently(HttpMethod method, String url) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<HttpStatusCode>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return testRestTemplate.exchange(url, method, null, Void.class).getStatusCode();
+                }));
+            }
+            start.countDown();
+
+            List<HttpStatusCode> statusCodes = new ArrayList<>();
+            for (Future<HttpStatusCode> future : futures) {
+                statusCodes.add(future.get());
+            }
+            return statusCodes;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private HttpStatusCode update(String url, String eTag, Map<String, Object> body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) {
+            headers.setIfMatch(eTag);
+        }
+        return testRestTemplate.exchange(url, HttpMethod.PUT, new HttpEntity<>(body, headers), Void.class)
+                .getStatusCode();
+    }
+
+    private Long createPartnerUniversity(String name) {
+        ResponseEntity<PartnerUniversity> response = testRestTemplate.postForEntity(PARTNER_UNIVERSITIES, Map.of(
+                "name", name,
+                "country", "test country",
+                "departmentName", "test department name",
+                "departmentUrl", "test department url",
+                "contactPerson", "test contact person",
+                "maxStudentsIn", CAPACITY,
+                "maxStudentsOut", CAPACITY,
+                "nextSpringSemester", "2024-05-20",
+                "nextSummerSemester", "2024-06-20"
+        ), PartnerUniversity.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        return response.getBody().getId();
+    }
+}
@@ -0,0 +1,135 @@
+package org.thws.management;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+/**
+ * Checks the maximum number of SQL statements every endpoint may take for one request, with empty read caches
+ * Runs against its own in-memory database, which is reset after every test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementbudgetdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class StatementBudgetTests {
+    private static final String PARTNER_UNIVERSITIES = "/api/v1/partner-universities";
+    private static final String MODULES = PARTNER_UNIVERSITIES + "/1/modules";
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private StatementCounter statementCounter;
+
+    //every request is measured with empty read caches, as that is the more expensive case
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter(testRestTemplate, entityManagerFactory);
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+    }
+
+    //resets the database to initial state after a test is run
+    @AfterEach
+    void tearDown() {
+        testRestTemplate.postForEntity("/api/v1/reset-database", null, Void.class);
+    }
+
+    /**
+     * Tests the budgets of reading PartnerUniversities.
+     * Expected: one statement for a single university, the listings only link to the modules by default,
+     * and load the modules of a whole page at once if they are embedded
+     */
+    @Test
+    void testReadPartnerUniversityBudgets() {
+        statementCounter.assertBudget(1, HttpMethod.GET, PARTNER_UNIVERSITIES + "/1", null, HttpStatus.OK);
+        statementCounter.assertBudget(1, HttpMethod.GET, PARTNER_UNIVERSITIES + "/99", null, HttpStatus.NOT_FOUND);
+        statementCounter.assertBudget(2, HttpMethod.GET, PARTNER_UNIVERSITIES, null, HttpStatus.OK);
+        statementCounter.assertBudget(1, HttpMethod.GET, PARTNER_UNIVERSITIES + "?after=", null, HttpStatus.OK);
+        statementCounter.assertBudget(3, HttpMethod.GET, PARTNER_UNIVERSITIES + "?embed=modules", null, HttpStatus.OK);
+        statementCounter.assertBudget(2, HttpMethod.GET, PARTNER_UNIVERSITIES + "?after=&embed=modules&moduleLimit=1", null, HttpStatus.OK);
+    }
+
+    /**
+     * Tests the budgets of writing PartnerUniversities.
+     * Expected: a missing university is detected by the same query that loads it for the write
+     */
+    @Test
+    void testWritePartnerUniversityBudgets() {
+        statementCounter.assertBudget(3, HttpMethod.POST, PARTNER_UNIVERSITIES, partnerUniversity("budget university"), HttpStatus.CREATED);
+        statementCounter.assertBudget(2, HttpMethod.PUT, PARTNER_UNIVERSITIES + "/1", Map.of("name", "budget name"), HttpStatus.OK);
+        statementCounter.assertBudget(1, HttpMethod.PUT, PARTNER_UNIVERSITIES + "/99", Map.of("name", "budget name"), HttpStatus.NOT_FOUND);
+        statementCounter.assertBudget(3, HttpMethod.DELETE, PARTNER_UNIVERSITIES + "/2", null, HttpStatus.NO_CONTENT);
+        statementCounter.assertBudget(1, HttpMethod.DELETE, PARTNER_UNIVERSITIES + "/2", null, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Tests the budgets of reading sparse fieldsets.
+     * Expected: without the UniModules in the fields, universities are read without them, one query less per listing
+     */
+    @Test
+    void testSparseFieldsetBudgets() {
+        statementCounter.assertBudget(1, HttpMethod.GET, PARTNER_UNIVERSITIES + "/1?fields=id,name,country", null, HttpStatus.OK);
+        statementCounter.assertBudget(2, HttpMethod.GET, PARTNER_UNIVERSITIES + "?fields=id,name,country", null, HttpStatus.OK);
+        statementCounter.assertBudget(1, HttpMethod.GET, PARTNER_UNIVERSITIES + "?after=&fields=id,name", null, HttpStatus.OK);
+        statementCounter.assertBudget(2, HttpMethod.GET, MODULES + "?fields=name", null, HttpStatus.OK);
+        statementCounter.assertBudget(0, HttpMethod.GET, PARTNER_UNIVERSITIES + "?fields=name,password", null, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Tests the budgets of reading UniModules.
+     * Expected: a single module is read without loading its university, listings take at most a query and a count
+     */
+    @Test
+    void testReadUniModuleBudgets() {
+        statementCounter.assertBudget(1, HttpMethod.GET, MODULES + "/1", null, HttpStatus.OK);
+        statementCounter.assertBudget(1, HttpMethod.GET, PARTNER_UNIVERSITIES + "/2/modules/1", null, HttpStatus.NOT_FOUND);
+        statementCounter.assertBudget(2, HttpMethod.GET, MODULES, null, HttpStatus.OK);
+        statementCounter.assertBudget(1, HttpMethod.GET, MODULES + "?after=", null, HttpStatus.OK);
+    }
+
+    /**
+     * Tests the budgets of writing UniModules.
+     * Expected: besides the module itself, only the version of its university is locked and incremented
+     */
+    @Test
+    void testWriteUniModuleBudgets() {
+        Map<String, Object> uniModule = Map.of("name", "budget module", "semester", 1, "ects", 5);
+
+        statementCounter.assertBudget(5, HttpMethod.POST, MODULES, uniModule, HttpStatus.CREATED);
+        statementCounter.assertBudget(1, HttpMethod.POST, PARTNER_UNIVERSITIES + "/99/modules", uniModule, HttpStatus.NOT_FOUND);
+        statementCounter.assertBudget(4, HttpMethod.PUT, MODULES + "/1", Map.of("name", "budget name"), HttpStatus.OK);
+        statementCounter.assertBudget(1, HttpMethod.PUT, MODULES + "/3", Map.of("name", "budget name"), HttpStatus.NOT_FOUND);
+        statementCounter.assertBudget(4, HttpMethod.DELETE, MODULES + "/2", null, HttpStatus.NO_CONTENT);
+        statementCounter.assertBudget(1, HttpMethod.DELETE, MODULES + "/2", null, HttpStatus.NOT_FOUND);
+    }
+
+    //builds the request body of a complete PartnerUniversity
+    private static Map<String, Object> partnerUniversity(String name) {
+        return Map.of(
+                "name", name,
+                "country", "test country",
+                "departmentName", "test department name",
+                "departmentUrl", "test department url",
+                "contactPerson", "test contact person",
+                "maxStudentsIn", 1,
+                "maxStudentsOut", 1,
+                "nextSpringSemester", "2024-05-20",
+                "nextSummerSemester", "2024-06-20"
+        );
+    }
+}
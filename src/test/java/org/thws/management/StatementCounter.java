@@ -0,0 +1,65 @@
+package org.thws.management;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements Hibernate prepares while the backend serves one request
+ * The tested context needs spring.jpa.properties.hibernate.generate_statistics=true
+ */
+class StatementCounter {
+    private final TestRestTemplate testRestTemplate;
+    private final Statistics statistics;
+
+    /**
+     * Constructs a new StatementCounter
+     *
+     * @param testRestTemplate     Template used to send the requests
+     * @param entityManagerFactory Factory whose statistics count the statements
+     */
+    StatementCounter(TestRestTemplate testRestTemplate, EntityManagerFactory entityManagerFactory) {
+        this.testRestTemplate = testRestTemplate;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Sends one request, checks its status code and returns the number of statements prepared while serving it
+     *
+     * @param method         HTTP method of the request
+     * @param url            URL relative to the tested server
+     * @param body           Request body, null for none
+     * @param expectedStatus Status code the response must have
+     * @return Number of prepared statements
+     */
+    long count(HttpMethod method, String url, Object body, HttpStatusCode expectedStatus) {
+        statistics.clear();
+
+        ResponseEntity<String> response = testRestTemplate.exchange(url, method, new HttpEntity<>(body), String.class);
+        assertEquals(expectedStatus, response.getStatusCode(), method + " " + url);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Sends one request, checks its status code and fails if serving it took more statements than the budget allows
+     *
+     * @param budget         Maximum number of statements
+     * @param method         HTTP method of the request
+     * @param url            URL relative to the tested server
+     * @param body           Request body, null for none
+     * @param expectedStatus Status code the response must have
+     */
+    void assertBudget(long budget, HttpMethod method, String url, Object body, HttpStatusCode expectedStatus) {
+        long statements = count(method, url, body, expectedStatus);
+        assertTrue(statements <= budget, method + " " + url + " took " + statements + " statements, budget is " + budget);
+    }
+}
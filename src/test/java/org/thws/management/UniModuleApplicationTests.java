@@ -3,51 +3,82 @@ package org.thws.management;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.RestTemplate;
+import org.thws.management.client.AsyncUniModuleClient;
+import org.thws.management.client.ClientResponseCache;
+import org.thws.management.client.ClientSessions;
 import org.thws.management.client.PartnerUniversityClient;
 import org.thws.management.client.UniModuleClient;
+import org.thws.management.server.model.CountryStatistics;
 import org.thws.management.server.model.PartnerUniversity;
+import org.thws.management.server.model.PartnerUniversityModel;
+import org.thws.management.server.model.SemesterStatistics;
 import org.thws.management.server.model.UniModule;
+import org.thws.management.server.model.UniversityStatistics;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Integration tests for the UniModule part of the backend
  */
 @RunWith(SpringRunner.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.sessions.enabled=true")
+@Execution(ExecutionMode.CONCURRENT)
 class UniModuleApplicationTests {
     @Autowired
     private TestRestTemplate testRestTemplate;
 
+    @Autowired
+    private HttpClient httpClient;
+
+    private String sessionId;
+    private RestTemplate restTemplate;
     private PartnerUniversityClient partnerUniversityClient;
     private UniModuleClient uniModuleClient;
+    private AsyncUniModuleClient asyncUniModuleClient;
 
-    //sets up new clients before each test is run
+    //sets up new clients working in a session of their own before each test is run
     @BeforeEach
     public void setUp() {
-        uniModuleClient = new UniModuleClient(testRestTemplate.getRestTemplate());
-        partnerUniversityClient = new PartnerUniversityClient(testRestTemplate.getRestTemplate());
+        sessionId = ClientSessions.newSessionId();
+        restTemplate = ClientSessions.withSession(testRestTemplate.getRestTemplate(), sessionId);
+        uniModuleClient = new UniModuleClient(restTemplate);
+        partnerUniversityClient = new PartnerUniversityClient(restTemplate);
+        asyncUniModuleClient = new AsyncUniModuleClient(httpClient, sessionId);
     }
 
-    //resets the database to its initial state after each test is run
+    //drops the data of the session after each test is run
     @AfterEach
     void tearDown() {
-        uniModuleClient.resetDatabase();
+        ClientSessions.closeSession(restTemplate, sessionId);
     }
 
     /**
      * Tests adding new UniModules to PartnerUniversities.
      * Expected: status code 201 after successful creation, 409 when module with name already exists,
-     * 404 when university to be added to is not found
+     * 404 when university to be added to is not found, even for an incomplete module, 400 for an incomplete module
      */
     @Test
     void testAddUniModuleToPartnerUniversity() {
@@ -72,6 +103,10 @@ class UniModuleApplicationTests {
 
         assertEquals(HttpStatus.CONFLICT, uniModuleClient.addNewUniModuleToPartnerUniversity(1L, uniModule1).getStatusCode());
         assertEquals(HttpStatus.NOT_FOUND, uniModuleClient.addNewUniModuleToPartnerUniversity(30L, uniModule2).getStatusCode());
+
+        UniModule incomplete = new UniModule("", 1, 1, partnerUniversity);
+        assertEquals(HttpStatus.NOT_FOUND, uniModuleClient.addNewUniModuleToPartnerUniversity(30L, incomplete).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, uniModuleClient.addNewUniModuleToPartnerUniversity(1L, incomplete).getStatusCode());
     }
 
     /**
@@ -101,6 +136,106 @@ class UniModuleApplicationTests {
         assertEquals(HttpStatus.NOT_FOUND, uniModuleClient.getAllUniModulesFromPartnerUniversity(1L).getStatusCode());
     }
 
+    /**
+     * Fetches only the names of the UniModules of a PartnerUniversity.
+     * Expected: the names are set, the other fields are left out of the response
+     */
+    @Test
+    void getSparseUniModules() {
+        ResponseEntity<PagedModel<UniModule>> response = uniModuleClient.getSparseUniModules(1L, "name");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getContent().size());
+        for (UniModule uniModule : response.getBody().getContent()) {
+            assertNotNull(uniModule.getName());
+            assertNull(uniModule.getId());
+            assertNull(uniModule.getEcts());
+        }
+    }
+
+    /**
+     * Tests a client side response cache shared by both clients.
+     * Expected: adding a module invalidates the cached listings of partner universities embedding their modules
+     */
+    @Test
+    void testModuleWriteInvalidatesCachedListings() {
+        ClientResponseCache responseCache = new ClientResponseCache(100, Duration.ofMinutes(10), Duration.ZERO, Runnable::run);
+        PartnerUniversityClient cachingPartnerUniversityClient = new PartnerUniversityClient(restTemplate, responseCache);
+        UniModuleClient cachingUniModuleClient = new UniModuleClient(restTemplate, responseCache);
+
+        assertEquals(2, embeddedModulesOf(cachingPartnerUniversityClient.getAllPartnerUniversityModels("modules", null), 1L));
+
+        PartnerUniversity partnerUniversity = cachingPartnerUniversityClient.getSinglePartnerUniversity(1L).getBody();
+        UniModule uniModule = new UniModule("cached module", 1, 5, partnerUniversity);
+        assertEquals(HttpStatus.CREATED, cachingUniModuleClient.addNewUniModuleToPartnerUniversity(1L, uniModule).getStatusCode());
+
+        assertEquals(3, embeddedModulesOf(cachingPartnerUniversityClient.getAllPartnerUniversityModels("modules", null), 1L));
+    }
+
+    /**
+     * Tests fetching UniModules encoded as CBOR instead of JSON.
+     * Expected: status code 200 with content type application/cbor, the same modules as with JSON
+     */
+    @Test
+    void getCborUniModules() {
+        UniModuleClient cborUniModuleClient = new UniModuleClient(restTemplate, null, MediaType.APPLICATION_CBOR);
+
+        ResponseEntity<PagedModel<UniModule>> response = cborUniModuleClient.getAllUniModulesFromPartnerUniversity(1L);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        assertEquals(namesOf(uniModuleClient.getAllUniModulesFromPartnerUniversity(1L)), namesOf(response));
+
+        UniModule uniModule = response.getBody().getContent().iterator().next();
+        assertEquals(uniModule.getName(), cborUniModuleClient.getSingleUniModule(1L, uniModule.getId()).getBody().getName());
+    }
+
+    /**
+     * Fetches the UniModules of several PartnerUniversities concurrently.
+     * Expected: the modules of every university in the order of the given IDs, with initial setup 2 modules in university 1
+     * and 1 module in university 2, an empty list for a university that is not found
+     */
+    @Test
+    void getUniModulesOfPartnerUniversities() {
+        Map<Long, List<UniModule>> uniModules = asyncUniModuleClient
+                .getUniModulesOfPartnerUniversities(List.of(1L, 2L, 99L), 2)
+                .join();
+
+        assertEquals(List.of(1L, 2L, 99L), List.copyOf(uniModules.keySet()));
+        assertEquals(2, uniModules.get(1L).size());
+        assertEquals(1, uniModules.get(2L).size());
+        assertEquals(0, uniModules.get(99L).size());
+    }
+
+    /**
+     * Streams the UniModules of a PartnerUniversity one per page.
+     * Expected: with initial setup both modules of university 1, nothing for a university that is not found
+     */
+    @Test
+    void streamUniModulesFromPartnerUniversity() {
+        try (Stream<UniModule> uniModules = asyncUniModuleClient.streamUniModulesFromPartnerUniversity(1L, 1)) {
+            assertEquals(List.of("Module 1", "Module 2"), uniModules.map(UniModule::getName).toList());
+        }
+
+        try (Stream<UniModule> uniModules = asyncUniModuleClient.streamUniModulesFromPartnerUniversity(99L, 1)) {
+            assertEquals(0, uniModules.count());
+        }
+    }
+
+    /**
+     * Tests the size of keyset slices of UniModules.
+     * Expected: status code 200 for sizes from 1 to 100, 400 for sizes outside of that range
+     */
+    @Test
+    void keysetSliceSize() {
+        String modules = "http://localhost:8080/api/v1/partner-universities/1/modules?after=&size=";
+
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(modules + 1, String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(modules + 100, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(modules + 0, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(modules + -1, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(modules + 101, String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(modules + Integer.MAX_VALUE, String.class).getStatusCode());
+    }
+
     /**
      * Tests updating uni module, same approach as with the PartnerUniversity test
      * Expected: status code 200 when successfully updating, 404 works correctly in e.g. Postman, hard to reproduce here
@@ -125,6 +260,44 @@ class UniModuleApplicationTests {
         assertNotEquals(oldName, updatedName);
     }
 
+    /**
+     * Tests the statistics aggregated per partner university, semester and country.
+     * Expected: module counts, total and average ECTS of the seeded modules, following deletions,
+     * 400 for invalid paging parameters
+     */
+    @Test
+    void testStatistics() {
+        ResponseEntity<PagedModel<UniversityStatistics>> universities = uniModuleClient.getUniversityStatistics(0, 1);
+        assertEquals(HttpStatus.OK, universities.getStatusCode());
+        UniversityStatistics otherUniversity = universities.getBody().getContent().iterator().next();
+        assertEquals("Other University", otherUniversity.getName());
+        assertEquals(1L, otherUniversity.getModuleCount());
+        assertEquals(5L, otherUniversity.getTotalEcts());
+        assertEquals(2, universities.getBody().getMetadata().getTotalElements());
+
+        UniversityStatistics thws = uniModuleClient.getUniversityStatistics(1, 1).getBody().getContent().iterator().next();
+        assertEquals(2L, thws.getModuleCount());
+        assertEquals(12L, thws.getTotalEcts());
+
+        assertEquals(HttpStatus.BAD_REQUEST, uniModuleClient.getUniversityStatistics(-1, 1).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, uniModuleClient.getUniversityStatistics(0, 0).getStatusCode());
+
+        List<SemesterStatistics> semesters = List.copyOf(uniModuleClient.getSemesterStatistics().getBody().getContent());
+        assertEquals(2, semesters.size());
+        assertEquals(1, semesters.get(0).getSemester());
+        assertEquals(2L, semesters.get(0).getModuleCount());
+        assertEquals(11L, semesters.get(0).getTotalEcts());
+        assertEquals(5.5, semesters.get(0).getAverageEcts());
+
+        assertEquals(HttpStatus.NO_CONTENT, uniModuleClient.deleteUniModule(2L, 3L).getStatusCode());
+        List<CountryStatistics> countries = List.copyOf(uniModuleClient.getCountryStatistics().getBody().getContent());
+        assertEquals(List.of("Germany", "Italy"), countries.stream().map(CountryStatistics::getCountry).toList());
+        assertEquals(6.0, countries.get(0).getAverageEcts());
+        assertEquals(1L, countries.get(1).getPartnerUniversityCount());
+        assertEquals(0L, countries.get(1).getModuleCount());
+        assertNull(countries.get(1).getAverageEcts());
+    }
+
     /**
      * Tests deleting UniModules.
      * Expected: status code 204 upon successful deletion, 404 when module to be deleted is not found
@@ -134,4 +307,17 @@ class UniModuleApplicationTests {
         assertEquals(HttpStatus.NO_CONTENT, uniModuleClient.deleteUniModule(1L, 1L).getStatusCode());
         assertEquals(HttpStatus.NOT_FOUND, uniModuleClient.deleteUniModule(1L, 1L).getStatusCode());
     }
+
+    private static int embeddedModulesOf(ResponseEntity<PagedModel<PartnerUniversityModel>> response, Long partnerUniversityId) {
+        return response.getBody().getContent().stream()
+                .filter(partnerUniversityModel -> partnerUniversityModel.getId().equals(partnerUniversityId))
+                .findFirst()
+                .orElseThrow()
+                .getUniModuleModels()
+                .size();
+    }
+
+    private static List<String> namesOf(ResponseEntity<PagedModel<UniModule>> response) {
+        return response.getBody().getContent().stream().map(UniModule::getName).toList();
+    }
 }